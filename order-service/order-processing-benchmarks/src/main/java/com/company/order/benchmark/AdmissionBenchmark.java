@@ -0,0 +1,77 @@
+package com.company.order.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.admission.AimdConcurrencyLimit;
+import com.company.order.admission.CustomerRateLimiter;
+import com.company.order.admission.OrderAdmissionService;
+import com.company.order.admission.TokenBucket;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Per-order cost of {@link OrderAdmissionService}: an admitted order run inline,
+ * an order shed by the global rate limit, and plain
+ * {@link OrderServiceImpl#createOrder} as the baseline. Shedding has to stay
+ * much cheaper than processing for admission control to help under overload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdmissionBenchmark {
+
+    private OrderServiceImpl service;
+    private OrderAdmissionService admitting;
+    private OrderAdmissionService shedding;
+    private Order order;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        service = new OrderServiceImpl(new StandInOrderRepository());
+        order = OrderFixtures.order("ORD1", "CUST1", 12);
+        customer = new Customer("CUST1", true);
+
+        admitting = new OrderAdmissionService(service, new CustomerRateLimiter(1e9, 1_000, 1_000),
+                new TokenBucket(1e9, 1_000), new AimdConcurrencyLimit(64, 1, 64, Long.MAX_VALUE), 1_024,
+                Duration.ofSeconds(1), Runnable::run);
+
+        TokenBucket exhausted = new TokenBucket(1e-3, 1);
+        exhausted.tryAcquire();
+        shedding = new OrderAdmissionService(service, new CustomerRateLimiter(1e9, 1_000, 1_000), exhausted,
+                new AimdConcurrencyLimit(64, 1, 64, Long.MAX_VALUE), 1_024, Duration.ofSeconds(1), Runnable::run);
+    }
+
+    @Benchmark
+    public Order direct() {
+        service.createOrder(order, customer);
+        return order;
+    }
+
+    @Benchmark
+    public CompletableFuture<Order> admitted() {
+        return admitting.submit(order, customer);
+    }
+
+    @Benchmark
+    public CompletableFuture<Order> shed() {
+        return shedding.submit(order, customer);
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.concurrent.VirtualThreads;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderServiceImpl;
+import com.company.order.service.PricingService;
+
+/**
+ * Issues {@value #CONCURRENT_LOOKUPS} concurrent {@code getOrderByIdAsync} calls
+ * against a repository with injected latency and waits for all of them. Compares
+ * the default per-task executor (virtual threads on JDK 21+) with a fixed pool of
+ * platform threads. Scores are lookups per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncLookupBenchmark {
+
+    private static final int CONCURRENT_LOOKUPS = 10_000;
+    private static final int ORDERS = 1_000;
+
+    @Param({"virtual", "platform-200"})
+    public String executor;
+
+    @Param({"1000"})
+    public long latencyMicros;
+
+    private ExecutorService lookupExecutor;
+    private OrderServiceImpl service;
+    private final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[CONCURRENT_LOOKUPS];
+
+    @Setup
+    public void setUp() {
+        if (executor.equals("virtual") && !VirtualThreads.isSupported()) {
+            System.err.println("Virtual threads unavailable on this JDK; falling back to a cached platform pool");
+        }
+        lookupExecutor = executor.equals("virtual")
+                ? VirtualThreads.newPerTaskExecutor("bench-lookup")
+                : Executors.newFixedThreadPool(200);
+
+        StandInOrderRepository orders = new StandInOrderRepository();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.save(OrderFixtures.order("ORD" + i, "CUST" + (i % 100), 3));
+        }
+        service = new OrderServiceImpl(new LatencyOrderRepository(orders, latencyMicros), new ComplianceService(),
+                new PricingService(), ForkJoinPool.commonPool(), lookupExecutor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_LOOKUPS)
+    public void concurrentLookups() {
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            inFlight[i] = service.getOrderByIdAsync("ORD" + (i % ORDERS));
+        }
+        CompletableFuture.allOf(inFlight).join();
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Customer;
+import com.company.order.model.OrderResult;
+import com.company.order.model.OrderSubmission;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Throughput of {@link OrderServiceImpl#createOrders} as the fork-join pool grows.
+ * Scores are orders per second; compare them across {@code parallelism} values up
+ * to the machine's core count to see how validation scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchCreationBenchmark {
+
+    private static final int BATCH_SIZE = 100_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private OrderServiceImpl service;
+    private List<OrderSubmission> batch;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        service = new OrderServiceImpl(new StandInOrderRepository(), pool);
+
+        Customer active = new Customer("CUST1", true);
+        Customer inactive = new Customer("CUST2", false);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // Roughly 15% of imported orders are rejected.
+            Customer customer = i % 7 == 0 ? inactive : active;
+            batch.add(new OrderSubmission(OrderFixtures.order(1 + i % 20), customer));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<OrderResult> createOrders() {
+        return service.createOrders(batch);
+    }
+}
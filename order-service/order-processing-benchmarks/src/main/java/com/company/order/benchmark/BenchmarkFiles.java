@@ -0,0 +1,33 @@
+package com.company.order.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Scratch directories for benchmarks that write to disk.
+ */
+final class BenchmarkFiles {
+
+    private BenchmarkFiles() {
+    }
+
+    static Path newDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> it = paths.sorted(Comparator.reverseOrder()).iterator();
+            while (it.hasNext()) {
+                Files.delete(it.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.company.order.exception.OrderNotFoundException;
+import com.company.order.model.OrderLookupResult;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Fetching a page of order IDs against a slow backend: one {@code getOrderById}
+ * per ID versus a single {@code getOrdersByIds} call. About one ID in ten is
+ * unknown, so the per-ID loop also pays for the not-found exceptions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkLookupBenchmark {
+
+    private static final int ORDERS = 10_000;
+
+    @Param({"10", "100"})
+    public int idsPerRequest;
+
+    @Param({"50"})
+    public long backendLatencyMicros;
+
+    private OrderServiceImpl service;
+    private List<String> requestIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandInOrderRepository orders = new StandInOrderRepository();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.save(OrderFixtures.order("ORD" + i, "CUST" + (i % 100), 2));
+        }
+        service = new OrderServiceImpl(new LatencyOrderRepository(orders, backendLatencyMicros));
+
+        SplittableRandom random = new SplittableRandom(42);
+        requestIds = new ArrayList<>(idsPerRequest);
+        for (int i = 0; i < idsPerRequest; i++) {
+            int index = random.nextInt(10) == 0 ? ORDERS + i : random.nextInt(ORDERS);
+            requestIds.add("ORD" + index);
+        }
+    }
+
+    @Benchmark
+    public void perIdLookups(Blackhole bh) {
+        for (String orderId : requestIds) {
+            try {
+                bh.consume(service.getOrderById(orderId));
+            } catch (OrderNotFoundException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public OrderLookupResult bulkLookup() {
+        return service.getOrdersByIds(requestIds);
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.order.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.service.PricingService;
+
+/**
+ * Reprices a block of order totals, comparing one {@code calculateGST(double)} call
+ * per order with a single bulk {@code calculateGSTPaise(long[]...)} call. Scores
+ * are nanoseconds per order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkPricingBenchmark {
+
+    private static final int ORDERS = 10_000;
+
+    private final PricingService pricingService = new PricingService();
+    private final long[] totalsPaise = new long[ORDERS];
+    private final double[] totalsRupees = new double[ORDERS];
+    private final boolean[] premium = new boolean[ORDERS];
+    private final boolean[] festival = new boolean[ORDERS];
+    private final long[] gstPaise = new long[ORDERS];
+    private final double[] gstRupees = new double[ORDERS];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < ORDERS; i++) {
+            totalsPaise[i] = random.nextLong(100_00, 60_000_00);
+            totalsRupees[i] = totalsPaise[i] / 100.0;
+            premium[i] = random.nextInt(4) == 0;
+            festival[i] = random.nextBoolean();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public double[] perOrderDouble() {
+        for (int i = 0; i < ORDERS; i++) {
+            gstRupees[i] = pricingService.calculateGST(totalsRupees[i], premium[i], festival[i]);
+        }
+        return gstRupees;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long[] bulkPaise() {
+        pricingService.calculateGSTPaise(totalsPaise, premium, festival, gstPaise);
+        return gstPaise;
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.order.benchmark;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Order;
+import com.company.order.repository.CachingOrderRepository;
+import com.company.order.repository.OrderRepository;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Status polling with a skewed access pattern: most lookups hit a small set of
+ * recent orders. Compares {@code getOrderById} straight against a slow backend
+ * with the same backend behind a {@link CachingOrderRepository} sized at 5% of
+ * the orders. The cache hit rate is printed after each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CachedLookupBenchmark {
+
+    private static final int ORDERS = 100_000;
+    private static final int CACHE_SIZE = ORDERS / 20;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"50"})
+    public long backendLatencyMicros;
+
+    private OrderServiceImpl service;
+    private CachingOrderRepository cache;
+    private String[] orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandInOrderRepository orders = new StandInOrderRepository();
+        orderIds = new String[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds[i] = "ORD" + i;
+            orders.save(OrderFixtures.order(orderIds[i], "CUST" + (i % 1_000), 2));
+        }
+        OrderRepository backend = new LatencyOrderRepository(orders, backendLatencyMicros);
+        cache = cached ? new CachingOrderRepository(backend, CACHE_SIZE, Duration.ofSeconds(30)) : null;
+        service = new OrderServiceImpl(cached ? cache : backend);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (cache != null) {
+            System.out.println(cache.stats());
+            System.out.printf("hit rate: %.3f%n", cache.stats().hitRate());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Poller {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        // 90% of polls go to the newest 1% of orders, the rest are uniform.
+        int nextIndex() {
+            if (random.nextInt(10) < 9) {
+                return ORDERS - 1 - random.nextInt(ORDERS / 100);
+            }
+            return random.nextInt(ORDERS);
+        }
+    }
+
+    @Benchmark
+    public Order pollOrderStatus(Poller poller) {
+        return service.getOrderById(orderIds[poller.nextIndex()]);
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.order.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.codec.OrderCodec;
+import com.company.order.codec.OrderFlyweight;
+import com.company.order.model.Order;
+
+/**
+ * Serializing an order: the reflective JSON path the integration layer uses
+ * today versus {@link OrderCodec} into a reused buffer, and reading the encoded
+ * order back either fully ({@link OrderCodec#decode}) or through an
+ * {@link OrderFlyweight} that only sums the lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"1", "12", "500"})
+    public int lines;
+
+    private final ReflectiveJsonEncoder json = new ReflectiveJsonEncoder();
+    private final OrderFlyweight flyweight = new OrderFlyweight();
+    private Order order;
+    private ByteBuffer out;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order("ORD-000123456", "CUST-98765", lines);
+        out = ByteBuffer.allocateDirect(OrderCodec.encodedLength(order));
+        encoded = ByteBuffer.allocateDirect(OrderCodec.encodedLength(order));
+        OrderCodec.encode(order, encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public byte[] reflectiveJsonEncode() {
+        return json.encode(order);
+    }
+
+    @Benchmark
+    public int binaryEncode() {
+        out.clear();
+        return OrderCodec.encode(order, out);
+    }
+
+    @Benchmark
+    public Order binaryDecode() {
+        return OrderCodec.decode(encoded.duplicate());
+    }
+
+    @Benchmark
+    public double flyweightLineSum() {
+        OrderFlyweight record = flyweight.wrap(encoded, 0);
+        double sum = 0;
+        for (int i = 0; i < record.lineCount(); i++) {
+            sum += record.price(i) * record.quantity(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.exception.ComplianceViolationException;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.ValidationResult;
+import com.company.order.service.ComplianceService;
+
+/**
+ * {@link ComplianceService#validateOrder} on valid and rejected orders, through both
+ * the throwing API and the {@link ValidationResult} API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplianceBenchmark {
+
+    @Param({"VALID", "INACTIVE_CUSTOMER", "INVALID_QUANTITY", "LIMIT_EXCEEDED"})
+    public String scenario;
+
+    private final ComplianceService complianceService = new ComplianceService();
+    private final ValidationResult result = new ValidationResult();
+    private Order order;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(12);
+        customer = new Customer("CUST1", true);
+
+        switch (scenario) {
+            case "VALID":
+                break;
+            case "INACTIVE_CUSTOMER":
+                customer = new Customer("CUST1", false);
+                break;
+            case "INVALID_QUANTITY":
+                order.addItem(new OrderItem(100, 0));
+                break;
+            case "LIMIT_EXCEEDED":
+                order.addItem(new OrderItem(6_00_000, 1));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    @Benchmark
+    public Object validateOrderThrowing() {
+        try {
+            complianceService.validateOrder(order, customer);
+            return order;
+        } catch (ComplianceViolationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult validateOrderResult() {
+        return complianceService.validateOrder(order, customer, result);
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * {@link OrderServiceImpl#createOrder} for small (1 line), typical (12 lines) and
+ * large (500 lines) orders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "12", "500"})
+    public int lines;
+
+    private OrderServiceImpl service;
+    private Order order;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        service = new OrderServiceImpl(new StandInOrderRepository());
+        order = OrderFixtures.order(lines);
+        customer = new Customer("CUST1", true);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        service.createOrder(order, customer);
+        return order;
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Order;
+import com.company.order.repository.InMemoryOrderRepository;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Walking a seller's whole history held in an {@link InMemoryOrderRepository}:
+ * loading it as one list versus streaming it a page at a time. Both sum the line
+ * counts so every order is touched; compare {@code gc.alloc.rate.norm} to see
+ * the per-request footprint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class CustomerHistoryBenchmark {
+
+    @Param({"100000"})
+    public int ordersPerCustomer;
+
+    @Param({"500"})
+    public int pageSize;
+
+    private OrderServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        for (int o = 0; o < ordersPerCustomer; o++) {
+            repository.save(OrderFixtures.order(String.format("ORD-%09d", o), "SELLER", 1));
+        }
+        service = new OrderServiceImpl(repository);
+    }
+
+    @Benchmark
+    public long fullList() {
+        long lines = 0;
+        for (Order order : service.getOrdersByCustomerId("SELLER")) {
+            lines += order.getLines().size();
+        }
+        return lines;
+    }
+
+    @Benchmark
+    public long pagedStream() {
+        return service.streamOrdersByCustomerId("SELLER", pageSize)
+                .mapToLong(order -> order.getLines().size())
+                .sum();
+    }
+}
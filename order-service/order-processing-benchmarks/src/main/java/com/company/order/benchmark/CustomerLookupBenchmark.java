@@ -0,0 +1,57 @@
+package com.company.order.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * {@link OrderServiceImpl#getOrdersByCustomerId} against a pre-populated
+ * {@link StandInOrderRepository}, for customers with short and long histories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerLookupBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"1", "100", "10000"})
+    public int ordersPerCustomer;
+
+    private OrderServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        StandInOrderRepository repository = new StandInOrderRepository();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            // Only the looked-up customer carries the full history.
+            int orders = c == 0 ? ordersPerCustomer : 1;
+            for (int o = 0; o < orders; o++) {
+                repository.save(OrderFixtures.order("ORD-" + c + "-" + o, "CUST" + c, 3));
+            }
+        }
+        service = new OrderServiceImpl(repository);
+    }
+
+    @Benchmark
+    public List<Order> getOrdersByCustomerId() {
+        return service.getOrdersByCustomerId("CUST0");
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.concurrent.VirtualThreads;
+import com.company.order.exception.OrderNotFoundException;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderServiceImpl;
+import com.company.order.service.PricingService;
+
+/**
+ * Flash-sale polling: {@value #CONCURRENT_LOOKUPS} concurrent lookups spread
+ * over a handful of hot order IDs against a repository with injected latency.
+ * Compares {@link OrderServiceImpl#getOrderById}, which coalesces lookups of the
+ * same ID, with calling the repository directly on the same executor. Scores are
+ * lookups per second; the coalescing counters are printed at the end of the trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotOrderLookupBenchmark {
+
+    private static final int CONCURRENT_LOOKUPS = 2_000;
+
+    @Param({"4"})
+    public int hotOrders;
+
+    @Param({"1000"})
+    public long latencyMicros;
+
+    private ExecutorService lookupExecutor;
+    private LatencyOrderRepository repository;
+    private OrderServiceImpl service;
+    private String[] orderIds;
+    private final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[CONCURRENT_LOOKUPS];
+
+    @Setup
+    public void setUp() {
+        lookupExecutor = VirtualThreads.newPerTaskExecutor("bench-hot-lookup");
+        StandInOrderRepository orders = new StandInOrderRepository();
+        orderIds = new String[hotOrders];
+        for (int i = 0; i < hotOrders; i++) {
+            orderIds[i] = "ORD" + i;
+            orders.save(OrderFixtures.order(orderIds[i], "CUST" + i, 3));
+        }
+        repository = new LatencyOrderRepository(orders, latencyMicros);
+        service = new OrderServiceImpl(repository, new ComplianceService(), new PricingService(),
+                ForkJoinPool.commonPool(), lookupExecutor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println("\n" + service.lookupCoalescingStats());
+        lookupExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_LOOKUPS)
+    public void coalesced() {
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            inFlight[i] = service.getOrderByIdAsync(orderIds[i % hotOrders]);
+        }
+        CompletableFuture.allOf(inFlight).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_LOOKUPS)
+    public void uncoalesced() {
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            String orderId = orderIds[i % hotOrders];
+            inFlight[i] = CompletableFuture.supplyAsync(() -> repository.findById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found for ID: " + orderId)),
+                    lookupExecutor);
+        }
+        CompletableFuture.allOf(inFlight).join();
+    }
+}
@@ -0,0 +1,185 @@
+package com.company.order.benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.company.order.importer.ImportSummary;
+import com.company.order.importer.OrderFileFormat;
+import com.company.order.importer.OrderFileImporter;
+import com.company.order.importer.OrderImportWriter;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.PricingService;
+
+/**
+ * Throughput of {@link OrderFileImporter}: writes a seeded order file of
+ * {@code --size-mb} megabytes, imports it into accepted and rejected CSV files and
+ * prints records/s, MB/s and GC activity. About 2% of orders fail compliance and
+ * 0.1% of lines are malformed. The generated and output files are deleted
+ * afterwards unless {@code --keep=true}.
+ *
+ * <pre>
+ * java -cp order-processing-benchmarks/target/benchmarks.jar \
+ *     com.company.order.benchmark.ImportHarness --size-mb=1024 --format=csv
+ * </pre>
+ *
+ * Options (defaults in brackets): {@code --seed} [42], {@code --size-mb} [1024],
+ * {@code --format} csv or jsonl [csv], {@code --workers} [available processors],
+ * {@code --batch-kb} [1024], {@code --dir} [system temp directory],
+ * {@code --keep} [false].
+ */
+public final class ImportHarness {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private ImportHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        long sizeBytes = Long.parseLong(options.getOrDefault("size-mb", "1024")) << 20;
+        boolean json = options.getOrDefault("format", "csv").startsWith("json");
+        int workers = Integer.parseInt(options.getOrDefault("workers",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int batchBytes = Integer.parseInt(options.getOrDefault("batch-kb", "1024")) << 10;
+        Path directory = Paths.get(options.getOrDefault("dir", System.getProperty("java.io.tmpdir")));
+        boolean keep = Boolean.parseBoolean(options.getOrDefault("keep", "false"));
+
+        Path input = directory.resolve("orders-" + seed + (json ? ".jsonl" : ".csv"));
+        Path accepted = directory.resolve("orders-" + seed + "-accepted.csv");
+        Path rejected = directory.resolve("orders-" + seed + "-rejected.csv");
+        try {
+            long start = System.nanoTime();
+            long records = generate(input, sizeBytes, json, new Random(seed));
+            System.out.printf("generated   %d records, %d MB in %.1f s%n", records, Files.size(input) >> 20,
+                    (System.nanoTime() - start) / 1e9);
+
+            OrderFileImporter importer = new OrderFileImporter(new ComplianceService(), new PricingService(),
+                    workers, batchBytes);
+            Map<String, long[]> gcBefore = gcCounters();
+            ImportSummary summary;
+            try (OrderImportWriter writer = new OrderImportWriter(accepted, rejected)) {
+                summary = importer.importFile(input, OrderFileFormat.of(input), writer);
+            }
+            Map<String, long[]> gcAfter = gcCounters();
+
+            System.out.println("options     " + options);
+            System.out.printf("records     %d accepted, %d rejected, %d malformed%n", summary.getAccepted(),
+                    summary.getRejected(), summary.getMalformed());
+            System.out.printf("throughput  %.0f records/s, %.1f MB/s over %.1f s with %d workers%n",
+                    summary.recordsPerSecond(), summary.megabytesPerSecond(), summary.getElapsed().toMillis() / 1e3,
+                    workers);
+            for (Map.Entry<String, long[]> gc : gcAfter.entrySet()) {
+                long[] before = gcBefore.getOrDefault(gc.getKey(), new long[2]);
+                System.out.printf("gc          %-24s %6d collections %8d ms%n", gc.getKey(),
+                        gc.getValue()[0] - before[0], gc.getValue()[1] - before[1]);
+            }
+            Runtime runtime = Runtime.getRuntime();
+            System.out.printf("heap        %d MB used of %d MB%n",
+                    (runtime.totalMemory() - runtime.freeMemory()) >> 20, runtime.maxMemory() >> 20);
+        } finally {
+            if (!keep) {
+                Files.deleteIfExists(input);
+                Files.deleteIfExists(accepted);
+                Files.deleteIfExists(rejected);
+            }
+        }
+    }
+
+    private static long generate(Path file, long sizeBytes, boolean json, Random random) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(512);
+        long written = 0;
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (!json) {
+                line.append("order_id,customer_id,customer_active,premium,festival_offer,items\n");
+            }
+            while (written < sizeBytes) {
+                records++;
+                appendRecord(line, records, json, random);
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                line.setLength(0);
+                if (buffer.remaining() < bytes.length) {
+                    drain(channel, buffer);
+                }
+                buffer.put(bytes);
+                written += bytes.length;
+            }
+            drain(channel, buffer);
+        }
+        return records;
+    }
+
+    private static void appendRecord(StringBuilder line, long sequence, boolean json, Random random) {
+        String customerId = "CUST" + random.nextInt(1_000_000);
+        boolean active = random.nextInt(100) != 0;
+        boolean premium = random.nextInt(5) == 0;
+        boolean festival = random.nextInt(10) == 0;
+        int items = 1 + random.nextInt(12);
+        boolean malformed = random.nextInt(1_000) == 0;
+        boolean overLimit = random.nextInt(100) == 0;
+
+        if (json) {
+            line.append("{\"orderId\":\"ORD").append(sequence).append("\",\"customerId\":\"").append(customerId)
+                    .append("\",\"active\":").append(active).append(",\"premium\":").append(premium)
+                    .append(",\"festivalOffer\":").append(festival).append(",\"items\":[");
+        } else {
+            line.append("ORD").append(sequence).append(',').append(customerId).append(',').append(active)
+                    .append(',').append(premium).append(',').append(festival).append(',');
+        }
+        for (int i = 0; i < items; i++) {
+            long paise = overLimit ? 60_000_000 : 100 + random.nextInt(500_000);
+            String price = malformed && i == 0 ? "12,50"
+                    : (paise / 100) + (paise % 100 < 10 ? ".0" : ".") + (paise % 100);
+            int quantity = 1 + random.nextInt(5);
+            if (json) {
+                line.append(i == 0 ? "" : ",").append("{\"price\":").append(price).append(",\"quantity\":")
+                        .append(quantity).append('}');
+            } else {
+                line.append(i == 0 ? "" : ";").append(price).append(':').append(quantity);
+            }
+        }
+        line.append(json ? "]}\n" : "\n");
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static Map<String, long[]> gcCounters() {
+        Map<String, long[]> counters = new HashMap<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            counters.put(collector.getName(), new long[] {collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        return counters;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
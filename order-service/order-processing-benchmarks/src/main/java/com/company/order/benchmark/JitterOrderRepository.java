@@ -0,0 +1,77 @@
+package com.company.order.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+import com.company.order.repository.OrderRepository;
+
+/**
+ * Wraps a thread-safe repository and blocks every read and write for a base
+ * latency plus an exponentially distributed jitter, so occasional calls take
+ * several times the mean, as against a real remote store. Unlike
+ * {@link LatencyOrderRepository}, writes pay the latency too.
+ */
+class JitterOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final long baseNanos;
+    private final double meanJitterNanos;
+
+    JitterOrderRepository(OrderRepository delegate, long baseMicros, long meanJitterMicros) {
+        this.delegate = delegate;
+        this.baseNanos = TimeUnit.MICROSECONDS.toNanos(baseMicros);
+        this.meanJitterNanos = TimeUnit.MICROSECONDS.toNanos(meanJitterMicros);
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        pause();
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public Map<String, Order> findByIds(Collection<String> orderIds) {
+        pause();
+        return delegate.findByIds(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        pause();
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        pause();
+        return delegate.findByCustomerId(customerId, afterOrderId, pageSize);
+    }
+
+    @Override
+    public void save(Order order) {
+        pause();
+        delegate.save(order);
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        pause();
+        return delegate.deleteById(orderId);
+    }
+
+    private void pause() {
+        long jitter = (long) (-meanJitterNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+        try {
+            TimeUnit.NANOSECONDS.sleep(baseNanos + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating repository latency", e);
+        }
+    }
+}
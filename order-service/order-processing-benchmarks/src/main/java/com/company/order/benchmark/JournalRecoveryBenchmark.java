@@ -0,0 +1,71 @@
+package com.company.order.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.repository.JournalOrderRepository;
+
+/**
+ * Startup time of {@link JournalOrderRepository}: opening a journal of
+ * {@code orders} three-line orders and rebuilding the id and customer indexes.
+ * The 10M case needs a heap of several gigabytes for the rebuilt index; run it
+ * on a machine with enough memory or pass {@code -p orders=1000000}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int orders;
+
+    private Path directory;
+    private JournalOrderRepository reopened;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        directory = BenchmarkFiles.newDirectory("journal-recovery");
+        try (JournalOrderRepository journal = new JournalOrderRepository(directory)) {
+            for (int i = 0; i < orders; i++) {
+                journal.save(OrderFixtures.order("ORD" + i, "CUST" + (i % 100_000), 3));
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeReopened() throws IOException {
+        if (reopened != null) {
+            reopened.close();
+            reopened = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        reopened = new JournalOrderRepository(directory);
+        return reopened.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.order.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+import com.company.order.repository.JournalOrderRepository;
+
+/**
+ * Append throughput of {@link JournalOrderRepository}: full order saves and
+ * status-only records. Each iteration starts from an empty journal so the heap
+ * holds at most one iteration's orders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class JournalWriteBenchmark {
+
+    private static final int STATUS_ORDERS = 1_024;
+
+    private Path directory;
+    private JournalOrderRepository journal;
+    private Order[] statusOrders;
+    private long sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.newDirectory("journal-write");
+        journal = new JournalOrderRepository(directory);
+        statusOrders = new Order[STATUS_ORDERS];
+        for (int i = 0; i < STATUS_ORDERS; i++) {
+            statusOrders[i] = OrderFixtures.order("STATUS" + i, "CUST" + i, 3);
+            journal.save(statusOrders[i]);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void saveOrder() {
+        long id = sequence++;
+        journal.save(OrderFixtures.order("ORD" + id, "CUST" + (id % 10_000), 3));
+    }
+
+    @Benchmark
+    public void saveStatus() {
+        Order order = statusOrders[(int) (sequence++ % STATUS_ORDERS)];
+        order.restoreStatus(order.getStatus() == OrderStatus.CREATED ? OrderStatus.CONFIRMED : OrderStatus.CREATED, null);
+        journal.saveStatus(order);
+    }
+}
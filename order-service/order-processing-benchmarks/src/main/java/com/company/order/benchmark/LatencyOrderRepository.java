@@ -0,0 +1,71 @@
+package com.company.order.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+import com.company.order.repository.OrderRepository;
+
+/**
+ * Wraps a repository and blocks every read for a fixed time, standing in for a
+ * remote store. A bulk {@link #findByIds} pays the latency once, like a single
+ * round trip. Uses {@link Thread#sleep}, which releases the carrier thread when
+ * called from a virtual thread.
+ */
+class LatencyOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final long latencyMicros;
+
+    LatencyOrderRepository(OrderRepository delegate, long latencyMicros) {
+        this.delegate = delegate;
+        this.latencyMicros = latencyMicros;
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        pause();
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public Map<String, Order> findByIds(Collection<String> orderIds) {
+        pause();
+        return delegate.findByIds(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        pause();
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        pause();
+        return delegate.findByCustomerId(customerId, afterOrderId, pageSize);
+    }
+
+    @Override
+    public void save(Order order) {
+        delegate.save(order);
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        return delegate.deleteById(orderId);
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MICROSECONDS.sleep(latencyMicros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating repository latency", e);
+        }
+    }
+}
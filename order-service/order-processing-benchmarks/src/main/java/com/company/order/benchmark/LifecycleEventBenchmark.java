@@ -0,0 +1,85 @@
+package com.company.order.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.events.OrderLifecycle;
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Status-change throughput of {@link OrderLifecycle}, where the caller only
+ * publishes to the ring and a consumer thread applies the change, against
+ * applying the same change inline under a lock. A fresh lifecycle is started per
+ * iteration so the publishing thread is always its single writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LifecycleEventBenchmark {
+
+    private static final int ORDERS = 1_024;
+    private static final int RING_SIZE = 8_192;
+
+    private final String[] orderIds = new String[ORDERS];
+    private final Map<String, Order> lockedOrders = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private OrderLifecycle lifecycle;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        lifecycle = new OrderLifecycle(RING_SIZE).start();
+        lockedOrders.clear();
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds[i] = "ORD" + i;
+            Order order = OrderFixtures.order(orderIds[i], "CUST" + i, 3);
+            lifecycle.create(order);
+            lockedOrders.put(orderIds[i], OrderFixtures.order(orderIds[i], "CUST" + i, 3));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        lifecycle.close();
+    }
+
+    @Benchmark
+    public long publishTransition() {
+        return lifecycle.transition(nextOrderId(), OrderStatus.CONFIRMED);
+    }
+
+    @Benchmark
+    public boolean lockedTransition() {
+        lock.lock();
+        try {
+            return lockedOrders.get(nextOrderId()).transitionTo(OrderStatus.CONFIRMED);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String nextOrderId() {
+        return orderIds[next++ & (ORDERS - 1)];
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+
+/**
+ * Prints the retained heap size of an order's line items in the compact
+ * {@link com.company.order.model.OrderLines} layout next to the previous
+ * {@code ArrayList<OrderItem>} layout, both as built and after
+ * {@link com.company.order.model.OrderLines#trimToSize()}.
+ *
+ * <pre>
+ * java -cp order-processing-benchmarks/target/benchmarks.jar \
+ *     com.company.order.benchmark.LineItemFootprint
+ * </pre>
+ */
+public final class LineItemFootprint {
+
+    private static final int[] LINE_COUNTS = {1, 4, 12, 50, 500};
+
+    private LineItemFootprint() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %18s %18s %18s %8s%n",
+                "lines", "ArrayList (bytes)", "OrderLines (bytes)", "trimmed (bytes)", "ratio");
+
+        for (int lines : LINE_COUNTS) {
+            Order order = OrderFixtures.order(lines);
+
+            List<OrderItem> legacy = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                legacy.add(new OrderItem(order.getLines().price(i), order.getLines().quantity(i)));
+            }
+
+            long legacyBytes = GraphLayout.parseInstance(legacy).totalSize();
+            long compactBytes = GraphLayout.parseInstance(order.getLines()).totalSize();
+            order.getLines().trimToSize();
+            long trimmedBytes = GraphLayout.parseInstance(order.getLines()).totalSize();
+            System.out.printf("%-8d %18d %18d %18d %7.2fx%n",
+                    lines, legacyBytes, compactBytes, trimmedBytes, (double) legacyBytes / trimmedBytes);
+        }
+    }
+}
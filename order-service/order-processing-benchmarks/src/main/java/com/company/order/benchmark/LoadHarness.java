@@ -0,0 +1,146 @@
+package com.company.order.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.company.order.admission.AimdConcurrencyLimit;
+import com.company.order.admission.CustomerRateLimiter;
+import com.company.order.admission.OrderAdmissionService;
+import com.company.order.admission.TokenBucket;
+import com.company.order.concurrent.VirtualThreads;
+import com.company.order.metrics.HistogramSnapshot;
+import com.company.order.repository.InMemoryOrderRepository;
+import com.company.order.repository.OrderRepository;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Offline soak test: drives {@link OrderServiceImpl} with seeded,
+ * production-shaped load from {@link OrderLoadGenerator} at a fixed rate through
+ * {@link OpenLoopDriver}, against a {@link JitterOrderRepository}, and prints
+ * throughput, latency percentiles and GC activity. Exits with status 1 when
+ * {@code --max-p99-ms} is exceeded, when a request had an outcome other than
+ * the one the generator intended, or when requests were still unfinished at the
+ * end, so it can gate a release.
+ *
+ * <pre>
+ * java -cp order-processing-benchmarks/target/benchmarks.jar \
+ *     com.company.order.benchmark.LoadHarness --rate=2000 --duration=60 --max-p99-ms=50
+ * </pre>
+ *
+ * Options (defaults in brackets): {@code --seed} [42], {@code --rate} requests/s
+ * [1000], {@code --warmup} s [5], {@code --duration} s [30], {@code --customers}
+ * [10000], {@code --zipf} exponent [1.1], {@code --rejection-rate} [0.05],
+ * {@code --lookup-rate} [0.3], {@code --latency-us} [500], {@code --jitter-us}
+ * [250], {@code --admission} [false], {@code --customer-rate} per customer/s [20],
+ * {@code --max-p99-ms} [unset].
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", "10000"));
+        double zipf = Double.parseDouble(options.getOrDefault("zipf", "1.1"));
+        double rejectionRate = Double.parseDouble(options.getOrDefault("rejection-rate", "0.05"));
+        double lookupRate = Double.parseDouble(options.getOrDefault("lookup-rate", "0.3"));
+        long latencyMicros = Long.parseLong(options.getOrDefault("latency-us", "500"));
+        long jitterMicros = Long.parseLong(options.getOrDefault("jitter-us", "250"));
+        boolean useAdmission = Boolean.parseBoolean(options.getOrDefault("admission", "false"));
+        double customerRate = Double.parseDouble(options.getOrDefault("customer-rate", "20"));
+        String maxP99 = options.get("max-p99-ms");
+
+        ExecutorService workers = VirtualThreads.newPerTaskExecutor("load");
+        OrderRepository repository = new JitterOrderRepository(new InMemoryOrderRepository(), latencyMicros,
+                jitterMicros);
+        OrderServiceImpl service = new OrderServiceImpl(repository);
+        OrderAdmissionService admission = !useAdmission ? null
+                : new OrderAdmissionService(service, new CustomerRateLimiter(customerRate, 5, 100_000),
+                        new TokenBucket(rate, (int) Math.max(1, rate / 10)),
+                        new AimdConcurrencyLimit(64, 4, 1_024, TimeUnit.MILLISECONDS.toNanos(5)), 4_096,
+                        Duration.ofMillis(50), workers);
+
+        OrderLoadGenerator generator = new OrderLoadGenerator(seed, customers, zipf, rejectionRate, lookupRate);
+        OpenLoopDriver driver = new OpenLoopDriver(service, repository, admission, workers);
+
+        Map<String, long[]> gcBefore = gcCounters();
+        OpenLoopDriver.Result result = driver.run(generator, rate, warmup, duration, 30);
+        Map<String, long[]> gcAfter = gcCounters();
+        workers.shutdownNow();
+
+        boolean passed = report(options, result, gcBefore, gcAfter, maxP99);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean report(Map<String, String> options, OpenLoopDriver.Result result,
+            Map<String, long[]> gcBefore, Map<String, long[]> gcAfter, String maxP99) {
+        HistogramSnapshot latency = result.latency;
+        double seconds = result.recordedNanos / 1e9;
+
+        System.out.println("options     " + options);
+        System.out.printf("issued      %d (%d dispatched late, %d unfinished)%n",
+                result.issued, result.late, result.unfinished);
+        System.out.printf("throughput  %.0f req/s over %.1f s%n", latency.getCount() / seconds, seconds);
+        System.out.printf("creates     %d accepted, %d rejected, %d shed, %d unexpected%n",
+                result.accepted, result.rejected, result.shed, result.unexpected);
+        System.out.printf("lookups     %d found, %d not found%n", result.found, result.notFound);
+        System.out.printf("failures    %d%n", result.failed);
+        System.out.printf("latency ms  p50 %.3f  p90 %.3f  p99 %.3f  p999 %.3f  max %.3f%n",
+                millis(latency.getValueAtQuantile(0.50)), millis(latency.getValueAtQuantile(0.90)),
+                millis(latency.getValueAtQuantile(0.99)), millis(latency.getValueAtQuantile(0.999)),
+                millis(latency.getMax()));
+        for (Map.Entry<String, long[]> gc : gcAfter.entrySet()) {
+            long[] before = gcBefore.getOrDefault(gc.getKey(), new long[2]);
+            System.out.printf("gc          %-24s %6d collections %8d ms%n", gc.getKey(),
+                    gc.getValue()[0] - before[0], gc.getValue()[1] - before[1]);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("heap        %d MB used of %d MB%n",
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20, runtime.maxMemory() >> 20);
+
+        boolean passed = result.unexpected == 0 && result.failed == 0 && result.unfinished == 0;
+        if (maxP99 != null && millis(latency.getValueAtQuantile(0.99)) > Double.parseDouble(maxP99)) {
+            System.out.println("FAILED      p99 above " + maxP99 + " ms");
+            passed = false;
+        } else if (!passed) {
+            System.out.println("FAILED      unexpected outcomes or unfinished requests");
+        }
+        return passed;
+    }
+
+    private static Map<String, long[]> gcCounters() {
+        Map<String, long[]> counters = new HashMap<>();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean collector : collectors) {
+            counters.put(collector.getName(), new long[] {collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        return counters;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
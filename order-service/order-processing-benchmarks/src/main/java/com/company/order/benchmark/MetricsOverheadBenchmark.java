@@ -0,0 +1,58 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.metrics.RecordingOrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Cost of instrumentation on {@link OrderServiceImpl#createOrder} with several
+ * threads recording into the same histograms. {@code gc.alloc.rate.norm} should
+ * stay at zero with metrics on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private OrderServiceImpl service;
+    private Order order;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        OrderMetrics metrics = metricsEnabled ? new RecordingOrderMetrics() : OrderMetrics.noop();
+        service = new OrderServiceImpl(new StandInOrderRepository(), metrics);
+        order = OrderFixtures.order(12);
+        customer = new Customer("CUST1", true);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        service.createOrder(order, customer);
+        return order;
+    }
+}
@@ -0,0 +1,180 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.company.order.admission.OrderAdmissionService;
+import com.company.order.benchmark.OrderLoadGenerator.LoadRequest;
+import com.company.order.exception.AdmissionRejectedException;
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.exception.OrderNotFoundException;
+import com.company.order.metrics.HistogramSnapshot;
+import com.company.order.metrics.LatencyHistogram;
+import com.company.order.repository.OrderRepository;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Issues requests on a fixed schedule regardless of how fast earlier ones
+ * complete, and measures each one from the time it was <em>scheduled</em> to
+ * start. A stall therefore shows up as latency for every request that should
+ * have started during it, rather than as fewer requests sent (coordinated
+ * omission), which is what a closed loop of callers would report.
+ *
+ * <p>Creates run {@code createOrder} and then save the accepted order; when an
+ * {@link OrderAdmissionService} is given, creates are submitted through it.
+ */
+final class OpenLoopDriver {
+
+    private final OrderServiceImpl service;
+    private final OrderRepository repository;
+    private final OrderAdmissionService admission;
+    private final Executor workers;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder found = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private volatile long recordFromNanos = Long.MAX_VALUE;
+
+    OpenLoopDriver(OrderServiceImpl service, OrderRepository repository, OrderAdmissionService admission,
+            Executor workers) {
+        this.service = service;
+        this.repository = repository;
+        this.admission = admission;
+        this.workers = workers;
+    }
+
+    /**
+     * Runs {@code warmupSeconds} unrecorded, then {@code durationSeconds}
+     * recorded, at {@code ratePerSecond}, and waits up to {@code drainSeconds}
+     * for the requests still in flight.
+     */
+    Result run(OrderLoadGenerator generator, double ratePerSecond, long warmupSeconds, long durationSeconds,
+            long drainSeconds) throws InterruptedException {
+        double intervalNanos = 1e9 / ratePerSecond;
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        recordFromNanos = recordFrom;
+
+        long issued = 0;
+        long late = 0;
+        while (true) {
+            long intended = start + (long) (issued * intervalNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            } else if (-wait > intervalNanos) {
+                late++;
+            }
+            issue(generator.next(), intended);
+            issued++;
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainSeconds);
+        while (outstanding.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(1);
+        }
+        long elapsed = System.nanoTime() - recordFrom;
+        return new Result(this, issued, late, outstanding.get(), elapsed);
+    }
+
+    private void issue(LoadRequest request, long intendedNanos) {
+        outstanding.incrementAndGet();
+        if (request.isLookup()) {
+            workers.execute(() -> {
+                try {
+                    service.getOrderById(request.lookupId);
+                    found.increment();
+                } catch (OrderNotFoundException e) {
+                    notFound.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                }
+                complete(intendedNanos);
+            });
+        } else if (admission != null) {
+            admission.submit(request.order, request.customer)
+                    .thenAcceptAsync(repository::save, workers)
+                    .whenComplete((ignored, failure) -> {
+                        classify(request, failure == null ? null : failure.getCause());
+                        complete(intendedNanos);
+                    });
+        } else {
+            workers.execute(() -> {
+                Throwable failure = null;
+                try {
+                    service.createOrder(request.order, request.customer);
+                    repository.save(request.order);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                classify(request, failure);
+                complete(intendedNanos);
+            });
+        }
+    }
+
+    private void classify(LoadRequest request, Throwable failure) {
+        if (failure == null) {
+            (request.expectRejection ? unexpected : accepted).increment();
+        } else if (failure instanceof InvalidOrderException) {
+            (request.expectRejection ? rejected : unexpected).increment();
+        } else if (failure instanceof AdmissionRejectedException) {
+            shed.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    private void complete(long intendedNanos) {
+        if (intendedNanos - recordFromNanos >= 0) {
+            latencies.record(System.nanoTime() - intendedNanos);
+        }
+        outstanding.decrementAndGet();
+    }
+
+    static final class Result {
+
+        final long issued;
+        final long late;
+        final long unfinished;
+        final long recordedNanos;
+        final long accepted;
+        final long rejected;
+        final long unexpected;
+        final long shed;
+        final long found;
+        final long notFound;
+        final long failed;
+        final HistogramSnapshot latency;
+
+        Result(OpenLoopDriver driver, long issued, long late, long unfinished, long recordedNanos) {
+            this.issued = issued;
+            this.late = late;
+            this.unfinished = unfinished;
+            this.recordedNanos = recordedNanos;
+            this.accepted = driver.accepted.sum();
+            this.rejected = driver.rejected.sum();
+            this.unexpected = driver.unexpected.sum();
+            this.shed = driver.shed.sum();
+            this.found = driver.found.sum();
+            this.notFound = driver.notFound.sum();
+            this.failed = driver.failed.sum();
+            this.latency = driver.latencies.snapshot();
+        }
+    }
+}
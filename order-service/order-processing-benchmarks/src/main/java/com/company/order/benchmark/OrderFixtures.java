@@ -0,0 +1,29 @@
+package com.company.order.benchmark;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+
+/**
+ * Builders for the orders the benchmarks run against.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    /**
+     * Builds an order with {@code lines} valid line items whose total stays under
+     * the compliance limit even at 500 lines.
+     */
+    static Order order(String orderId, String customerId, int lines) {
+        Order order = new Order(orderId, customerId);
+        for (int line = 0; line < lines; line++) {
+            order.addItem(new OrderItem(49.5 + (line % 40) * 12.25, 1 + line % 3));
+        }
+        return order;
+    }
+
+    static Order order(int lines) {
+        return order(null, null, lines);
+    }
+}
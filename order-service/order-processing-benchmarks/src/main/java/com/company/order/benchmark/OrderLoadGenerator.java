@@ -0,0 +1,142 @@
+package com.company.order.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+
+/**
+ * Deterministic stream of production-shaped requests: the same seed always gives
+ * the same orders, customers and lookups in the same order.
+ *
+ * <ul>
+ *   <li>Customer popularity follows a Zipf distribution, so a few customers
+ *       place most orders.</li>
+ *   <li>Line counts are mostly small with a long tail of bulk orders.</li>
+ *   <li>{@code rejectionRate} of the creates are made invalid, split evenly
+ *       between an inactive customer, a zero-quantity line and a total over
+ *       the compliance limit.</li>
+ *   <li>{@code lookupRate} of the requests look up an order created at least
+ *       {@value #LOOKUP_LAG} requests earlier;
+ *       lookups of orders that were rejected or shed come back not found.</li>
+ * </ul>
+ *
+ * Not thread-safe; one thread draws the whole sequence.
+ */
+final class OrderLoadGenerator {
+
+    // Lookups target orders this many requests old, so their creates have finished.
+    static final int LOOKUP_LAG = 1_000;
+    private static final int LOOKUP_WINDOW = 10_000;
+
+    private final SplittableRandom random;
+    private final Customer[] customers;
+    private final double[] popularity;
+    private final double rejectionRate;
+    private final double lookupRate;
+
+    private long created;
+
+    OrderLoadGenerator(long seed, int customerCount, double zipfExponent, double rejectionRate, double lookupRate) {
+        if (customerCount <= 0) {
+            throw new IllegalArgumentException("Customer count must be positive");
+        }
+        this.random = new SplittableRandom(seed);
+        this.customers = new Customer[customerCount];
+        this.popularity = new double[customerCount];
+        double cumulative = 0;
+        for (int i = 0; i < customerCount; i++) {
+            customers[i] = new Customer(String.format("CUST%06d", i), true);
+            cumulative += 1.0 / Math.pow(i + 1, zipfExponent);
+            popularity[i] = cumulative;
+        }
+        for (int i = 0; i < customerCount; i++) {
+            popularity[i] /= cumulative;
+        }
+        this.rejectionRate = rejectionRate;
+        this.lookupRate = lookupRate;
+    }
+
+    LoadRequest next() {
+        if (created > LOOKUP_LAG && random.nextDouble() < lookupRate) {
+            long newest = created - LOOKUP_LAG;
+            long oldest = Math.max(0, newest - LOOKUP_WINDOW);
+            return LoadRequest.lookup(orderId(oldest + random.nextLong(newest - oldest)));
+        }
+
+        Customer customer = customers[pickCustomer()];
+        Order order = new Order(orderId(created++), customer.getCustomerId());
+        int lines = pickLineCount();
+        for (int i = 0; i < lines; i++) {
+            // Rupee prices in 50 paise steps; 100 lines at the top price stay under the limit.
+            order.addItem(new OrderItem(10 + random.nextInt(2_980) * 0.5, 1 + random.nextInt(3)));
+        }
+
+        if (random.nextDouble() < rejectionRate) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    return LoadRequest.create(order, new Customer(customer.getCustomerId(), false), true);
+                case 1:
+                    order.addItem(new OrderItem(100, 0));
+                    break;
+                default:
+                    order.addItem(new OrderItem(600_000, 1));
+                    break;
+            }
+            return LoadRequest.create(order, customer, true);
+        }
+        return LoadRequest.create(order, customer, false);
+    }
+
+    private int pickCustomer() {
+        int index = Arrays.binarySearch(popularity, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, customers.length - 1);
+    }
+
+    private int pickLineCount() {
+        double roll = random.nextDouble();
+        if (roll < 0.40) {
+            return 1;
+        }
+        if (roll < 0.85) {
+            return 2 + random.nextInt(4);
+        }
+        if (roll < 0.98) {
+            return 6 + random.nextInt(15);
+        }
+        return 50 + random.nextInt(51);
+    }
+
+    private static String orderId(long sequence) {
+        return "ORD" + sequence;
+    }
+
+    static final class LoadRequest {
+
+        final Order order;
+        final Customer customer;
+        final boolean expectRejection;
+        final String lookupId;
+
+        private LoadRequest(Order order, Customer customer, boolean expectRejection, String lookupId) {
+            this.order = order;
+            this.customer = customer;
+            this.expectRejection = expectRejection;
+            this.lookupId = lookupId;
+        }
+
+        static LoadRequest create(Order order, Customer customer, boolean expectRejection) {
+            return new LoadRequest(order, customer, expectRejection, null);
+        }
+
+        static LoadRequest lookup(String orderId) {
+            return new LoadRequest(null, null, false, orderId);
+        }
+
+        boolean isLookup() {
+            return lookupId != null;
+        }
+    }
+}
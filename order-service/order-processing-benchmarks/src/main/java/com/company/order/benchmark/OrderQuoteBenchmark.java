@@ -0,0 +1,66 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.OrderQuote;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderQuoteService;
+import com.company.order.service.PricingService;
+
+/**
+ * Fused {@link OrderQuoteService#quote} against the separate steps it replaces:
+ * compliance validation, a second pass over the items to total them, then GST.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderQuoteBenchmark {
+
+    @Param({"1", "12", "500"})
+    public int lines;
+
+    private final ComplianceService complianceService = new ComplianceService();
+    private final PricingService pricingService = new PricingService();
+    private final OrderQuoteService quoteService = new OrderQuoteService(complianceService, pricingService);
+    private Order order;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(lines);
+        customer = new Customer("CUST1", true);
+    }
+
+    @Benchmark
+    public OrderQuote fusedQuote() {
+        return quoteService.quote(order, customer, true, false);
+    }
+
+    @Benchmark
+    public double separatePasses() {
+        complianceService.validateOrder(order, customer);
+        double totalAmount = 0;
+        for (OrderItem item : order.getItems()) {
+            totalAmount += item.getPrice() * item.getQuantity();
+        }
+        return pricingService.calculateGST(totalAmount, true, false);
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+import com.company.order.service.PartitionedOrderProcessor;
+
+/**
+ * Throughput of {@link PartitionedOrderProcessor#createOrder} for a batch of
+ * {@value #BATCH} typical orders spread over {@value #CUSTOMERS} customers, by
+ * number of lanes. Scaling with lanes is bounded by the cores available to the
+ * fork.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartitionedProcessorBenchmark {
+
+    private static final int BATCH = 8_192;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"1", "2", "4"})
+    public int lanes;
+
+    private PartitionedOrderProcessor processor;
+    private Order[] orders;
+    private Customer[] customers;
+    private final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[BATCH];
+
+    @Setup
+    public void setUp() {
+        processor = new PartitionedOrderProcessor(new OrderServiceImpl(new StandInOrderRepository()), lanes, BATCH);
+        orders = new Order[BATCH];
+        customers = new Customer[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            String customerId = "CUST" + (i % CUSTOMERS);
+            orders[i] = OrderFixtures.order("ORD" + i, customerId, 12);
+            customers[i] = new Customer(customerId, true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        processor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void createOrders() {
+        for (int i = 0; i < BATCH; i++) {
+            inFlight[i] = processor.createOrder(orders[i], customers[i]);
+        }
+        CompletableFuture.allOf(inFlight).join();
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.service.PricingService;
+
+/**
+ * {@link PricingService#calculateGST} across the discount tiers: no tier, the
+ * 10,000 tier and the 25,000 tier, with and without the premium and festival
+ * bonuses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+
+    @Param({"9000", "15000", "30000"})
+    public double totalAmount;
+
+    @Param({"false", "true"})
+    public boolean premiumCustomer;
+
+    @Param({"false", "true"})
+    public boolean festivalOffer;
+
+    private final PricingService pricingService = new PricingService();
+
+    @Benchmark
+    public double calculateGST() {
+        return pricingService.calculateGST(totalAmount, premiumCustomer, festivalOffer);
+    }
+}
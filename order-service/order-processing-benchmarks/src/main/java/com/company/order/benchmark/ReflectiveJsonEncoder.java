@@ -0,0 +1,103 @@
+package com.company.order.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for the integration layer's JSON path: discovers bean getters by
+ * reflection (cached per class, as JSON libraries do), invokes them reflectively
+ * and writes JSON text, which is then UTF-8 encoded. Used only as the baseline
+ * for {@link CodecBenchmark}.
+ */
+final class ReflectiveJsonEncoder {
+
+    private final Map<Class<?>, List<Property>> properties = new ConcurrentHashMap<>();
+
+    byte[] encode(Object value) {
+        StringBuilder out = new StringBuilder(256);
+        write(value, out);
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String || value instanceof Enum) {
+            out.append('"').append(value.toString().replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else {
+            out.append('{');
+            boolean first = true;
+            for (Property property : properties.computeIfAbsent(value.getClass(), ReflectiveJsonEncoder::introspect)) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append('"').append(property.name).append("\":");
+                write(property.get(value), out);
+            }
+            out.append('}');
+        }
+    }
+
+    private static List<Property> introspect(Class<?> type) {
+        List<Property> found = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            if (name.startsWith("get") && name.length() > 3) {
+                found.add(new Property(decapitalize(name.substring(3)), method));
+            } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+                found.add(new Property(decapitalize(name.substring(2)), method));
+            }
+        }
+        found.sort(Comparator.comparing(property -> property.name));
+        return found;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static final class Property {
+
+        final String name;
+        final Method getter;
+
+        Property(String name, Method getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        Object get(Object target) {
+            try {
+                return getter.invoke(target);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + name, e);
+            }
+        }
+    }
+}
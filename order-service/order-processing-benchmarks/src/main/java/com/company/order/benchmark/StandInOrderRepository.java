@@ -0,0 +1,47 @@
+package com.company.order.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.company.order.model.Order;
+import com.company.order.repository.OrderRepository;
+
+/**
+ * Single-threaded, map-backed repository used to isolate service overhead from
+ * storage cost. Populate it during benchmark setup only.
+ */
+class StandInOrderRepository implements OrderRepository {
+
+    private final Map<String, Order> ordersById = new HashMap<>();
+    private final Map<String, List<Order>> ordersByCustomer = new HashMap<>();
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return Optional.ofNullable(ordersById.get(orderId));
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        List<Order> orders = ordersByCustomer.get(customerId);
+        return orders != null ? orders : Collections.emptyList();
+    }
+
+    @Override
+    public void save(Order order) {
+        ordersById.put(order.getOrderId(), order);
+        ordersByCustomer.computeIfAbsent(order.getCustomerId(), id -> new ArrayList<>()).add(order);
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        Order removed = ordersById.remove(orderId);
+        if (removed != null) {
+            ordersByCustomer.getOrDefault(removed.getCustomerId(), Collections.emptyList()).remove(removed);
+        }
+        return removed != null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.company.order.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.order.compliance.ComplianceRuleChain;
+import com.company.order.compliance.VelocityIndex;
+import com.company.order.compliance.VelocityRule;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * {@link OrderServiceImpl#createOrder} with per-minute order and daily spend
+ * {@link VelocityRule}s, from four threads spread over {@code customers}
+ * customers; one customer is the all-threads-on-one-counter worst case. Compare
+ * with {@code baseline}, which runs the default rules only. {@code windowSum}
+ * reads a daily window with all 24 buckets filled under a fixed clock, so it
+ * measures the window read alone; run it with {@code -t 1} for the uncontended
+ * per-call cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class VelocityBenchmark {
+
+    // Limits are checked on every order but never reached.
+    private static final long UNREACHED_LIMIT = Long.MAX_VALUE / 2;
+
+    @Param({"1", "10000"})
+    public int customers;
+
+    private OrderServiceImpl service;
+    private OrderServiceImpl baseline;
+    private Order[] orders;
+    private Customer[] customerRecords;
+    private VelocityIndex filledDay;
+
+    @Setup
+    public void setUp() {
+        ComplianceRuleChain rules = ComplianceRuleChain.defaults()
+                .with(new VelocityRule(new VelocityIndex(Duration.ofMinutes(1), 6), UNREACHED_LIMIT,
+                        VelocityRule.NO_LIMIT))
+                .with(new VelocityRule(new VelocityIndex(Duration.ofDays(1), 24), VelocityRule.NO_LIMIT,
+                        UNREACHED_LIMIT));
+        service = new OrderServiceImpl(new StandInOrderRepository(),
+                new ComplianceService(rules, OrderMetrics.noop()), ForkJoinPool.commonPool());
+        baseline = new OrderServiceImpl(new StandInOrderRepository());
+        orders = new Order[customers];
+        customerRecords = new Customer[customers];
+        for (int i = 0; i < customers; i++) {
+            orders[i] = OrderFixtures.order("ORD" + i, "CUST" + i, 3);
+            customerRecords[i] = new Customer("CUST" + i, true);
+        }
+
+        long[] now = new long[1];
+        filledDay = new VelocityIndex(Duration.ofDays(1), 24, () -> now[0]);
+        for (int hour = 0; hour < 24; hour++) {
+            now[0] = Duration.ofHours(hour).toMillis();
+            filledDay.record("CUST0", 1_000);
+        }
+    }
+
+    @Benchmark
+    public Order velocity() {
+        int i = ThreadLocalRandom.current().nextInt(customers);
+        service.createOrder(orders[i], customerRecords[i]);
+        return orders[i];
+    }
+
+    @Benchmark
+    public long windowSum() {
+        return filledDay.spendPaise("CUST0");
+    }
+
+    @Benchmark
+    public Order baseline() {
+        int i = ThreadLocalRandom.current().nextInt(customers);
+        baseline.createOrder(orders[i], customerRecords[i]);
+        return orders[i];
+    }
+}
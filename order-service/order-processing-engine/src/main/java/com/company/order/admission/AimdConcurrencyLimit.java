@@ -0,0 +1,75 @@
+package com.company.order.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency with additive increase,
+ * multiplicative decrease (AIMD): every call that finishes within the target
+ * latency while the limit is actually in use raises the limit by
+ * {@code 1 / limit} (about +1 per round trip), and every slower call cuts it by
+ * {@link #BACKOFF_RATIO}. Downstream slowdowns therefore shrink the number of
+ * orders in flight until latency recovers, instead of queueing ever more work.
+ */
+public final class AimdConcurrencyLimit {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double exactLimit; // guarded by this
+
+    public AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.exactLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Releases a slot taken by {@link #tryAcquire} once the call has finished. */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                exactLimit = Math.max(minLimit, exactLimit * BACKOFF_RATIO);
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only grow while at least half the limit is in use; an idle
+                // service learns nothing about how much more it could take.
+                exactLimit = Math.min(maxLimit, exactLimit + 1.0 / exactLimit);
+            }
+            limit = (int) exactLimit;
+        }
+    }
+
+    /** Releases a slot taken by {@link #tryAcquire} without running the call. */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
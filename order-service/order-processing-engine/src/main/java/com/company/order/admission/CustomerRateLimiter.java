@@ -0,0 +1,112 @@
+package com.company.order.admission;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per customer, created on first use, for at most
+ * {@code maxTrackedCustomers} customers. Buckets that have refilled completely
+ * hold no information, so they are dropped by {@link #expireIdle()} (or the
+ * sweeper started with {@link #startSweeper}). While the limit is reached, new
+ * customers share one overflow bucket: they are still rate limited, as a group,
+ * and neither grow the map nor pay for a scan of it.
+ */
+public final class CustomerRateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxTrackedCustomers;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // Buckets in the map plus inserts in flight, so racing inserts cannot pass the limit.
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final TokenBucket overflow;
+
+    public CustomerRateLimiter(double permitsPerSecond, int burst, int maxTrackedCustomers) {
+        this(permitsPerSecond, burst, maxTrackedCustomers, System::nanoTime);
+    }
+
+    public CustomerRateLimiter(double permitsPerSecond, int burst, int maxTrackedCustomers, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0) || burst <= 0) {
+            throw new IllegalArgumentException("Permits per second and burst must be positive");
+        }
+        if (maxTrackedCustomers <= 0) {
+            throw new IllegalArgumentException("Max tracked customers must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxTrackedCustomers = maxTrackedCustomers;
+        this.nanoClock = nanoClock;
+        this.overflow = new TokenBucket(permitsPerSecond, burst, nanoClock);
+    }
+
+    public boolean tryAcquire(String customerId) {
+        if (customerId == null) {
+            return true;
+        }
+        TokenBucket bucket = buckets.get(customerId);
+        if (bucket == null) {
+            bucket = track(customerId);
+        }
+        return bucket.tryAcquire();
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire} for an order that was then
+     * turned away for another reason.
+     */
+    public void release(String customerId) {
+        if (customerId == null) {
+            return;
+        }
+        TokenBucket bucket = buckets.get(customerId);
+        (bucket != null ? bucket : overflow).release();
+    }
+
+    /** Drops the buckets that have refilled completely. Returns how many were dropped. */
+    public int expireIdle() {
+        int expired = 0;
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle() && buckets.remove(entry.getKey(), entry.getValue())) {
+                tracked.decrementAndGet();
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Runs {@link #expireIdle()} on {@code scheduler} every {@code period}; cancel
+     * the returned future to stop sweeping.
+     */
+    public ScheduledFuture<?> startSweeper(ScheduledExecutorService scheduler, Duration period) {
+        long periodMillis = period.toMillis();
+        return scheduler.scheduleWithFixedDelay(this::expireIdle, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int trackedCustomers() {
+        return buckets.size();
+    }
+
+    private TokenBucket track(String customerId) {
+        if (tracked.incrementAndGet() > maxTrackedCustomers) {
+            tracked.decrementAndGet();
+            TokenBucket existing = buckets.get(customerId);
+            return existing != null ? existing : overflow;
+        }
+        TokenBucket created = new TokenBucket(permitsPerSecond, burst, nanoClock);
+        TokenBucket existing = buckets.putIfAbsent(customerId, created);
+        if (existing != null) {
+            tracked.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+}
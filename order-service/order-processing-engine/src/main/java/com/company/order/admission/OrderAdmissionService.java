@@ -0,0 +1,186 @@
+package com.company.order.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.company.order.exception.AdmissionRejectedException;
+import com.company.order.exception.AdmissionRejectedException.Reason;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.service.OrderServiceImpl;
+
+/**
+ * Admission control in front of {@link OrderServiceImpl#createOrder}. A
+ * submission is checked, cheapest first, against
+ * <ol>
+ *   <li>the customer's rate limit,</li>
+ *   <li>the global rate limit,</li>
+ *   <li>a bounded ingest queue,</li>
+ * </ol>
+ * and the rate-limit permits an order took are given back when a later check
+ * turns it away, so a shed order costs its customer nothing. Queued orders are
+ * started only while the {@link AimdConcurrencyLimit} allows, which tracks the
+ * latency {@code createOrder} is showing. An order that waited longer than
+ * {@code maxQueueWait} is dropped when it reaches the head of the queue rather
+ * than processed late.
+ *
+ * <p>Shed orders fail their future with the shared, stackless
+ * {@link AdmissionRejectedException} for the reason, so under overload the cost
+ * of saying no stays far below the cost of saying yes.
+ */
+public class OrderAdmissionService {
+
+    private final OrderServiceImpl service;
+    private final CustomerRateLimiter customerLimits;
+    private final TokenBucket globalLimit;
+    private final AimdConcurrencyLimit concurrencyLimit;
+    private final ArrayBlockingQueue<Submission> queue;
+    private final long maxQueueWaitNanos;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder admitted = new LongAdder();
+    private final Map<Reason, LongAdder> rejections = new EnumMap<>(Reason.class);
+
+    public OrderAdmissionService(OrderServiceImpl service, CustomerRateLimiter customerLimits,
+            TokenBucket globalLimit, AimdConcurrencyLimit concurrencyLimit, int queueCapacity,
+            Duration maxQueueWait, Executor executor) {
+        this(service, customerLimits, globalLimit, concurrencyLimit, queueCapacity, maxQueueWait, executor,
+                System::nanoTime);
+    }
+
+    public OrderAdmissionService(OrderServiceImpl service, CustomerRateLimiter customerLimits,
+            TokenBucket globalLimit, AimdConcurrencyLimit concurrencyLimit, int queueCapacity,
+            Duration maxQueueWait, Executor executor, LongSupplier nanoClock) {
+        this.service = Objects.requireNonNull(service, "service");
+        this.customerLimits = customerLimits;
+        this.globalLimit = globalLimit;
+        this.concurrencyLimit = Objects.requireNonNull(concurrencyLimit, "concurrencyLimit");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        for (Reason reason : Reason.values()) {
+            rejections.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Submits an order for creation. The future completes with the order once
+     * {@code createOrder} accepted it, fails with that method's exception if it
+     * was invalid, or fails with {@link AdmissionRejectedException} if it was shed.
+     */
+    public CompletableFuture<Order> submit(Order order, Customer customer) {
+        String customerId = order.getCustomerId() != null ? order.getCustomerId() : customer.getCustomerId();
+        if (customerLimits != null && !customerLimits.tryAcquire(customerId)) {
+            return rejected(Reason.CUSTOMER_RATE_LIMITED);
+        }
+        if (globalLimit != null && !globalLimit.tryAcquire()) {
+            releaseCustomer(customerId);
+            return rejected(Reason.GLOBAL_RATE_LIMITED);
+        }
+
+        Submission submission = new Submission(order, customer, nanoClock.getAsLong());
+        if (!queue.offer(submission)) {
+            if (globalLimit != null) {
+                globalLimit.release();
+            }
+            releaseCustomer(customerId);
+            return rejected(Reason.QUEUE_FULL);
+        }
+        admitted.increment();
+        dispatch();
+        return submission.result;
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    public long rejectedCount(Reason reason) {
+        return rejections.get(reason).sum();
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public int concurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    // Starts queued orders while there is concurrency to spare. Called on submit
+    // and whenever an order finishes, so nothing waits for a free slot to be polled.
+    private void dispatch() {
+        while (!queue.isEmpty() && concurrencyLimit.tryAcquire()) {
+            Submission next = queue.poll();
+            if (next == null) {
+                concurrencyLimit.cancel();
+                return;
+            }
+            if (nanoClock.getAsLong() - next.enqueuedNanos > maxQueueWaitNanos) {
+                concurrencyLimit.cancel();
+                reject(next.result, Reason.QUEUE_TIMEOUT);
+                continue;
+            }
+            try {
+                executor.execute(() -> run(next));
+            } catch (RejectedExecutionException e) {
+                concurrencyLimit.cancel();
+                reject(next.result, Reason.SHUTDOWN);
+            }
+        }
+    }
+
+    private void run(Submission submission) {
+        long start = nanoClock.getAsLong();
+        try {
+            service.createOrder(submission.order, submission.customer);
+            submission.result.complete(submission.order);
+        } catch (RuntimeException e) {
+            submission.result.completeExceptionally(e);
+        } finally {
+            concurrencyLimit.release(nanoClock.getAsLong() - start);
+            dispatch();
+        }
+    }
+
+    private void releaseCustomer(String customerId) {
+        if (customerLimits != null) {
+            customerLimits.release(customerId);
+        }
+    }
+
+    private CompletableFuture<Order> rejected(Reason reason) {
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        reject(result, reason);
+        return result;
+    }
+
+    private void reject(CompletableFuture<Order> result, Reason reason) {
+        rejections.get(reason).increment();
+        result.completeExceptionally(AdmissionRejectedException.of(reason));
+    }
+
+    private static final class Submission {
+
+        final Order order;
+        final Customer customer;
+        final long enqueuedNanos;
+        final CompletableFuture<Order> result = new CompletableFuture<>();
+
+        Submission(Order order, Customer customer, long enqueuedNanos) {
+            this.order = order;
+            this.customer = customer;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
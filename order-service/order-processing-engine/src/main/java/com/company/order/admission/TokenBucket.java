@@ -0,0 +1,63 @@
+package com.company.order.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm (GCRA):
+ * instead of a token count refilled by a timer it keeps one timestamp, the
+ * theoretical arrival time of the next request, and a request is allowed when
+ * that time is no more than {@code burst - 1} emission intervals ahead of now.
+ * Behaves like a bucket of {@code burst} tokens refilled at {@code permitsPerSecond}.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    public TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - now < 0 ? now : arrival;
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire()}. Moving the arrival time
+     * back past now changes nothing, so the bucket never holds more than its burst.
+     */
+    public void release() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+
+    /** Whether the bucket is full, i.e. forgetting it would change nothing. */
+    boolean isIdle() {
+        return theoreticalArrival.get() - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.order.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads an {@link OrderCodec} customer record in place. Not thread-safe.
+ */
+public final class CustomerFlyweight {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Points this reader at the record starting at absolute {@code offset}.
+     *
+     * @throws IllegalArgumentException if the bytes there are not a customer record
+     */
+    public CustomerFlyweight wrap(ByteBuffer buffer, int offset) {
+        if (buffer.limit() - offset < OrderCodec.CUSTOMER_HEADER_SIZE
+                || buffer.get(offset + OrderCodec.VERSION_OFFSET) != OrderCodec.VERSION) {
+            throw new IllegalArgumentException("No customer record at offset " + offset);
+        }
+        int length = buffer.getInt(offset + OrderCodec.LENGTH_OFFSET);
+        if (length < OrderCodec.CUSTOMER_HEADER_SIZE || length > buffer.limit() - offset) {
+            throw new IllegalArgumentException("Truncated customer record at offset " + offset);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public int length() {
+        return buffer.getInt(offset + OrderCodec.LENGTH_OFFSET);
+    }
+
+    public boolean isActive() {
+        return buffer.get(offset + OrderCodec.CUSTOMER_ACTIVE_OFFSET) != 0;
+    }
+
+    public String customerId() {
+        int length = Short.toUnsignedInt(buffer.getShort(offset + OrderCodec.CUSTOMER_RECORD_ID_LENGTH_OFFSET));
+        return OrderCodec.getString(buffer, offset + OrderCodec.CUSTOMER_HEADER_SIZE, length);
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.order.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderLines;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Compact binary layout for {@link Order} and {@link Customer}, written straight
+ * into a {@link ByteBuffer} in big-endian order. An order record is a fixed
+ * header, then the line items at fixed offsets, then the strings:
+ *
+ * <pre>
+ *  0  int     record length in bytes
+ *  4  byte    layout version
+ *  5  byte    status ordinal
+ *  6  short   reserved
+ *  8  long    order total in paise (saturated, as compliance computes it)
+ * 16  int     line count
+ * 20  ushort  order ID length     \
+ * 22  ushort  customer ID length   } UTF-8 bytes; 0xFFFF means null
+ * 24  ushort  cancellation reason /
+ * 26  short   reserved
+ * 28  int     reserved
+ * 32  line items: double price, int quantity (12 bytes each)
+ *  .. order ID, customer ID, cancellation reason
+ * </pre>
+ *
+ * A customer record is {@code int length, byte version, byte active, ushort ID
+ * length}, then the ID bytes. {@link OrderFlyweight} and {@link CustomerFlyweight}
+ * read records in place.
+ */
+public final class OrderCodec {
+
+    static final byte VERSION = 1;
+
+    static final int LENGTH_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int STATUS_OFFSET = 5;
+    static final int TOTAL_OFFSET = 8;
+    static final int LINE_COUNT_OFFSET = 16;
+    static final int ORDER_ID_LENGTH_OFFSET = 20;
+    static final int CUSTOMER_ID_LENGTH_OFFSET = 22;
+    static final int REASON_LENGTH_OFFSET = 24;
+    static final int ORDER_HEADER_SIZE = 32;
+    static final int LINE_SIZE = Double.BYTES + Integer.BYTES;
+
+    static final int CUSTOMER_ACTIVE_OFFSET = 5;
+    static final int CUSTOMER_RECORD_ID_LENGTH_OFFSET = 6;
+    static final int CUSTOMER_HEADER_SIZE = 8;
+
+    static final int NULL_STRING = 0xFFFF;
+    static final int MAX_STRING_BYTES = NULL_STRING - 1;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderCodec() {
+    }
+
+    public static int encodedLength(Order order) {
+        return ORDER_HEADER_SIZE + order.getLines().size() * LINE_SIZE
+                + stringLength(order.getOrderId())
+                + stringLength(order.getCustomerId())
+                + stringLength(order.getCancellationReason());
+    }
+
+    /**
+     * Writes {@code order} at the buffer's position and advances it.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the record does not fit; nothing is written
+     * @throws IllegalArgumentException if a string is longer than 65534 UTF-8 bytes
+     */
+    public static int encode(Order order, ByteBuffer buffer) {
+        String orderId = order.getOrderId();
+        String customerId = order.getCustomerId();
+        String reason = order.getCancellationReason();
+        OrderLines lines = order.getLines();
+        int lineCount = lines.size();
+
+        int orderIdLength = checkedStringLength(orderId);
+        int customerIdLength = checkedStringLength(customerId);
+        int reasonLength = checkedStringLength(reason);
+        int length = ORDER_HEADER_SIZE + lineCount * LINE_SIZE
+                + bytes(orderIdLength) + bytes(customerIdLength) + bytes(reasonLength);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        int start = buffer.position();
+        int index = start + ORDER_HEADER_SIZE;
+        for (int i = 0; i < lineCount; i++) {
+            buffer.putDouble(index, lines.price(i));
+            buffer.putInt(index + Double.BYTES, lines.quantity(i));
+            index += LINE_SIZE;
+        }
+        index += putString(buffer, index, orderId);
+        index += putString(buffer, index, customerId);
+        putString(buffer, index, reason);
+
+        buffer.putInt(start + LENGTH_OFFSET, length);
+        buffer.put(start + VERSION_OFFSET, VERSION);
+        buffer.put(start + STATUS_OFFSET, (byte) order.getStatus().ordinal());
+        buffer.putShort(start + 6, (short) 0);
+        buffer.putLong(start + TOTAL_OFFSET, lines.totalPaise());
+        buffer.putInt(start + LINE_COUNT_OFFSET, lineCount);
+        buffer.putShort(start + ORDER_ID_LENGTH_OFFSET, (short) orderIdLength);
+        buffer.putShort(start + CUSTOMER_ID_LENGTH_OFFSET, (short) customerIdLength);
+        buffer.putShort(start + REASON_LENGTH_OFFSET, (short) reasonLength);
+        buffer.putShort(start + 26, (short) 0);
+        buffer.putInt(start + 28, 0);
+
+        buffer.position(start + length);
+        return length;
+    }
+
+    /**
+     * Reads the order record at the buffer's position into a new {@link Order} and
+     * advances past it.
+     */
+    public static Order decode(ByteBuffer buffer) {
+        OrderFlyweight record = new OrderFlyweight().wrap(buffer, buffer.position());
+        Order order = new Order(record.orderId(), record.customerId());
+        int lineCount = record.lineCount();
+        for (int i = 0; i < lineCount; i++) {
+            order.addItem(record.price(i), record.quantity(i));
+        }
+        order.getLines().trimToSize();
+        order.restoreStatus(record.status(), record.cancellationReason());
+        buffer.position(buffer.position() + record.length());
+        return order;
+    }
+
+    public static int encodedLength(Customer customer) {
+        return CUSTOMER_HEADER_SIZE + stringLength(customer.getCustomerId());
+    }
+
+    /**
+     * Writes {@code customer} at the buffer's position and advances it.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the record does not fit; nothing is written
+     */
+    public static int encode(Customer customer, ByteBuffer buffer) {
+        String customerId = customer.getCustomerId();
+        int idLength = checkedStringLength(customerId);
+        int length = CUSTOMER_HEADER_SIZE + bytes(idLength);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        int start = buffer.position();
+        putString(buffer, start + CUSTOMER_HEADER_SIZE, customerId);
+        buffer.putInt(start + LENGTH_OFFSET, length);
+        buffer.put(start + VERSION_OFFSET, VERSION);
+        buffer.put(start + CUSTOMER_ACTIVE_OFFSET, (byte) (customer.isActive() ? 1 : 0));
+        buffer.putShort(start + CUSTOMER_RECORD_ID_LENGTH_OFFSET, (short) idLength);
+
+        buffer.position(start + length);
+        return length;
+    }
+
+    public static Customer decodeCustomer(ByteBuffer buffer) {
+        CustomerFlyweight record = new CustomerFlyweight().wrap(buffer, buffer.position());
+        Customer customer = new Customer(record.customerId(), record.isActive());
+        buffer.position(buffer.position() + record.length());
+        return customer;
+    }
+
+    static OrderStatus status(int ordinal) {
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IllegalArgumentException("Unknown order status ordinal: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+
+    static String getString(ByteBuffer buffer, int index, int length) {
+        return length == NULL_STRING ? null : Utf8.decode(buffer, index, length);
+    }
+
+    static int bytes(int stringLength) {
+        return stringLength == NULL_STRING ? 0 : stringLength;
+    }
+
+    private static int stringLength(String value) {
+        return value == null ? 0 : Utf8.encodedLength(value);
+    }
+
+    private static int checkedStringLength(String value) {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        int length = Utf8.encodedLength(value);
+        if (length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String is longer than " + MAX_STRING_BYTES + " UTF-8 bytes");
+        }
+        return length;
+    }
+
+    private static int putString(ByteBuffer buffer, int index, String value) {
+        return value == null ? 0 : Utf8.encode(value, buffer, index);
+    }
+}
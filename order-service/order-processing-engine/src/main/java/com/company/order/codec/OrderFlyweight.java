@@ -0,0 +1,106 @@
+package com.company.order.codec;
+
+import java.nio.ByteBuffer;
+
+import com.company.order.model.OrderStatus;
+
+/**
+ * Reads an {@link OrderCodec} order record in place. Wrap it around a buffer and
+ * offset, then read the header and line items without creating any objects; only
+ * the string accessors allocate. One instance can be re-wrapped for every record
+ * in a buffer. Not thread-safe.
+ */
+public final class OrderFlyweight {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Points this reader at the record starting at absolute {@code offset}.
+     *
+     * @throws IllegalArgumentException if the bytes there are not an order record
+     */
+    public OrderFlyweight wrap(ByteBuffer buffer, int offset) {
+        if (buffer.limit() - offset < OrderCodec.ORDER_HEADER_SIZE
+                || buffer.get(offset + OrderCodec.VERSION_OFFSET) != OrderCodec.VERSION) {
+            throw new IllegalArgumentException("No order record at offset " + offset);
+        }
+        int length = buffer.getInt(offset + OrderCodec.LENGTH_OFFSET);
+        if (length < OrderCodec.ORDER_HEADER_SIZE || length > buffer.limit() - offset) {
+            throw new IllegalArgumentException("Truncated order record at offset " + offset);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public int length() {
+        return buffer.getInt(offset + OrderCodec.LENGTH_OFFSET);
+    }
+
+    public OrderStatus status() {
+        return OrderCodec.status(buffer.get(offset + OrderCodec.STATUS_OFFSET));
+    }
+
+    /** Order total in paise, computed when the order was encoded. */
+    public long totalPaise() {
+        return buffer.getLong(offset + OrderCodec.TOTAL_OFFSET);
+    }
+
+    public int lineCount() {
+        return buffer.getInt(offset + OrderCodec.LINE_COUNT_OFFSET);
+    }
+
+    public double price(int line) {
+        return buffer.getDouble(lineOffset(line));
+    }
+
+    public int quantity(int line) {
+        return buffer.getInt(lineOffset(line) + Double.BYTES);
+    }
+
+    public String orderId() {
+        return OrderCodec.getString(buffer, stringsOffset(), orderIdLength());
+    }
+
+    public String customerId() {
+        return OrderCodec.getString(buffer, stringsOffset() + OrderCodec.bytes(orderIdLength()), customerIdLength());
+    }
+
+    public String cancellationReason() {
+        int index = stringsOffset() + OrderCodec.bytes(orderIdLength()) + OrderCodec.bytes(customerIdLength());
+        return OrderCodec.getString(buffer, index, reasonLength());
+    }
+
+    /** Compares the stored order ID with {@code orderId} without decoding it. */
+    public boolean orderIdEquals(String orderId) {
+        int length = orderIdLength();
+        if (length == OrderCodec.NULL_STRING || orderId == null) {
+            return length == OrderCodec.NULL_STRING && orderId == null;
+        }
+        return Utf8.equals(buffer, stringsOffset(), length, orderId);
+    }
+
+    private int lineOffset(int line) {
+        if (line < 0 || line >= lineCount()) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount());
+        }
+        return offset + OrderCodec.ORDER_HEADER_SIZE + line * OrderCodec.LINE_SIZE;
+    }
+
+    private int stringsOffset() {
+        return offset + OrderCodec.ORDER_HEADER_SIZE + lineCount() * OrderCodec.LINE_SIZE;
+    }
+
+    private int orderIdLength() {
+        return Short.toUnsignedInt(buffer.getShort(offset + OrderCodec.ORDER_ID_LENGTH_OFFSET));
+    }
+
+    private int customerIdLength() {
+        return Short.toUnsignedInt(buffer.getShort(offset + OrderCodec.CUSTOMER_ID_LENGTH_OFFSET));
+    }
+
+    private int reasonLength() {
+        return Short.toUnsignedInt(buffer.getShort(offset + OrderCodec.REASON_LENGTH_OFFSET));
+    }
+}
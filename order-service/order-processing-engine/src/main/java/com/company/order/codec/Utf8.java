@@ -0,0 +1,92 @@
+package com.company.order.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 encoding straight into a {@link ByteBuffer}, without the intermediate
+ * {@code byte[]} that {@link String#getBytes} allocates. Unpaired surrogates are
+ * written as {@code '?'}, as {@code String.getBytes} does.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    static int encodedLength(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2; // four bytes for two chars
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // written as a single '?'
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** Writes {@code value} at absolute {@code index} and returns the bytes written. */
+    static int encode(String value, ByteBuffer buffer, int index) {
+        int start = index;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put(index++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(index++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(index++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put(index++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(index++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put(index++, (byte) '?');
+            } else {
+                buffer.put(index++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(index++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return index - start;
+    }
+
+    static String decode(ByteBuffer buffer, int index, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + index, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Compares the encoded bytes at {@code index} with {@code value} without decoding them. */
+    static boolean equals(ByteBuffer buffer, int index, int length, String value) {
+        if (encodedLength(value) != length) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.equals(decode(buffer, index, length));
+            }
+            if (buffer.get(index + i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.company.order.compliance;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+/** Rejects orders from inactive customers. */
+public final class ActiveCustomerRule implements ComplianceRule {
+
+    @Override
+    public int cost() {
+        return 1;
+    }
+
+    @Override
+    public RejectionReason check(Order order, Customer customer, ValidationResult result) {
+        return customer.isActive() ? null : RejectionReason.INACTIVE_CUSTOMER;
+    }
+}
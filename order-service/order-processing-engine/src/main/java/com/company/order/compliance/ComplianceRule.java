@@ -0,0 +1,49 @@
+package com.company.order.compliance;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+/**
+ * One check in a {@link ComplianceRuleChain}. Rules must be thread-safe and must
+ * not depend on other rules having run first: the chain reorders them.
+ */
+public interface ComplianceRule {
+
+    /**
+     * Relative cost of one {@link #check}, in arbitrary units shared by all rules
+     * of a chain (the built-in customer check costs 1).
+     */
+    int cost();
+
+    /**
+     * Returns why the order must be rejected, or {@code null} if this rule passes
+     * it. A rule may record the order total on {@code result}, but must not
+     * reject through it; the chain does that.
+     */
+    RejectionReason check(Order order, Customer customer, ValidationResult result);
+
+    /** Returned by {@link #reserve} when the order would pass the rule's limit. */
+    long REJECTED = Long.MIN_VALUE;
+
+    /**
+     * For rules that limit accepted orders: checks the limit and takes the order's
+     * share of it in one atomic step, so concurrent orders cannot overshoot it.
+     * Called for an order every check has passed as it is accepted, never for
+     * quotes.
+     *
+     * @return a token for {@link #release}, or {@link #REJECTED} if the limit is
+     *         reached, in which case nothing was taken
+     */
+    default long reserve(Order order, Customer customer) {
+        return 0;
+    }
+
+    /**
+     * Gives back what the {@link #reserve} call that returned {@code token} took,
+     * for an order a later reservation rejected.
+     */
+    default void release(Order order, Customer customer, long token) {
+    }
+}
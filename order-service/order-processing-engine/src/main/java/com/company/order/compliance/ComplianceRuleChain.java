@@ -0,0 +1,231 @@
+package com.company.order.compliance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+/**
+ * Ordered set of {@link ComplianceRule}s that learns which rules to run first.
+ * About every {@code reorderInterval} evaluations it sorts the rules by
+ * {@code cost / rejection rate}, so cheap rules that often reject run first and a
+ * rejected order stops as early as it can. Rejection rates decay by half at each
+ * reorder, so the chain follows shifts in traffic. Each evaluation is sampled
+ * with probability one in eight from a thread-local random draw; only sampled
+ * evaluations touch the shared counters, and the reorder is triggered from those
+ * same sampled totals, so unsampled calls write no shared state at all.
+ *
+ * <p>The rejection reason is still deterministic: it is always the reason of the
+ * first rejecting rule in the order the rules were given (the canonical order).
+ * When a rule rejects, any canonically earlier rule that has not run yet is run
+ * before the result is reported. Orders that pass run every rule, whatever the
+ * order.
+ */
+public final class ComplianceRuleChain {
+
+    public static final int DEFAULT_REORDER_INTERVAL = 4_096;
+
+    private static final int MAX_RULES = Long.SIZE;
+
+    // Rule statistics are kept for one evaluation in eight; rates need no more.
+    static final int DEFAULT_SAMPLE_INTERVAL = 8;
+
+    private final ComplianceRule[] rules;
+    private final LongAdder[] checks;
+    private final LongAdder[] rejections;
+    private final int reorderInterval;
+    private final int sampleInterval;
+    private final int sampleMask;
+    // Sampled checks of the front rule, which every sampled evaluation runs, between reorders.
+    private final long sampledPerReorder;
+
+    private final ReentrantLock reorderLock = new ReentrantLock();
+    private final double[] decayedChecks;     // guarded by reorderLock
+    private final double[] decayedRejections; // guarded by reorderLock
+
+    private volatile int[] runOrder;
+
+    public static ComplianceRuleChain defaults() {
+        return new ComplianceRuleChain(List.of(new ActiveCustomerRule(), new LineItemRule()));
+    }
+
+    public ComplianceRuleChain(List<? extends ComplianceRule> rules) {
+        this(rules, DEFAULT_REORDER_INTERVAL);
+    }
+
+    public ComplianceRuleChain(List<? extends ComplianceRule> rules, int reorderInterval) {
+        this(rules, reorderInterval, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param sampleInterval one evaluation in this many, on average, updates the
+     *                       statistics; a power of two, and 1 samples every call
+     */
+    ComplianceRuleChain(List<? extends ComplianceRule> rules, int reorderInterval, int sampleInterval) {
+        if (rules.isEmpty() || rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("A rule chain needs between 1 and " + MAX_RULES + " rules");
+        }
+        if (reorderInterval <= 0) {
+            throw new IllegalArgumentException("Reorder interval must be positive");
+        }
+        if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a positive power of two: " + sampleInterval);
+        }
+        int count = rules.size();
+        this.rules = rules.toArray(new ComplianceRule[0]);
+        this.checks = new LongAdder[count];
+        this.rejections = new LongAdder[count];
+        this.decayedChecks = new double[count];
+        this.decayedRejections = new double[count];
+        this.runOrder = new int[count];
+        for (int i = 0; i < count; i++) {
+            checks[i] = new LongAdder();
+            rejections[i] = new LongAdder();
+            runOrder[i] = i;
+        }
+        this.reorderInterval = reorderInterval;
+        this.sampleInterval = sampleInterval;
+        this.sampleMask = sampleInterval - 1;
+        this.sampledPerReorder = Math.max(1, reorderInterval / sampleInterval);
+    }
+
+    /**
+     * Adds {@code rule} after the existing rules in canonical order, so the
+     * reasons it reports never take precedence over theirs.
+     */
+    public ComplianceRuleChain with(ComplianceRule rule) {
+        List<ComplianceRule> extended = new ArrayList<>(Arrays.asList(rules));
+        extended.add(rule);
+        return new ComplianceRuleChain(extended, reorderInterval, sampleInterval);
+    }
+
+    public ValidationResult evaluate(Order order, Customer customer, ValidationResult result) {
+        result.reset();
+        boolean sampled = sampleMask == 0 || (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+
+        int[] current = runOrder;
+        long evaluated = 0;
+        long rejecting = 0;
+        int rejectedBy = -1;
+        RejectionReason reason = null;
+        for (int index : current) {
+            evaluated |= 1L << index;
+            reason = rules[index].check(order, customer, result);
+            if (reason != null) {
+                rejecting = 1L << index;
+                rejectedBy = index;
+                break;
+            }
+        }
+
+        if (reason != null) {
+            for (int index = 0; index < rejectedBy; index++) {
+                if ((evaluated & (1L << index)) == 0) {
+                    evaluated |= 1L << index;
+                    RejectionReason earlier = rules[index].check(order, customer, result);
+                    if (earlier != null) {
+                        rejecting |= 1L << index;
+                        reason = earlier;
+                        break;
+                    }
+                }
+            }
+            result.reject(reason);
+        }
+
+        // One branch for all the bookkeeping: the draw is random, so it mispredicts
+        // on the sampled calls, and more branches on it would each cost that again.
+        if (sampled) {
+            record(evaluated, rejecting, current[0]);
+        }
+        return result;
+    }
+
+    /**
+     * Takes an order that {@link #evaluate} passed out of every limit the rules
+     * keep, as it is accepted; see {@link ComplianceRule#reserve}. If one limit is
+     * reached, what the other rules took is given back and the reason that rule's
+     * check now gives is returned; otherwise {@code null}.
+     */
+    public RejectionReason reserve(Order order, Customer customer) {
+        return reserveFrom(0, order, customer);
+    }
+
+    /** Re-sorts the rules from the rejection rates observed since the last reorder. */
+    public void reorder() {
+        if (!reorderLock.tryLock()) {
+            return;
+        }
+        try {
+            double[] score = new double[rules.length];
+            Integer[] order = new Integer[rules.length];
+            for (int i = 0; i < rules.length; i++) {
+                decayedChecks[i] = decayedChecks[i] / 2 + checks[i].sumThenReset();
+                decayedRejections[i] = decayedRejections[i] / 2 + rejections[i].sumThenReset();
+                // Laplace-smoothed, so a rule that has not rejected yet still ranks by cost.
+                double rejectionRate = (decayedRejections[i] + 1) / (decayedChecks[i] + 2);
+                score[i] = Math.max(1, rules[i].cost()) / rejectionRate;
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> score[i]).thenComparingInt(i -> i));
+
+            int[] next = new int[rules.length];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = order[i];
+            }
+            runOrder = next;
+        } finally {
+            reorderLock.unlock();
+        }
+    }
+
+    /** The rules in the order they currently run. */
+    public List<ComplianceRule> currentOrder() {
+        List<ComplianceRule> current = new ArrayList<>(rules.length);
+        for (int index : runOrder) {
+            current.add(rules[index]);
+        }
+        return current;
+    }
+
+    // Recursive so each rule's token stays on the stack until the later rules are done.
+    private RejectionReason reserveFrom(int index, Order order, Customer customer) {
+        if (index == rules.length) {
+            return null;
+        }
+        ComplianceRule rule = rules[index];
+        long token;
+        while ((token = rule.reserve(order, customer)) == ComplianceRule.REJECTED) {
+            RejectionReason reason = rule.check(order, customer, new ValidationResult());
+            if (reason != null) {
+                return reason;
+            }
+            // The limit freed up between the two calls; try again.
+        }
+        RejectionReason reason = reserveFrom(index + 1, order, customer);
+        if (reason != null) {
+            rule.release(order, customer, token);
+        }
+        return reason;
+    }
+
+    private void record(long evaluated, long rejecting, int front) {
+        for (long remaining = evaluated; remaining != 0; remaining &= remaining - 1) {
+            checks[Long.numberOfTrailingZeros(remaining)].increment();
+        }
+        for (long remaining = rejecting; remaining != 0; remaining &= remaining - 1) {
+            rejections[Long.numberOfTrailingZeros(remaining)].increment();
+        }
+        if (checks[front].sum() >= sampledPerReorder) {
+            reorder();
+        }
+    }
+}
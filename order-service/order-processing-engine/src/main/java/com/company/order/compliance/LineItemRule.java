@@ -0,0 +1,52 @@
+package com.company.order.compliance;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderLines;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+import com.company.order.pricing.Money;
+
+/**
+ * Checks line prices and quantities and the order total from the aggregates
+ * {@link OrderLines} maintains, so the check takes constant time whatever the
+ * number of lines, and records the total on the result. Covers
+ * {@link RejectionReason#NO_ITEMS}, {@link RejectionReason#INVALID_PRICE},
+ * {@link RejectionReason#INVALID_QUANTITY} and
+ * {@link RejectionReason#LIMIT_EXCEEDED}.
+ */
+public final class LineItemRule implements ComplianceRule {
+
+    public static final long DEFAULT_MAX_ORDER_TOTAL_PAISE = 5_00_000 * Money.PAISE_PER_RUPEE;
+
+    private final long maxOrderTotalPaise;
+
+    public LineItemRule() {
+        this(DEFAULT_MAX_ORDER_TOTAL_PAISE);
+    }
+
+    public LineItemRule(long maxOrderTotalPaise) {
+        this.maxOrderTotalPaise = maxOrderTotalPaise;
+    }
+
+    @Override
+    public int cost() {
+        return 2;
+    }
+
+    @Override
+    public RejectionReason check(Order order, Customer customer, ValidationResult result) {
+        OrderLines lines = order.getLines();
+        if (lines.isEmpty()) {
+            return RejectionReason.NO_ITEMS;
+        }
+        RejectionReason invalidLine = lines.invalidLineReason();
+        if (invalidLine != null) {
+            return invalidLine;
+        }
+
+        long totalPaise = lines.totalPaise();
+        result.total(totalPaise);
+        return totalPaise > maxOrderTotalPaise ? RejectionReason.LIMIT_EXCEEDED : null;
+    }
+}
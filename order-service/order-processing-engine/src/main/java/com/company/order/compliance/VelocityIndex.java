@@ -0,0 +1,312 @@
+package com.company.order.compliance;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-customer order count and spend over a sliding window, for rolling limits
+ * such as "orders per minute" or "spend per day". The window is split into
+ * {@code bucketCount} time buckets held in a ring; each bucket counts with
+ * atomic counters, and nothing takes a lock. A read sums only the current bucket;
+ * the total of the earlier buckets in the window is computed once per bucket
+ * period and cached. {@link #tryReserve} compares and adds on the current bucket
+ * in one step, so concurrent orders can never take a customer past a limit.
+ *
+ * <p>A bucket is replaced when its slot comes round again, and a customer with no
+ * orders for a whole window is dropped by {@link #expireIdle()} (or the sweeper
+ * started with {@link #startSweeper}), so memory is bounded by the customers
+ * active within one window.
+ */
+public final class VelocityIndex {
+
+    /** Returned by {@link #tryReserve} when the order would pass a limit. */
+    public static final long NOT_RESERVED = Long.MIN_VALUE;
+
+    // Marks a window removed by the sweeper; recorders then start a fresh one.
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final LongSupplier millisClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public VelocityIndex(Duration window, int bucketCount) {
+        this(window, bucketCount, System::currentTimeMillis);
+    }
+
+    public VelocityIndex(Duration window, int bucketCount, LongSupplier millisClock) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive");
+        }
+        if (window.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per bucket");
+        }
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.bucketCount = bucketCount;
+        this.millisClock = millisClock;
+    }
+
+    /** Counts one order of {@code spendPaise} for {@code customerId} at the current time. */
+    public void record(String customerId, long spendPaise) {
+        while (true) {
+            long epoch = currentEpoch();
+            Bucket bucket = window(customerId, epoch).bucket(epoch);
+            if (bucket != null) {
+                bucket.orders.incrementAndGet();
+                bucket.spendPaise.addAndGet(spendPaise);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counts one order of {@code spendPaise} for {@code customerId} only if the
+     * window then holds at most {@code maxOrders} orders and {@code maxSpendPaise}
+     * spend. Each limit is checked and taken with one compare-and-set on the
+     * current bucket, so no interleaving of concurrent reservations passes it;
+     * racing reservations near a limit may both fail rather than both succeed.
+     *
+     * @return the bucket epoch the order was counted in, to pass to
+     *         {@link #release}, or {@link #NOT_RESERVED}, in which case nothing was
+     *         counted
+     */
+    public long tryReserve(String customerId, long spendPaise, long maxOrders, long maxSpendPaise) {
+        while (true) {
+            long epoch = currentEpoch();
+            Window window = window(customerId, epoch);
+            Bucket bucket = window.bucket(epoch);
+            if (bucket == null) {
+                continue;
+            }
+            Totals earlier = window.closedTotals(epoch);
+            if (!addWithin(bucket.orders, 1, maxOrders - earlier.orders)) {
+                return NOT_RESERVED;
+            }
+            if (!addWithin(bucket.spendPaise, spendPaise, maxSpendPaise - earlier.spendPaise)) {
+                bucket.orders.decrementAndGet();
+                return NOT_RESERVED;
+            }
+            // Readers that see the next epoch cache this bucket as closed. If the clock has
+            // moved on, one may have cached it before the add, so take it back and retry;
+            // otherwise every reader of a later epoch sees the add.
+            if (currentEpoch() == epoch) {
+                return epoch;
+            }
+            bucket.orders.decrementAndGet();
+            bucket.spendPaise.addAndGet(-spendPaise);
+            window.closed = null;
+        }
+    }
+
+    /**
+     * Takes back an order that {@link #tryReserve} counted in bucket {@code epoch},
+     * for an order that was not accepted after all. Nothing happens once that
+     * bucket has left the window.
+     */
+    public void release(String customerId, long spendPaise, long epoch) {
+        Window window = windows.get(customerId);
+        if (window != null) {
+            window.release(epoch, spendPaise);
+        }
+    }
+
+    /** Orders counted for {@code customerId} within the window. */
+    public long orderCount(String customerId) {
+        Window window = windows.get(customerId);
+        return window == null ? 0 : window.sum(currentEpoch(), false);
+    }
+
+    /** Spend in paise counted for {@code customerId} within the window. */
+    public long spendPaise(String customerId) {
+        Window window = windows.get(customerId);
+        return window == null ? 0 : window.sum(currentEpoch(), true);
+    }
+
+    /** Drops customers with no orders inside the window. Returns how many were dropped. */
+    public int expireIdle() {
+        long oldestLive = currentEpoch() - bucketCount + 1;
+        int expired = 0;
+        for (Iterator<Window> it = windows.values().iterator(); it.hasNext(); ) {
+            Window window = it.next();
+            if (window.retireIfIdle(oldestLive)) {
+                it.remove();
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Runs {@link #expireIdle()} on {@code scheduler} every {@code period}; cancel
+     * the returned future to stop sweeping.
+     */
+    public ScheduledFuture<?> startSweeper(ScheduledExecutorService scheduler, Duration period) {
+        long periodMillis = period.toMillis();
+        return scheduler.scheduleWithFixedDelay(this::expireIdle, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int trackedCustomers() {
+        return windows.size();
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(millisClock.getAsLong(), bucketMillis);
+    }
+
+    // The customer's live window, created if needed and marked used in this epoch.
+    private Window window(String customerId, long epoch) {
+        while (true) {
+            Window window = windows.get(customerId);
+            if (window == null) {
+                Window created = new Window(bucketCount, epoch);
+                window = windows.putIfAbsent(customerId, created);
+                if (window == null) {
+                    window = created;
+                }
+            }
+            if (window.touch(epoch)) {
+                return window;
+            }
+            windows.remove(customerId, window);
+        }
+    }
+
+    // Adds delta unless the counter would then exceed limit.
+    private static boolean addWithin(AtomicLong counter, long delta, long limit) {
+        while (true) {
+            long current = counter.get();
+            if (limit - current < delta) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + delta)) {
+                return true;
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicReferenceArray<Bucket> buckets;
+        private final AtomicLong lastEpoch;
+        volatile Totals closed;
+
+        Window(int bucketCount, long epoch) {
+            this.buckets = new AtomicReferenceArray<>(bucketCount);
+            this.lastEpoch = new AtomicLong(epoch);
+        }
+
+        // Advances the last-used epoch; false if the sweeper already retired this window.
+        boolean touch(long epoch) {
+            while (true) {
+                long last = lastEpoch.get();
+                if (last == RETIRED) {
+                    return false;
+                }
+                if (last >= epoch || lastEpoch.compareAndSet(last, epoch)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean retireIfIdle(long oldestLiveEpoch) {
+            long last = lastEpoch.get();
+            return last != RETIRED && last < oldestLiveEpoch && lastEpoch.compareAndSet(last, RETIRED);
+        }
+
+        // The bucket counting this epoch, or null if the slot has moved on to a later
+        // epoch, i.e. this thread read the clock a whole window ago.
+        Bucket bucket(long epoch) {
+            int slot = slot(epoch);
+            while (true) {
+                Bucket bucket = buckets.get(slot);
+                if (bucket != null && bucket.epoch == epoch) {
+                    return bucket;
+                }
+                if (bucket != null && bucket.epoch > epoch) {
+                    return null;
+                }
+                buckets.compareAndSet(slot, bucket, new Bucket(epoch));
+            }
+        }
+
+        void release(long epoch, long spendPaise) {
+            Bucket bucket = buckets.get(slot(epoch));
+            if (bucket != null && bucket.epoch == epoch) {
+                bucket.orders.decrementAndGet();
+                bucket.spendPaise.addAndGet(-spendPaise);
+                // The bucket may be closed and cached by now.
+                closed = null;
+            }
+        }
+
+        long sum(long currentEpoch, boolean spend) {
+            Totals earlier = closedTotals(currentEpoch);
+            long total = spend ? earlier.spendPaise : earlier.orders;
+            Bucket bucket = buckets.get(slot(currentEpoch));
+            if (bucket != null && bucket.epoch == currentEpoch) {
+                total += spend ? bucket.spendPaise.get() : bucket.orders.get();
+            }
+            return total;
+        }
+
+        // The buckets before the current one only change when a record() from a thread
+        // that read the clock before the epoch ended adds to them late, which is missed
+        // until the next epoch, within the bucket granularity the window has anyway, or
+        // when an order is taken back, which drops the cache. tryReserve never adds late.
+        Totals closedTotals(long currentEpoch) {
+            Totals cached = closed;
+            if (cached != null && cached.epoch == currentEpoch) {
+                return cached;
+            }
+            long oldestLive = currentEpoch - buckets.length() + 1;
+            long orders = 0;
+            long spendPaise = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && bucket.epoch >= oldestLive && bucket.epoch < currentEpoch) {
+                    orders += bucket.orders.get();
+                    spendPaise += bucket.spendPaise.get();
+                }
+            }
+            Totals totals = new Totals(currentEpoch, orders, spendPaise);
+            closed = totals;
+            return totals;
+        }
+
+        private int slot(long epoch) {
+            return (int) Math.floorMod(epoch, (long) buckets.length());
+        }
+    }
+
+    private static final class Totals {
+
+        final long epoch;
+        final long orders;
+        final long spendPaise;
+
+        Totals(long epoch, long orders, long spendPaise) {
+            this.epoch = epoch;
+            this.orders = orders;
+            this.spendPaise = spendPaise;
+        }
+    }
+
+    private static final class Bucket {
+
+        final long epoch;
+        final AtomicLong orders = new AtomicLong();
+        final AtomicLong spendPaise = new AtomicLong();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.order.compliance;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+/**
+ * Rolling per-customer limits over one {@link VelocityIndex} window: at most
+ * {@code maxOrders} orders and {@code maxSpendPaise} spend, counting the order
+ * being checked. Use one rule per window, e.g. a one-minute order limit and a
+ * one-day spend limit. {@link #check} only reads the window, to turn away orders
+ * cheaply; {@link #reserve} counts an accepted order with a compare-and-set
+ * against both limits, so concurrent orders never take a customer past them.
+ */
+public final class VelocityRule implements ComplianceRule {
+
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final VelocityIndex index;
+    private final long maxOrders;
+    private final long maxSpendPaise;
+
+    public VelocityRule(VelocityIndex index, long maxOrders, long maxSpendPaise) {
+        this.index = index;
+        this.maxOrders = maxOrders;
+        this.maxSpendPaise = maxSpendPaise;
+    }
+
+    @Override
+    public int cost() {
+        return 5;
+    }
+
+    @Override
+    public RejectionReason check(Order order, Customer customer, ValidationResult result) {
+        String customerId = customerIdOf(order, customer);
+        if (customerId == null) {
+            return null;
+        }
+        if (maxOrders != NO_LIMIT && index.orderCount(customerId) >= maxOrders) {
+            return RejectionReason.ORDER_RATE_EXCEEDED;
+        }
+        if (maxSpendPaise != NO_LIMIT
+                && index.spendPaise(customerId) > maxSpendPaise - order.getLines().totalPaise()) {
+            return RejectionReason.SPEND_LIMIT_EXCEEDED;
+        }
+        return null;
+    }
+
+    @Override
+    public long reserve(Order order, Customer customer) {
+        String customerId = customerIdOf(order, customer);
+        if (customerId == null) {
+            return 0;
+        }
+        long epoch = index.tryReserve(customerId, order.getLines().totalPaise(), maxOrders, maxSpendPaise);
+        return epoch == VelocityIndex.NOT_RESERVED ? REJECTED : epoch;
+    }
+
+    @Override
+    public void release(Order order, Customer customer, long token) {
+        String customerId = customerIdOf(order, customer);
+        if (customerId != null) {
+            index.release(customerId, order.getLines().totalPaise(), token);
+        }
+    }
+
+    private static String customerIdOf(Order order, Customer customer) {
+        return order.getCustomerId() != null ? order.getCustomerId() : customer.getCustomerId();
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.order.concurrent;
+
+/**
+ * Point-in-time counters of a {@link SingleFlight}.
+ */
+public final class SingleFlightStats {
+
+    private final long executionCount;
+    private final long sharedCount;
+
+    public SingleFlightStats(long executionCount, long sharedCount) {
+        this.executionCount = executionCount;
+        this.sharedCount = sharedCount;
+    }
+
+    /** Calls that ran the loader. */
+    public long executionCount() {
+        return executionCount;
+    }
+
+    /** Calls answered by joining one already in flight: the backend calls saved. */
+    public long sharedCount() {
+        return sharedCount;
+    }
+
+    public long requestCount() {
+        return executionCount + sharedCount;
+    }
+
+    /** Share of calls that did not reach the loader. */
+    public double savedRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) sharedCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightStats{executions=" + executionCount + ", shared=" + sharedCount + "}";
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.order.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors that start one virtual thread per task when the runtime provides them
+ * (JDK 21+). The module compiles for Java 17, so the JDK 21 factory is looked up
+ * reflectively; on older runtimes each executor falls back to at most
+ * {@value #FALLBACK_MAX_THREADS} daemon platform threads, further tasks queue,
+ * and a warning is logged when such an executor is created.
+ */
+public final class VirtualThreads {
+
+    /** Platform threads a fallback executor runs at most; further tasks wait in its queue. */
+    public static final int FALLBACK_MAX_THREADS = 64;
+
+    private static final long FALLBACK_KEEP_ALIVE_SECONDS = 60;
+    private static final System.Logger LOG = System.getLogger(VirtualThreads.class.getName());
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualExecutorFactory();
+
+    private static final ExecutorService SHARED = newPerTaskExecutor("order-lookup");
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Process-wide per-task executor for blocking calls. Virtual threads need no
+     * shutdown, and the fallback pool uses daemon threads that time out when idle,
+     * so it is never closed.
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    public static ExecutorService newPerTaskExecutor(String threadNamePrefix) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread executor", e);
+            }
+        }
+        LOG.log(System.Logger.Level.WARNING,
+                "Virtual threads are not available on Java {0}; {1} tasks run on at most {2} platform threads",
+                Runtime.version().feature(), threadNamePrefix, FALLBACK_MAX_THREADS);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_MAX_THREADS, FALLBACK_MAX_THREADS,
+                FALLBACK_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                daemonThreads(threadNamePrefix));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory daemonThreads(String threadNamePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, threadNamePrefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.order.events;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+/**
+ * One slot of the {@link OrderEventRing}. Slots are allocated once and reused for
+ * every event that passes through them, so handlers must copy anything they want
+ * to keep beyond {@link OrderEventHandler#onEvent}.
+ */
+public final class OrderEvent {
+
+    public enum Type {
+        /** A new order enters the lifecycle in its current status. */
+        CREATED,
+        /** An existing order moves to {@link #getStatus()}. */
+        TRANSITIONED
+    }
+
+    private long sequence;
+    private Type type;
+    private String orderId;
+    private Order order;
+    private OrderStatus status;
+    private String reason;
+    private long timestampMillis;
+    private boolean applied;
+
+    void created(Order order, long timestampMillis) {
+        set(Type.CREATED, order.getOrderId(), order, order.getStatus(), order.getCancellationReason(), timestampMillis);
+    }
+
+    void transitioned(String orderId, OrderStatus status, String reason, long timestampMillis) {
+        set(Type.TRANSITIONED, orderId, null, status, reason, timestampMillis);
+    }
+
+    private void set(Type type, String orderId, Order order, OrderStatus status, String reason, long timestampMillis) {
+        this.type = type;
+        this.orderId = orderId;
+        this.order = order;
+        this.status = status;
+        this.reason = reason;
+        this.timestampMillis = timestampMillis;
+        this.applied = false;
+    }
+
+    void sequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /** The created order, for {@link Type#CREATED} events only. */
+    public Order getOrder() {
+        return order;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /** Cancellation reason, for transitions to {@link OrderStatus#CANCELLED}. */
+    public String getReason() {
+        return reason;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Whether the event changed order state. Set by {@link OrderStateApplier}; a
+     * transition the lifecycle does not allow, or for an unknown order, is left
+     * unapplied.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    void markApplied() {
+        this.applied = true;
+    }
+
+    // Drops the order reference so a reused slot does not keep it reachable.
+    void clear() {
+        order = null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.order.events;
+
+/**
+ * Receives events in sequence order on the lifecycle's consumer thread.
+ */
+public interface OrderEventHandler {
+
+    /**
+     * @param endOfBatch whether this is the last event currently published, which
+     *                   is a good point to flush buffered work
+     */
+    void onEvent(OrderEvent event, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,256 @@
+package com.company.order.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.company.order.codec.OrderCodec;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Append-only log of the events handled since the latest snapshot, kept in the
+ * snapshot directory so a restart can replay them on top of that snapshot. Each
+ * file is named after the first sequence it may hold and contains records of
+ *
+ * <pre>
+ * int length | long sequence | long timestamp | byte type | body | int crc32c
+ * </pre>
+ *
+ * where {@code length} counts everything from the sequence to the end of the
+ * body, and the body is an {@link OrderCodec} order record for {@code CREATED}
+ * or {@code byte status, orderId, reason} for {@code TRANSITIONED} (strings are
+ * an int UTF-8 length, -1 for null, then the bytes). A record that fails its
+ * checksum ends the replay, which is what a write torn by a crash looks like.
+ *
+ * <p>Records are buffered and written to the file at the end of every consumer
+ * batch, before any of the batch is applied, so they reach the operating system
+ * before the batch changes state and survive a process crash. They are not
+ * forced to disk; snapshots are.
+ */
+final class OrderEventLog implements OrderEventHandler, Closeable {
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES + 1;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final String PREFIX = "events-";
+    private static final String SUFFIX = ".log";
+
+    private static final OrderEvent.Type[] TYPES = OrderEvent.Type.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path directory;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    private FileChannel channel;
+    private long firstSequence = -1;
+
+    OrderEventLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Hands every intact event with a sequence above {@code afterSequence} to
+     * {@code handler}, oldest first, stopping at the first damaged record.
+     *
+     * @return the sequence of the last event handed over, or {@code afterSequence}
+     */
+    long replay(long afterSequence, Consumer<OrderEvent> handler) throws IOException {
+        long last = afterSequence;
+        OrderEvent event = new OrderEvent();
+        for (Path file : logFiles()) {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+            while (content.remaining() >= Integer.BYTES) {
+                int length = content.getInt();
+                if (length < RECORD_HEADER_SIZE - Integer.BYTES || length > content.remaining() - Integer.BYTES
+                        || !checksumMatches(content, length)) {
+                    return last;
+                }
+                ByteBuffer record = content.slice(content.position(), length);
+                content.position(content.position() + length + Integer.BYTES);
+                long sequence = record.getLong();
+                if (sequence <= last) {
+                    continue;
+                }
+                try {
+                    decode(record, event);
+                } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                    throw new IOException("Corrupt order event " + sequence + " in " + file, e);
+                }
+                event.sequence(sequence);
+                handler.accept(event);
+                event.clear();
+                last = sequence;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Starts a new file for events from {@code sequence} on and deletes the older
+     * files. Call it only once every earlier event is in a durable snapshot.
+     */
+    void startAt(long sequence) throws IOException {
+        if (channel != null && sequence == firstSequence) {
+            return;
+        }
+        closeChannel();
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        firstSequence = sequence;
+        for (Path old : logFiles()) {
+            if (!old.equals(file)) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+
+    /**
+     * Buffers the event and writes the batch at its end. If either fails, the
+     * unwritten rest of the batch is dropped, so a later write cannot log events
+     * that were never applied.
+     */
+    @Override
+    public void onEvent(OrderEvent event, boolean endOfBatch) throws IOException {
+        try {
+            append(event);
+            if (endOfBatch) {
+                drain();
+            }
+        } catch (IOException | RuntimeException e) {
+            pending.clear();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private void append(OrderEvent event) {
+        byte[] orderId = null;
+        byte[] reason = null;
+        int bodyLength;
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            bodyLength = OrderCodec.encodedLength(event.getOrder());
+        } else {
+            orderId = utf8(event.getOrderId());
+            reason = utf8(event.getReason());
+            bodyLength = 1 + stringSize(orderId) + stringSize(reason);
+        }
+        ensureCapacity(RECORD_HEADER_SIZE + bodyLength + Integer.BYTES);
+
+        int start = pending.position();
+        pending.putInt(RECORD_HEADER_SIZE - Integer.BYTES + bodyLength)
+                .putLong(event.getSequence())
+                .putLong(event.getTimestampMillis())
+                .put((byte) event.getType().ordinal());
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            OrderCodec.encode(event.getOrder(), pending);
+        } else {
+            pending.put((byte) event.getStatus().ordinal());
+            putString(pending, orderId);
+            putString(pending, reason);
+        }
+        crc.reset();
+        crc.update(pending.slice(start + Integer.BYTES, pending.position() - start - Integer.BYTES));
+        pending.putInt((int) crc.getValue());
+    }
+
+    private static void decode(ByteBuffer record, OrderEvent event) {
+        long timestampMillis = record.getLong();
+        OrderEvent.Type type = TYPES[record.get()];
+        if (type == OrderEvent.Type.CREATED) {
+            event.created(OrderCodec.decode(record), timestampMillis);
+        } else {
+            OrderStatus status = STATUSES[record.get()];
+            String orderId = readString(record);
+            event.transitioned(orderId, status, readString(record), timestampMillis);
+        }
+    }
+
+    private boolean checksumMatches(ByteBuffer content, int length) {
+        crc.reset();
+        crc.update(content.slice(content.position(), length));
+        return (int) crc.getValue() == content.getInt(content.position() + length);
+    }
+
+    private void drain() throws IOException {
+        if (channel == null || pending.position() == 0) {
+            return;
+        }
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+    }
+
+    private void ensureCapacity(int size) {
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.position() + size, pending.capacity() * 2));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // Sorted oldest first; the zero-padded sequence makes name order numeric order.
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.order.events;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The consumer side of an {@link OrderEventRing}. Runs on one thread, hands every
+ * published event to each handler in turn, and releases a whole batch of slots
+ * at once after the last handler has seen it. A handler that throws is counted
+ * and remembered but does not stop the loop, so one bad event cannot stall the
+ * producer.
+ *
+ * <p>An optional journal sees each batch first, ending with {@code endOfBatch},
+ * before any other handler sees any of it. If the journal throws, the batch is
+ * neither handled nor released: the processor stops the ring and returns, so no
+ * event is applied that the journal could not record.
+ */
+final class OrderEventProcessor implements Runnable {
+
+    private final OrderEventRing ring;
+    private final OrderEventHandler journal;
+    private final OrderEventHandler[] handlers;
+
+    private final LongAdder failures = new LongAdder();
+    private volatile Exception lastFailure;
+    private volatile boolean running = true;
+
+    /**
+     * @param journal handler that must record a batch before it is handled, or
+     *                {@code null}
+     */
+    OrderEventProcessor(OrderEventRing ring, OrderEventHandler journal, List<OrderEventHandler> handlers) {
+        this.ring = ring;
+        this.journal = journal;
+        this.handlers = handlers.toArray(new OrderEventHandler[0]);
+    }
+
+    @Override
+    public void run() {
+        long next = ring.consumed() + 1;
+        int idle = 0;
+        while (true) {
+            long available = ring.published();
+            if (available < next) {
+                if (!running) {
+                    return;
+                }
+                idle = OrderEventRing.idle(idle);
+                continue;
+            }
+            idle = 0;
+            if (journal != null && !journal(next, available)) {
+                return;
+            }
+            for (long sequence = next; sequence <= available; sequence++) {
+                OrderEvent event = ring.get(sequence);
+                boolean endOfBatch = sequence == available;
+                for (OrderEventHandler handler : handlers) {
+                    try {
+                        handler.onEvent(event, endOfBatch);
+                    } catch (Exception e) {
+                        failures.increment();
+                        lastFailure = e;
+                    }
+                }
+                event.clear();
+            }
+            ring.markConsumed(available);
+            next = available + 1;
+        }
+    }
+
+    private boolean journal(long first, long last) {
+        for (long sequence = first; sequence <= last; sequence++) {
+            try {
+                journal.onEvent(ring.get(sequence), sequence == last);
+            } catch (Exception e) {
+                failures.increment();
+                lastFailure = e;
+                ring.stop(e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Stops the loop once every event published so far has been handled. */
+    void halt() {
+        running = false;
+    }
+
+    long failureCount() {
+        return failures.sum();
+    }
+
+    Exception lastFailure() {
+        return lastFailure;
+    }
+}
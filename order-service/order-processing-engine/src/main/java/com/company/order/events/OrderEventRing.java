@@ -0,0 +1,119 @@
+package com.company.order.events;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated single-producer, single-consumer ring of {@link OrderEvent}s in the
+ * style of the LMAX Disruptor. The producer claims a sequence, fills the slot and
+ * publishes it with one release store; the consumer follows the published cursor
+ * and releases slots by advancing its own sequence. Nothing is allocated or
+ * locked per event.
+ *
+ * <p>Only one thread may publish. The producer waits when it gets a full ring
+ * ahead of the consumer, and gets {@link IllegalStateException} once the
+ * consumer has {@linkplain #stop stopped} on a failure.
+ */
+final class OrderEventRing {
+
+    private static final int SPINS_BEFORE_YIELD = 100;
+    private static final int YIELDS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final OrderEvent[] slots;
+    private final int mask;
+
+    private final Sequence cursor;
+    private final Sequence consumed;
+
+    private volatile Exception stopCause;
+
+    // Producer-only state.
+    private long claimed;
+    private long cachedConsumed;
+
+    OrderEventRing(int size, long lastSequence) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a positive power of two: " + size);
+        }
+        this.slots = new OrderEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new OrderEvent();
+        }
+        this.mask = size - 1;
+        this.cursor = new Sequence(lastSequence);
+        this.consumed = new Sequence(lastSequence);
+        this.claimed = lastSequence;
+        this.cachedConsumed = lastSequence;
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    /** Claims the next slot, waiting while the ring is full. */
+    long next() {
+        checkRunning();
+        long next = claimed + 1;
+        long wrapPoint = next - slots.length;
+        if (wrapPoint > cachedConsumed) {
+            int idle = 0;
+            long minimum;
+            while (wrapPoint > (minimum = consumed.get())) {
+                checkRunning();
+                idle = idle(idle);
+            }
+            cachedConsumed = minimum;
+        }
+        claimed = next;
+        return next;
+    }
+
+    OrderEvent get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        get(sequence).sequence(sequence);
+        cursor.set(sequence);
+    }
+
+    long published() {
+        return cursor.get();
+    }
+
+    long consumed() {
+        return consumed.get();
+    }
+
+    void markConsumed(long sequence) {
+        consumed.set(sequence);
+    }
+
+    /** Called by a consumer that will not release any more slots. */
+    void stop(Exception cause) {
+        stopCause = cause;
+    }
+
+    Exception stopCause() {
+        return stopCause;
+    }
+
+    private void checkRunning() {
+        Exception cause = stopCause;
+        if (cause != null) {
+            throw new IllegalStateException("Order event consumer has stopped", cause);
+        }
+    }
+
+    /** Spins, then yields, then parks, so an idle side does not burn a core. */
+    static int idle(int idle) {
+        if (idle < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS_BEFORE_YIELD + YIELDS_BEFORE_PARK) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle + 1;
+    }
+}
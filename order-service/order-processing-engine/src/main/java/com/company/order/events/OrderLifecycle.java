@@ -0,0 +1,216 @@
+package com.company.order.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Single-writer order lifecycle. Creations and status changes are published as
+ * events to a preallocated ring and applied, in publish order, by one consumer
+ * thread that owns the order state; extra handlers (audit, notifications) run on
+ * that same thread after the state has been updated. Publishing never locks or
+ * allocates.
+ *
+ * <p>With a snapshot store, every handled event is also appended to an event log
+ * next to the snapshots, and state is snapshotted every {@code snapshotInterval}
+ * events, after which the log starts over. A restart loads the latest snapshot
+ * and replays the logged events after it, so nothing the consumer has handled is
+ * lost to a process crash. Events published but not yet handled are; call
+ * {@link #awaitConsumed} when the caller needs to know an event is logged.
+ * Replayed events rebuild the state only; they are not handed to the extra
+ * handlers again. If the log cannot be written, the consumer stops without
+ * applying the batch it failed on, and publishing and waiting throw
+ * {@link IllegalStateException} from then on.
+ *
+ * <p>Exactly one thread may publish: the first thread to call {@link #create},
+ * {@link #transition} or {@link #cancel} becomes the writer and any other thread
+ * gets {@link IllegalStateException}. Route writes through one thread (or a
+ * queue in front of it) rather than sharing the lifecycle between producers.
+ */
+public class OrderLifecycle implements Closeable {
+
+    private final OrderEventRing ring;
+    private final OrderStateApplier applier;
+    private final OrderEventLog events;
+    private final OrderEventProcessor processor;
+    private final Thread consumer;
+
+    private volatile Thread writer;
+
+    public OrderLifecycle(int ringSize) {
+        this(ringSize, null, Long.MAX_VALUE, List.of());
+    }
+
+    /**
+     * @param snapshots        where to load and write snapshots, or {@code null} to keep
+     *                         state in memory only
+     * @param snapshotInterval events between snapshots
+     * @param handlers         handlers run after the state has been updated
+     */
+    public OrderLifecycle(int ringSize, OrderSnapshotStore snapshots, long snapshotInterval,
+            List<OrderEventHandler> handlers) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        OrderSnapshotStore.Snapshot restored = snapshots == null ? null : loadLatest(snapshots);
+        this.events = snapshots == null ? null : new OrderEventLog(snapshots.directory());
+        this.applier = new OrderStateApplier(snapshots, events, snapshotInterval, restored);
+        long lastSequence = restored == null ? -1 : restored.getSequence();
+        if (events != null) {
+            lastSequence = recover(lastSequence);
+        }
+        this.ring = new OrderEventRing(ringSize, lastSequence);
+
+        List<OrderEventHandler> chain = new ArrayList<>(handlers.size() + 1);
+        chain.add(applier);
+        chain.addAll(handlers);
+        // Each batch is logged and flushed before any of it changes the state.
+        this.processor = new OrderEventProcessor(ring, events, chain);
+        this.consumer = new Thread(processor, "order-lifecycle");
+        this.consumer.setDaemon(true);
+    }
+
+    public OrderLifecycle start() {
+        consumer.start();
+        return this;
+    }
+
+    /** Publishes a new order; it is ignored if an order with the same ID exists. */
+    public long create(Order order) {
+        Objects.requireNonNull(order, "order");
+        long sequence = claim();
+        ring.get(sequence).created(order, System.currentTimeMillis());
+        ring.publish(sequence);
+        return sequence;
+    }
+
+    /**
+     * Publishes a status change. Whether it applies is decided on the consumer
+     * thread against the order's current status; see {@link OrderEvent#isApplied()}.
+     */
+    public long transition(String orderId, OrderStatus status) {
+        if (status == OrderStatus.CANCELLED) {
+            throw new IllegalArgumentException("Use cancel(orderId, reason) to cancel an order");
+        }
+        return publishTransition(orderId, status, null);
+    }
+
+    public long cancel(String orderId, String reason) {
+        return publishTransition(orderId, OrderStatus.CANCELLED, reason);
+    }
+
+    /**
+     * The order as last applied by the consumer. Events published but not yet
+     * consumed are not reflected; call {@link #awaitConsumed} first to read your
+     * own writes.
+     */
+    public Optional<Order> findById(String orderId) {
+        return applier.find(orderId);
+    }
+
+    public int size() {
+        return applier.size();
+    }
+
+    /** Waits until the consumer has handled every event up to {@code sequence}. */
+    public void awaitConsumed(long sequence) {
+        int idle = 0;
+        while (ring.consumed() < sequence) {
+            if (!consumer.isAlive()) {
+                throw new IllegalStateException("Lifecycle consumer is not running", ring.stopCause());
+            }
+            idle = OrderEventRing.idle(idle);
+        }
+    }
+
+    public long lastPublishedSequence() {
+        return ring.published();
+    }
+
+    public long handlerFailures() {
+        return processor.failureCount();
+    }
+
+    public Exception lastHandlerFailure() {
+        return processor.lastFailure();
+    }
+
+    /**
+     * Drains outstanding events, stops the consumer and, when snapshots are
+     * enabled, writes a final snapshot and closes the event log.
+     */
+    @Override
+    public void close() throws IOException {
+        processor.halt();
+        if (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while draining lifecycle events", e);
+            }
+        }
+        try {
+            applier.snapshot(ring.consumed());
+        } finally {
+            if (events != null) {
+                events.close();
+            }
+        }
+    }
+
+    private long publishTransition(String orderId, OrderStatus status, String reason) {
+        Objects.requireNonNull(orderId, "orderId");
+        Objects.requireNonNull(status, "status");
+        long sequence = claim();
+        ring.get(sequence).transitioned(orderId, status, reason, System.currentTimeMillis());
+        ring.publish(sequence);
+        return sequence;
+    }
+
+    private long claim() {
+        Thread current = Thread.currentThread();
+        Thread owner = writer;
+        if (owner != current) {
+            if (owner != null) {
+                throw new IllegalStateException("Lifecycle events must be published by " + owner.getName());
+            }
+            synchronized (this) {
+                if (writer == null) {
+                    writer = current;
+                } else if (writer != current) {
+                    throw new IllegalStateException("Lifecycle events must be published by " + writer.getName());
+                }
+            }
+        }
+        return ring.next();
+    }
+
+    // Replays the logged events after the snapshot, then snapshots the result so the
+    // log can start over from the next sequence.
+    private long recover(long snapshotSequence) {
+        try {
+            long lastSequence = events.replay(snapshotSequence, applier::replay);
+            applier.snapshot(lastSequence);
+            events.startAt(lastSequence + 1);
+            return lastSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay order events", e);
+        }
+    }
+
+    private static OrderSnapshotStore.Snapshot loadLatest(OrderSnapshotStore snapshots) {
+        try {
+            return snapshots.loadLatest().orElse(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load order snapshot", e);
+        }
+    }
+}
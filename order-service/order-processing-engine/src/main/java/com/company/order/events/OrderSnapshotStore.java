@@ -0,0 +1,141 @@
+package com.company.order.events;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.company.order.codec.OrderCodec;
+import com.company.order.model.Order;
+
+/**
+ * Snapshot files of the lifecycle state, one per snapshot, named after the last
+ * event sequence they include. A file holds a header ({@code int magic, long
+ * sequence, int order count}) followed by {@link OrderCodec} order records. Files
+ * are written under a temporary name and moved into place, so a crash never
+ * leaves a half-written snapshot behind; only the newest two are kept.
+ */
+public class OrderSnapshotStore {
+
+    private static final int MAGIC = 0x4F52534E; // "ORSN"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int SNAPSHOTS_KEPT = 2;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    public OrderSnapshotStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    public void write(long sequence, Collection<Order> orders) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+        List<Order> copy = new ArrayList<>(orders);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.clear();
+            buffer.putInt(MAGIC).putLong(sequence).putInt(copy.size());
+            for (Order order : copy) {
+                int length = OrderCodec.encodedLength(order);
+                if (length > buffer.remaining()) {
+                    drain(channel);
+                    if (length > buffer.remaining()) {
+                        throw new IOException("Order is too large for a snapshot: " + order.getOrderId());
+                    }
+                }
+                OrderCodec.encode(order, buffer);
+            }
+            drain(channel);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteOldSnapshots();
+    }
+
+    public Optional<Snapshot> loadLatest() throws IOException {
+        List<Path> files = snapshotFiles();
+        if (files.isEmpty()) {
+            return Optional.empty();
+        }
+        Path latest = files.get(files.size() - 1);
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(latest));
+        if (content.remaining() < HEADER_SIZE || content.getInt() != MAGIC) {
+            throw new IOException("Not an order snapshot: " + latest);
+        }
+        long sequence = content.getLong();
+        int count = content.getInt();
+        List<Order> orders = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                orders.add(OrderCodec.decode(content));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt order snapshot: " + latest, e);
+        }
+        return Optional.of(new Snapshot(sequence, orders));
+    }
+
+    private void drain(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void deleteOldSnapshots() throws IOException {
+        List<Path> files = snapshotFiles();
+        for (int i = 0; i < files.size() - SNAPSHOTS_KEPT; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    // Sorted oldest first; the zero-padded sequence makes name order numeric order.
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /** Orders as of the event with sequence {@link #getSequence()}. */
+    public static final class Snapshot {
+
+        private final long sequence;
+        private final List<Order> orders;
+
+        Snapshot(long sequence, List<Order> orders) {
+            this.sequence = sequence;
+            this.orders = Collections.unmodifiableList(orders);
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public List<Order> getOrders() {
+            return orders;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.order.events;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.company.order.codec.OrderCodec;
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Applies lifecycle events to the current order state and writes a snapshot
+ * every {@code snapshotInterval} events, after which the event log starts over.
+ * It is the only writer of that state, so transitions are applied in event order
+ * without contention; other threads read the orders through {@link #find}.
+ */
+final class OrderStateApplier implements OrderEventHandler {
+
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final OrderSnapshotStore snapshots;
+    private final OrderEventLog events;
+    private final long snapshotInterval;
+
+    private ByteBuffer copyBuffer = ByteBuffer.allocate(1_024);
+    private long eventsSinceSnapshot;
+    private long lastSnapshotSequence;
+
+    OrderStateApplier(OrderSnapshotStore snapshots, OrderEventLog events, long snapshotInterval,
+            OrderSnapshotStore.Snapshot restored) {
+        this.snapshots = snapshots;
+        this.events = events;
+        this.snapshotInterval = snapshotInterval;
+        this.lastSnapshotSequence = restored == null ? -1 : restored.getSequence();
+        if (restored != null) {
+            for (Order order : restored.getOrders()) {
+                orders.put(order.getOrderId(), order);
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, boolean endOfBatch) throws IOException {
+        if (apply(event, true)) {
+            event.markApplied();
+        }
+        eventsSinceSnapshot++;
+        if (snapshots != null && endOfBatch && eventsSinceSnapshot >= snapshotInterval) {
+            snapshot(event.getSequence());
+        }
+    }
+
+    /** Applies an event read back from the log on startup, without snapshotting. */
+    void replay(OrderEvent event) {
+        if (apply(event, false)) {
+            event.markApplied();
+        }
+        eventsSinceSnapshot++;
+    }
+
+    Optional<Order> find(String orderId) {
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    int size() {
+        return orders.size();
+    }
+
+    long lastSnapshotSequence() {
+        return lastSnapshotSequence;
+    }
+
+    void snapshot(long sequence) throws IOException {
+        if (snapshots == null || sequence == lastSnapshotSequence) {
+            return;
+        }
+        snapshots.write(sequence, orders.values());
+        lastSnapshotSequence = sequence;
+        eventsSinceSnapshot = 0;
+        if (events != null) {
+            events.startAt(sequence + 1);
+        }
+    }
+
+    // A published order still belongs to its producer, which may go on changing it,
+    // so it is copied; a replayed one was decoded from the log and is already ours.
+    private boolean apply(OrderEvent event, boolean copy) {
+        if (event.getType() == OrderEvent.Type.CREATED) {
+            if (orders.containsKey(event.getOrderId())) {
+                return false;
+            }
+            orders.put(event.getOrderId(), copy ? copy(event.getOrder()) : event.getOrder());
+            return true;
+        }
+        Order order = orders.get(event.getOrderId());
+        if (order == null) {
+            return false;
+        }
+        return event.getStatus() == OrderStatus.CANCELLED
+                ? order.cancel(event.getReason())
+                : order.transitionTo(event.getStatus());
+    }
+
+    // Round-trips through the codec the log and snapshots use, so the copy holds
+    // exactly what a restart would restore.
+    private Order copy(Order order) {
+        int length = OrderCodec.encodedLength(order);
+        if (copyBuffer.capacity() < length) {
+            copyBuffer = ByteBuffer.allocate(Math.max(length, copyBuffer.capacity() * 2));
+        }
+        copyBuffer.clear();
+        OrderCodec.encode(order, copyBuffer);
+        copyBuffer.flip();
+        return OrderCodec.decode(copyBuffer);
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.order.exception;
+
+/**
+ * Thrown (or used to fail a future) when an order is shed by admission control
+ * before any work is done for it. Shedding happens most under overload, so the
+ * exception carries no stack trace and one shared instance exists per
+ * {@link Reason}: rejecting neither walks the stack nor allocates an exception.
+ */
+public final class AdmissionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /** The customer exceeded their own submission rate. */
+        CUSTOMER_RATE_LIMITED("Customer order rate exceeded"),
+        /** All customers together exceeded the global submission rate. */
+        GLOBAL_RATE_LIMITED("Order rate exceeded"),
+        /** The ingest queue was full. */
+        QUEUE_FULL("Order queue is full"),
+        /** The order waited in the queue longer than allowed. */
+        QUEUE_TIMEOUT("Order waited too long to be processed"),
+        /** The processor is shutting down. */
+        SHUTDOWN("Order processing is shutting down");
+
+        private final AdmissionRejectedException exception;
+
+        Reason(String message) {
+            this.exception = new AdmissionRejectedException(this, message);
+        }
+    }
+
+    private final Reason reason;
+
+    private AdmissionRejectedException(Reason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    public static AdmissionRejectedException of(Reason reason) {
+        return reason.exception;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
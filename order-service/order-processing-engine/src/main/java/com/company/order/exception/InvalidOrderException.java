@@ -1,8 +1,8 @@
-package com.company.order.exception;
-
-public class InvalidOrderException extends RuntimeException {
-
-    public InvalidOrderException(String message) {
-        super(message);
-    }
-}
+package com.company.order.exception;
+
+public class InvalidOrderException extends RuntimeException {
+
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
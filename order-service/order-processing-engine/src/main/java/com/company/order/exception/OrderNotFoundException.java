@@ -1,8 +1,8 @@
-package com.company.order.exception;
-
-public class OrderNotFoundException extends RuntimeException {
-
-    public OrderNotFoundException(String message) {
-        super(message);
-    }
-}
+package com.company.order.exception;
+
+public class OrderNotFoundException extends RuntimeException {
+
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
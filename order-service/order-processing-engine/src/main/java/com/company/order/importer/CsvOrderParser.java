@@ -0,0 +1,91 @@
+package com.company.order.importer;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+
+/**
+ * One order per line:
+ *
+ * <pre>
+ * order_id,customer_id,customer_active,premium,festival_offer,items
+ * ORD-1,CUST-7,true,false,true,499.00:2;1299.50:1
+ * </pre>
+ *
+ * Items are {@code price:quantity} pairs separated by {@code ;}. Fields are not
+ * quoted, so IDs cannot contain commas; an empty ID is read as {@code null}. A
+ * first line starting with {@code order_id} is a header and is skipped.
+ */
+final class CsvOrderParser implements OrderRecordParser {
+
+    static final String HEADER = "order_id,customer_id,customer_active,premium,festival_offer,items";
+
+    private static final int FIELD_COUNT = 6;
+    private static final byte[] HEADER_PREFIX = {'o', 'r', 'd', 'e', 'r', '_', 'i', 'd'};
+
+    @Override
+    public ImportedOrder parse(byte[] data, int offset, int length, long lineNumber) {
+        int end = offset + length;
+        if (lineNumber == 1 && startsWithHeader(data, offset, end)) {
+            return null;
+        }
+
+        int[] bounds = new int[FIELD_COUNT + 1];
+        bounds[0] = offset - 1;
+        int field = 1;
+        for (int i = offset; i < end; i++) {
+            if (data[i] == ',') {
+                if (field == FIELD_COUNT) {
+                    throw new MalformedRecordException("Expected " + FIELD_COUNT + " fields but found more");
+                }
+                bounds[field++] = i;
+            }
+        }
+        if (field != FIELD_COUNT) {
+            throw new MalformedRecordException("Expected " + FIELD_COUNT + " fields but found " + field);
+        }
+        bounds[FIELD_COUNT] = end;
+
+        String orderId = RecordFields.string(data, bounds[0] + 1, bounds[1]);
+        String customerId = RecordFields.string(data, bounds[1] + 1, bounds[2]);
+        boolean active = RecordFields.parseBoolean(data, bounds[2] + 1, bounds[3], "customer_active");
+        boolean premium = RecordFields.parseBoolean(data, bounds[3] + 1, bounds[4], "premium");
+        boolean festival = RecordFields.parseBoolean(data, bounds[4] + 1, bounds[5], "festival_offer");
+
+        Order order = new Order(orderId, customerId);
+        parseItems(data, bounds[5] + 1, end, order);
+        return new ImportedOrder(lineNumber, order, new Customer(customerId, active), premium, festival);
+    }
+
+    private static void parseItems(byte[] data, int from, int to, Order order) {
+        int start = from;
+        while (start < to) {
+            int itemEnd = start;
+            int colon = -1;
+            while (itemEnd < to && data[itemEnd] != ';') {
+                if (data[itemEnd] == ':' && colon < 0) {
+                    colon = itemEnd;
+                }
+                itemEnd++;
+            }
+            if (colon < 0) {
+                throw new MalformedRecordException("Item must be price:quantity: "
+                        + RecordFields.text(data, start, itemEnd));
+            }
+            order.addItem(RecordFields.parseDouble(data, start, colon, "price"),
+                    RecordFields.parseInt(data, colon + 1, itemEnd, "quantity"));
+            start = itemEnd + 1;
+        }
+    }
+
+    private static boolean startsWithHeader(byte[] data, int from, int to) {
+        if (to - from < HEADER_PREFIX.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_PREFIX.length; i++) {
+            if (data[from + i] != HEADER_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.order.importer;
+
+import java.time.Duration;
+
+/** Counts and timing of one {@link OrderFileImporter} run. */
+public final class ImportSummary {
+
+    private final long accepted;
+    private final long rejected;
+    private final long malformed;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ImportSummary(long accepted, long rejected, long malformed, long bytes, long elapsedNanos) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.malformed = malformed;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /** Records that parsed but failed compliance. */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** Records that could not be parsed. */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    public long getRecords() {
+        return accepted + rejected + malformed;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    public double recordsPerSecond() {
+        return getRecords() * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    public double megabytesPerSecond() {
+        return bytes * 1e9 / (1 << 20) / Math.max(1, elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportSummary{records=%d, accepted=%d, rejected=%d, malformed=%d, bytes=%d, "
+                + "elapsed=%.3fs, %.0f records/s, %.1f MB/s}", getRecords(), accepted, rejected, malformed, bytes,
+                elapsedNanos / 1e9, recordsPerSecond(), megabytesPerSecond());
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.order.importer;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+
+/**
+ * One record of an order file: the order, the customer placing it and the
+ * pricing flags, with the line it was read from.
+ */
+public final class ImportedOrder {
+
+    private final long lineNumber;
+    private final Order order;
+    private final Customer customer;
+    private final boolean premiumCustomer;
+    private final boolean festivalOffer;
+
+    public ImportedOrder(long lineNumber, Order order, Customer customer, boolean premiumCustomer,
+            boolean festivalOffer) {
+        this.lineNumber = lineNumber;
+        this.order = order;
+        this.customer = customer;
+        this.premiumCustomer = premiumCustomer;
+        this.festivalOffer = festivalOffer;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public boolean isPremiumCustomer() {
+        return premiumCustomer;
+    }
+
+    public boolean isFestivalOffer() {
+        return festivalOffer;
+    }
+}
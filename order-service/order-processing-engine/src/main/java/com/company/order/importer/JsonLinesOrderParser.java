@@ -0,0 +1,355 @@
+package com.company.order.importer;
+
+import java.nio.charset.StandardCharsets;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+
+/**
+ * One JSON object per line:
+ *
+ * <pre>
+ * {"orderId":"ORD-1","customerId":"CUST-7","active":true,"premium":false,
+ *  "festivalOffer":true,"items":[{"price":499.00,"quantity":2}]}
+ * </pre>
+ *
+ * {@code active} is required; {@code premium} and {@code festivalOffer} default
+ * to {@code false}, the IDs to {@code null} and {@code items} to none. Unknown
+ * fields are skipped.
+ */
+final class JsonLinesOrderParser implements OrderRecordParser {
+
+    private static final byte[] ORDER_ID = key("orderId");
+    private static final byte[] CUSTOMER_ID = key("customerId");
+    private static final byte[] ACTIVE = key("active");
+    private static final byte[] PREMIUM = key("premium");
+    private static final byte[] FESTIVAL_OFFER = key("festivalOffer");
+    private static final byte[] ITEMS = key("items");
+    private static final byte[] PRICE = key("price");
+    private static final byte[] QUANTITY = key("quantity");
+
+    @Override
+    public ImportedOrder parse(byte[] data, int offset, int length, long lineNumber) {
+        Cursor in = new Cursor(data, offset, offset + length);
+        String orderId = null;
+        String customerId = null;
+        Boolean active = null;
+        boolean premium = false;
+        boolean festival = false;
+        int itemsAt = -1;
+
+        in.expect('{');
+        if (!in.consume('}')) {
+            do {
+                int keyStart = in.stringStart();
+                int keyEnd = in.stringEnd();
+                in.expect(':');
+                if (in.keyIs(keyStart, keyEnd, ORDER_ID)) {
+                    orderId = in.nullableString();
+                } else if (in.keyIs(keyStart, keyEnd, CUSTOMER_ID)) {
+                    customerId = in.nullableString();
+                } else if (in.keyIs(keyStart, keyEnd, ACTIVE)) {
+                    active = in.bool("active");
+                } else if (in.keyIs(keyStart, keyEnd, PREMIUM)) {
+                    premium = in.bool("premium");
+                } else if (in.keyIs(keyStart, keyEnd, FESTIVAL_OFFER)) {
+                    festival = in.bool("festivalOffer");
+                } else if (in.keyIs(keyStart, keyEnd, ITEMS)) {
+                    // The IDs may come later in the line; parse the items once the order exists.
+                    itemsAt = in.position;
+                    in.skipValue(0);
+                } else {
+                    in.skipValue(0);
+                }
+            } while (in.consume(','));
+            in.expect('}');
+        }
+        in.expectEnd();
+        if (active == null) {
+            throw new MalformedRecordException("Missing field: active");
+        }
+
+        Order order = new Order(orderId, customerId);
+        if (itemsAt >= 0) {
+            in.position = itemsAt;
+            parseItems(in, order);
+        }
+        return new ImportedOrder(lineNumber, order, new Customer(customerId, active), premium, festival);
+    }
+
+    private static void parseItems(Cursor in, Order order) {
+        in.expect('[');
+        if (in.consume(']')) {
+            return;
+        }
+        do {
+            double price = Double.NaN;
+            int quantity = 0;
+            boolean hasPrice = false;
+            boolean hasQuantity = false;
+            in.expect('{');
+            if (!in.consume('}')) {
+                do {
+                    int keyStart = in.stringStart();
+                    int keyEnd = in.stringEnd();
+                    in.expect(':');
+                    if (in.keyIs(keyStart, keyEnd, PRICE)) {
+                        int from = in.numberStart();
+                        price = RecordFields.parseDouble(in.data, from, in.numberEnd(), "price");
+                        hasPrice = true;
+                    } else if (in.keyIs(keyStart, keyEnd, QUANTITY)) {
+                        int from = in.numberStart();
+                        quantity = RecordFields.parseInt(in.data, from, in.numberEnd(), "quantity");
+                        hasQuantity = true;
+                    } else {
+                        in.skipValue(0);
+                    }
+                } while (in.consume(','));
+                in.expect('}');
+            }
+            if (!hasPrice || !hasQuantity) {
+                throw new MalformedRecordException("Item must have a price and a quantity");
+            }
+            order.addItem(price, quantity);
+        } while (in.consume(','));
+        in.expect(']');
+    }
+
+    private static byte[] key(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Reads JSON tokens from one line. Structure errors are {@link MalformedRecordException}s. */
+    private static final class Cursor {
+
+        // Nesting allowed inside skipped values.
+        private static final int MAX_DEPTH = 32;
+
+        final byte[] data;
+        private final int start;
+        private final int end;
+        int position;
+
+        Cursor(byte[] data, int from, int to) {
+            this.data = data;
+            this.start = from;
+            this.position = from;
+            this.end = to;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < end && data[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position != end) {
+                throw error("Unexpected content after the record");
+            }
+        }
+
+        /** Consumes the opening quote of a string and returns where its content starts. */
+        int stringStart() {
+            expect('"');
+            return position;
+        }
+
+        /** Consumes the rest of a string and returns where its content ends. */
+        int stringEnd() {
+            while (position < end) {
+                byte b = data[position++];
+                if (b == '"') {
+                    return position - 1;
+                }
+                if (b == '\\') {
+                    position++;
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        boolean keyIs(int from, int to, byte[] key) {
+            if (to - from != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (data[from + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String nullableString() {
+            skipWhitespace();
+            if (literal("null")) {
+                return null;
+            }
+            int from = stringStart();
+            int to = stringEnd();
+            for (int i = from; i < to; i++) {
+                if (data[i] == '\\') {
+                    return unescape(from, to);
+                }
+            }
+            return RecordFields.text(data, from, to);
+        }
+
+        boolean bool(String field) {
+            skipWhitespace();
+            if (literal("true")) {
+                return true;
+            }
+            if (literal("false")) {
+                return false;
+            }
+            throw error("Invalid " + field);
+        }
+
+        int numberStart() {
+            skipWhitespace();
+            return position;
+        }
+
+        int numberEnd() {
+            while (position < end) {
+                byte b = data[position];
+                if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            return position;
+        }
+
+        void skipValue(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("Nested too deeply");
+            }
+            skipWhitespace();
+            if (position == end) {
+                throw error("Expected a value");
+            }
+            byte b = data[position];
+            if (b == '"') {
+                stringStart();
+                stringEnd();
+            } else if (b == '{') {
+                position++;
+                if (!consume('}')) {
+                    do {
+                        stringStart();
+                        stringEnd();
+                        expect(':');
+                        skipValue(depth + 1);
+                    } while (consume(','));
+                    expect('}');
+                }
+            } else if (b == '[') {
+                position++;
+                if (!consume(']')) {
+                    do {
+                        skipValue(depth + 1);
+                    } while (consume(','));
+                    expect(']');
+                }
+            } else if (!literal("true") && !literal("false") && !literal("null")) {
+                int from = position;
+                if (numberEnd() == from) {
+                    throw error("Expected a value");
+                }
+            }
+        }
+
+        private boolean literal(String word) {
+            if (end - position < word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (data[position + i] != word.charAt(i)) {
+                    return false;
+                }
+            }
+            position += word.length();
+            return true;
+        }
+
+        private String unescape(int from, int to) {
+            StringBuilder text = new StringBuilder(to - from);
+            int run = from;
+            for (int i = from; i < to; i++) {
+                if (data[i] != '\\') {
+                    continue;
+                }
+                text.append(RecordFields.text(data, run, i));
+                if (i + 1 >= to) {
+                    throw error("Invalid escape");
+                }
+                byte escaped = data[++i];
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        text.append((char) escaped);
+                        break;
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'u':
+                        if (i + 4 >= to) {
+                            throw error("Invalid escape");
+                        }
+                        try {
+                            text.append((char) Integer.parseInt(RecordFields.text(data, i + 1, i + 5), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid escape");
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        throw error("Invalid escape");
+                }
+                run = i + 1;
+            }
+            return text.append(RecordFields.text(data, run, to)).toString();
+        }
+
+        private void skipWhitespace() {
+            while (position < end) {
+                byte b = data[position];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private MalformedRecordException error(String message) {
+            return new MalformedRecordException(message + " at column " + (position + 1 - start));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.order.importer;
+
+import java.util.Arrays;
+
+import com.company.order.model.OrderQuote;
+
+/**
+ * A run of whole lines read from an order file, and the outcome of each once a
+ * worker has processed it. Batches are reused; the line bytes are copied into
+ * {@link #data} once, straight from the file channel.
+ */
+final class LineBatch {
+
+    // Marks a line too long to fit in a batch; its bytes were skipped.
+    static final int TOO_LONG = -1;
+
+    final byte[] data;
+    final int[] starts;
+    final int[] lengths;
+    final long[] lineNumbers;
+    int count;
+
+    final ImportedOrder[] orders;
+    final OrderQuote[] quotes;
+    final String[] errors;
+
+    LineBatch(int bytes, int maxLines) {
+        this.data = new byte[bytes];
+        this.starts = new int[maxLines];
+        this.lengths = new int[maxLines];
+        this.lineNumbers = new long[maxLines];
+        this.orders = new ImportedOrder[maxLines];
+        this.quotes = new OrderQuote[maxLines];
+        this.errors = new String[maxLines];
+    }
+
+    boolean isFull() {
+        return count == starts.length;
+    }
+
+    void add(int start, int length, long lineNumber) {
+        starts[count] = start;
+        lengths[count] = length;
+        lineNumbers[count] = lineNumber;
+        count++;
+    }
+
+    void clear() {
+        Arrays.fill(orders, 0, count, null);
+        Arrays.fill(quotes, 0, count, null);
+        Arrays.fill(errors, 0, count, null);
+        count = 0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.order.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Splits a file into {@link LineBatch}es of whole lines, reading the channel
+ * directly into each batch's buffer. A line cut off at the end of a buffer is
+ * carried over to the next batch. {@code \n} and {@code \r\n} both end a line;
+ * blank lines are skipped but counted. A line that does not fit in a batch is
+ * recorded as {@link LineBatch#TOO_LONG} and its bytes are skipped. Not
+ * thread-safe.
+ */
+final class LineReader {
+
+    private final FileChannel channel;
+    private final byte[] carry;
+    private int carryLength;
+    private boolean endOfFile;
+    private boolean skippingLongLine;
+    private long lineNumber;
+    private long bytesRead;
+
+    LineReader(FileChannel channel, int batchBytes) {
+        this.channel = channel;
+        this.carry = new byte[batchBytes];
+    }
+
+    /** Fills {@code batch} with the next lines, or returns {@code null} at the end of the file. */
+    LineBatch next(LineBatch batch) throws IOException {
+        batch.clear();
+        byte[] data = batch.data;
+        System.arraycopy(carry, 0, data, 0, carryLength);
+        int filled = carryLength;
+        carryLength = 0;
+        if (endOfFile && filled == 0) {
+            return null;
+        }
+
+        ByteBuffer target = ByteBuffer.wrap(data, filled, data.length - filled);
+        while (!endOfFile && target.hasRemaining()) {
+            int read = channel.read(target);
+            if (read < 0) {
+                endOfFile = true;
+            } else {
+                bytesRead += read;
+            }
+        }
+        filled = target.position();
+
+        int lineStart = 0;
+        for (int i = 0; i < filled && !batch.isFull(); i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            if (skippingLongLine) {
+                skippingLongLine = false;
+            } else {
+                addLine(batch, data, lineStart, i);
+            }
+            lineStart = i + 1;
+        }
+
+        int tail = filled - lineStart;
+        if (skippingLongLine) {
+            // Still inside an over-long line; drop what was read of it.
+            return batch;
+        }
+        if (tail == data.length) {
+            lineNumber++;
+            batch.add(0, LineBatch.TOO_LONG, lineNumber);
+            skippingLongLine = true;
+        } else if (endOfFile && tail > 0 && !batch.isFull()) {
+            // The last line has no line break.
+            addLine(batch, data, lineStart, filled);
+        } else {
+            System.arraycopy(data, lineStart, carry, 0, tail);
+            carryLength = tail;
+        }
+        return batch;
+    }
+
+    long bytesRead() {
+        return bytesRead;
+    }
+
+    private void addLine(LineBatch batch, byte[] data, int from, int to) {
+        lineNumber++;
+        if (to > from && data[to - 1] == '\r') {
+            to--;
+        }
+        if (to > from) {
+            batch.add(from, to - from, lineNumber);
+        }
+    }
+}
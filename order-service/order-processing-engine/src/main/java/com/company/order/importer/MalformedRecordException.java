@@ -0,0 +1,12 @@
+package com.company.order.importer;
+
+/**
+ * A record that cannot be parsed into an order. Thrown per line and reported,
+ * never propagated out of an import, so it carries no stack trace.
+ */
+final class MalformedRecordException extends RuntimeException {
+
+    MalformedRecordException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.order.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/** Record formats {@link OrderFileImporter} reads; both are one order per line. */
+public enum OrderFileFormat {
+
+    /** See {@link CsvOrderParser} for the columns. */
+    CSV(new CsvOrderParser()),
+    /** One JSON object per line; see {@link JsonLinesOrderParser} for the fields. */
+    JSON_LINES(new JsonLinesOrderParser());
+
+    private final OrderRecordParser parser;
+
+    OrderFileFormat(OrderRecordParser parser) {
+        this.parser = parser;
+    }
+
+    OrderRecordParser parser() {
+        return parser;
+    }
+
+    /** The format for a {@code .csv}, {@code .jsonl} or {@code .ndjson} file name. */
+    public static OrderFileFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Cannot tell the order file format from the name: " + file);
+    }
+}
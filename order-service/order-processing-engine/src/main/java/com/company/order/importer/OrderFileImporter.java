@@ -0,0 +1,198 @@
+package com.company.order.importer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.company.order.model.OrderQuote;
+import com.company.order.model.RejectionReason;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderQuoteService;
+import com.company.order.service.PricingService;
+
+/**
+ * Streams an order file of any size through validation and pricing. The calling
+ * thread reads the file in {@link LineBatch}es of whole lines through a
+ * {@link FileChannel}; {@code workers} threads parse each batch and quote its
+ * orders with {@link OrderQuoteService}; the calling thread then hands the
+ * outcomes to the {@link OrderImportSink} in file order. At most two batches per
+ * worker are in flight, so memory stays at a few batches whatever the file size,
+ * and reading waits when the workers or the sink fall behind.
+ *
+ * <p>A record that cannot be parsed is reported as {@value #MALFORMED_RECORD}
+ * and the import carries on. A worker reserves each order it accepts with
+ * {@link ComplianceService#reserve} before checking the next line, as
+ * {@link com.company.order.service.OrderServiceImpl#createOrders} does, so rolling
+ * limits such as {@link com.company.order.compliance.VelocityRule} hold across the
+ * lines of a batch and across workers.
+ */
+public class OrderFileImporter {
+
+    public static final String MALFORMED_RECORD = "MALFORMED_RECORD";
+    public static final int DEFAULT_BATCH_BYTES = 1 << 20;
+
+    // Lines per batch are capped at one per this many bytes; shorter lines just make more batches.
+    private static final int MIN_AVERAGE_LINE_BYTES = 16;
+    private static final int BATCHES_PER_WORKER = 2;
+    private static final AtomicInteger IMPORTS = new AtomicInteger();
+
+    private final ComplianceService complianceService;
+    private final OrderQuoteService quoteService;
+    private final int workers;
+    private final int batchBytes;
+
+    public OrderFileImporter(ComplianceService complianceService, PricingService pricingService) {
+        this(complianceService, pricingService, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_BYTES);
+    }
+
+    public OrderFileImporter(ComplianceService complianceService, PricingService pricingService, int workers,
+            int batchBytes) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (batchBytes < MIN_AVERAGE_LINE_BYTES) {
+            throw new IllegalArgumentException("Batch must hold at least " + MIN_AVERAGE_LINE_BYTES + " bytes");
+        }
+        this.complianceService = complianceService;
+        this.quoteService = new OrderQuoteService(complianceService, pricingService);
+        this.workers = workers;
+        this.batchBytes = batchBytes;
+    }
+
+    /** Imports {@code file}, telling the format from its name with {@link OrderFileFormat#of}. */
+    public ImportSummary importFile(Path file, OrderImportSink sink) throws IOException {
+        return importFile(file, OrderFileFormat.of(file), sink);
+    }
+
+    /**
+     * Imports {@code file}. An {@link IOException} from the file or the sink, or an
+     * unexpected exception from validation, stops the import and is rethrown; the
+     * sink has then seen the outcomes of a prefix of the file.
+     */
+    public ImportSummary importFile(Path file, OrderFileFormat format, OrderImportSink sink) throws IOException {
+        long start = System.nanoTime();
+        OrderRecordParser parser = format.parser();
+        Counts counts = new Counts();
+        ExecutorService pool = newWorkerPool();
+        ArrayDeque<Future<LineBatch>> inFlight = new ArrayDeque<>();
+        ArrayDeque<LineBatch> free = new ArrayDeque<>();
+        int window = workers * BATCHES_PER_WORKER;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LineReader reader = new LineReader(channel, batchBytes);
+            while (true) {
+                LineBatch batch = free.isEmpty() ? new LineBatch(batchBytes, batchBytes / MIN_AVERAGE_LINE_BYTES)
+                        : free.poll();
+                if (reader.next(batch) == null) {
+                    break;
+                }
+                inFlight.add(pool.submit(() -> process(batch, parser)));
+                if (inFlight.size() >= window) {
+                    free.add(deliver(inFlight.poll(), sink, counts));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                deliver(inFlight.poll(), sink, counts);
+            }
+            return new ImportSummary(counts.accepted, counts.rejected, counts.malformed, reader.bytesRead(),
+                    System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LineBatch process(LineBatch batch, OrderRecordParser parser) {
+        for (int i = 0; i < batch.count; i++) {
+            if (batch.lengths[i] == LineBatch.TOO_LONG) {
+                batch.errors[i] = "Line is longer than " + (batchBytes - 1) + " bytes";
+                continue;
+            }
+            try {
+                ImportedOrder order = parser.parse(batch.data, batch.starts[i], batch.lengths[i],
+                        batch.lineNumbers[i]);
+                if (order != null) {
+                    batch.orders[i] = order;
+                    OrderQuote quote = quoteService.quote(order.getOrder(), order.getCustomer(),
+                            order.isPremiumCustomer(), order.isFestivalOffer());
+                    if (quote.isAccepted()) {
+                        RejectionReason reason = complianceService.reserve(order.getOrder(), order.getCustomer());
+                        if (reason != null) {
+                            quote = OrderQuote.rejected(reason, quote.getTotalPaise());
+                        }
+                    }
+                    batch.quotes[i] = quote;
+                }
+            } catch (MalformedRecordException e) {
+                batch.errors[i] = e.getMessage();
+            }
+        }
+        return batch;
+    }
+
+    private LineBatch deliver(Future<LineBatch> pending, OrderImportSink sink, Counts counts) throws IOException {
+        LineBatch batch = await(pending);
+        for (int i = 0; i < batch.count; i++) {
+            ImportedOrder order = batch.orders[i];
+            OrderQuote quote = batch.quotes[i];
+            if (batch.errors[i] != null) {
+                sink.rejected(batch.lineNumbers[i], MALFORMED_RECORD, batch.errors[i]);
+                counts.malformed++;
+            } else if (order == null) {
+                continue;
+            } else if (quote.isAccepted()) {
+                sink.accepted(order, quote);
+                counts.accepted++;
+            } else {
+                sink.rejected(batch.lineNumbers[i], quote.getRejectionReason().name(), order.getOrder().getOrderId());
+                counts.rejected++;
+            }
+        }
+        batch.clear();
+        return batch;
+    }
+
+    private static LineBatch await(Future<LineBatch> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing orders");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private ExecutorService newWorkerPool() {
+        String prefix = "order-import-" + IMPORTS.incrementAndGet() + "-";
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, prefix + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static final class Counts {
+        long accepted;
+        long rejected;
+        long malformed;
+    }
+}
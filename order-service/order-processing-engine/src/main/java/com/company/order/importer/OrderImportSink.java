@@ -0,0 +1,22 @@
+package com.company.order.importer;
+
+import java.io.IOException;
+
+import com.company.order.model.OrderQuote;
+
+/**
+ * Receives the outcome of every record of an import, in file order and from one
+ * thread at a time.
+ */
+public interface OrderImportSink {
+
+    void accepted(ImportedOrder order, OrderQuote quote) throws IOException;
+
+    /**
+     * A record that failed compliance ({@code reason} is the
+     * {@link com.company.order.model.RejectionReason} name and {@code detail} the
+     * order ID) or could not be parsed ({@code reason} is
+     * {@value OrderFileImporter#MALFORMED_RECORD} and {@code detail} says why).
+     */
+    void rejected(long lineNumber, String reason, String detail) throws IOException;
+}
@@ -0,0 +1,183 @@
+package com.company.order.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.company.order.model.OrderQuote;
+
+/**
+ * Writes an import's outcome as two CSV files: accepted orders with their pricing,
+ *
+ * <pre>
+ * line,order_id,customer_id,total_paise,discount_percent,gst_paise
+ * </pre>
+ *
+ * and the rejection report,
+ *
+ * <pre>
+ * line,reason,detail
+ * </pre>
+ *
+ * Fields containing a comma, quote or line break are quoted. Existing files are
+ * replaced.
+ */
+public class OrderImportWriter implements OrderImportSink, Closeable {
+
+    static final String ACCEPTED_HEADER = "line,order_id,customer_id,total_paise,discount_percent,gst_paise";
+    static final String REJECTED_HEADER = "line,reason,detail";
+
+    private static final int BUFFER_SIZE = 256 << 10;
+
+    private final CsvFile acceptedFile;
+    private final CsvFile rejectedFile;
+
+    public OrderImportWriter(Path acceptedOrders, Path rejectionReport) throws IOException {
+        this.acceptedFile = new CsvFile(acceptedOrders, ACCEPTED_HEADER);
+        CsvFile report;
+        try {
+            report = new CsvFile(rejectionReport, REJECTED_HEADER);
+        } catch (IOException e) {
+            acceptedFile.close();
+            throw e;
+        }
+        this.rejectedFile = report;
+    }
+
+    @Override
+    public void accepted(ImportedOrder order, OrderQuote quote) throws IOException {
+        acceptedFile.number(order.getLineNumber()).comma()
+                .field(order.getOrder().getOrderId()).comma()
+                .field(order.getOrder().getCustomerId()).comma()
+                .number(quote.getTotalPaise()).comma()
+                .number(quote.getDiscountPercent()).comma()
+                .number(quote.getGstPaise()).endLine();
+    }
+
+    @Override
+    public void rejected(long lineNumber, String reason, String detail) throws IOException {
+        rejectedFile.number(lineNumber).comma()
+                .field(reason).comma()
+                .field(detail).endLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            acceptedFile.close();
+        } finally {
+            rejectedFile.close();
+        }
+    }
+
+    private static final class CsvFile {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final byte[] digits = new byte[20];
+
+        CsvFile(Path file, String header) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            bytes(header.getBytes(StandardCharsets.US_ASCII)).endLine();
+        }
+
+        CsvFile comma() throws IOException {
+            return put((byte) ',');
+        }
+
+        void endLine() throws IOException {
+            put((byte) '\n');
+        }
+
+        CsvFile number(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                return bytes(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            }
+            if (value < 0) {
+                put((byte) '-');
+                value = -value;
+            }
+            int index = digits.length;
+            do {
+                digits[--index] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            ensure(digits.length - index);
+            buffer.put(digits, index, digits.length - index);
+            return this;
+        }
+
+        CsvFile field(String value) throws IOException {
+            if (value == null) {
+                return this;
+            }
+            boolean quote = false;
+            boolean ascii = true;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    quote = true;
+                } else if (c >= 0x80) {
+                    ascii = false;
+                }
+            }
+            if (quote) {
+                return bytes(('"' + value.replace("\"", "\"\"") + '"').getBytes(StandardCharsets.UTF_8));
+            }
+            if (!ascii || value.length() > BUFFER_SIZE) {
+                return bytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+            return this;
+        }
+
+        void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private CsvFile bytes(byte[] value) throws IOException {
+            int offset = 0;
+            while (offset < value.length) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(buffer.remaining(), value.length - offset);
+                buffer.put(value, offset, chunk);
+                offset += chunk;
+            }
+            return this;
+        }
+
+        private CsvFile put(byte b) throws IOException {
+            ensure(1);
+            buffer.put(b);
+            return this;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.order.importer;
+
+/**
+ * Parses one line of an order file. Implementations are stateless and shared by
+ * the import workers.
+ */
+interface OrderRecordParser {
+
+    /**
+     * Parses the line in {@code data[offset, offset + length)}, without its line
+     * terminator.
+     *
+     * @return the order, or {@code null} for a line that holds no record, such as
+     *         a header
+     * @throws MalformedRecordException if the line is not a valid record
+     */
+    ImportedOrder parse(byte[] data, int offset, int length, long lineNumber);
+}
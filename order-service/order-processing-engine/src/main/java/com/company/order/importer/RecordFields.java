@@ -0,0 +1,153 @@
+package com.company.order.importer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Field parsing straight from the bytes of a line, without going through a
+ * {@code String} for the numbers.
+ */
+final class RecordFields {
+
+    // Decimals with at most this many digits are exact as a long and as a double.
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_DIGITS + 1];
+
+    static {
+        double power = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private RecordFields() {
+    }
+
+    /** The UTF-8 text in {@code [from, to)}, or {@code null} if it is empty. */
+    static String string(byte[] data, int from, int to) {
+        return from == to ? null : new String(data, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    static boolean parseBoolean(byte[] data, int from, int to, String field) {
+        if (matches(data, from, to, "true")) {
+            return true;
+        }
+        if (matches(data, from, to, "false")) {
+            return false;
+        }
+        throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+    }
+
+    static int parseInt(byte[] data, int from, int to, String field) {
+        int i = from;
+        boolean negative = i < to && data[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == to) {
+            throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a decimal such as {@code 1299.50} or {@code 1.5e3}: an optional minus,
+     * digits, optionally a point and more digits, optionally an exponent. Anything
+     * else {@link Double#parseDouble} would take (NaN, Infinity, hex, type
+     * suffixes, surrounding spaces), and values too large for a double, are
+     * malformed. Plain decimals of up to 15 digits are divided by an exact power
+     * of ten, which rounds the same way as {@link Double#parseDouble}; the rest
+     * are checked here and then handed to it.
+     */
+    static double parseDouble(byte[] data, int from, int to, String field) {
+        int i = from;
+        boolean negative = i < to && data[i] == '-';
+        if (negative) {
+            i++;
+        }
+        // Only the first MAX_FAST_DIGITS digits are accumulated, so the mantissa
+        // cannot overflow; longer numbers take the slow path.
+        long mantissa = 0;
+        int digits = 0;
+        int integerDigits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b >= '0' && b <= '9') {
+                if (digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                }
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                } else {
+                    integerDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (integerDigits == 0 || fractionDigits == 0) {
+            throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+        }
+        if (i == to && digits <= MAX_FAST_DIGITS) {
+            double value = fractionDigits < 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+
+        if (i < to && (data[i] == 'e' || data[i] == 'E')) {
+            i++;
+            if (i < to && (data[i] == '+' || data[i] == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < to && data[i] >= '0' && data[i] <= '9'; i++) {
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+            }
+        }
+        if (i != to) {
+            throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+        }
+        double value = Double.parseDouble(text(data, from, to));
+        if (Double.isInfinite(value)) {
+            throw new MalformedRecordException("Invalid " + field + ": " + text(data, from, to));
+        }
+        return value;
+    }
+
+    static String text(byte[] data, int from, int to) {
+        return new String(data, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static boolean matches(byte[] data, int from, int to, String ascii) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (data[from + i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
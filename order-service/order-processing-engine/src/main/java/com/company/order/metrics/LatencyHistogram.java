@@ -0,0 +1,79 @@
+package com.company.order.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with log-linear buckets in the style of
+ * HdrHistogram: values below 32 ns get a bucket each, and every power of two
+ * above that is split into 16 equal sub-buckets, so a recorded value is off by
+ * at most 1/16 (6.25%). Values above {@link #MAX_TRACKABLE_NANOS} are clamped.
+ *
+ * <p>Every bucket is a {@link LongAdder}, so concurrent recorders update striped
+ * cells instead of contending on one counter, and {@link #record} does not
+ * allocate once the cells exist.
+ */
+public final class LatencyHistogram {
+
+    /** About 18 minutes; longer latencies are recorded as this value. */
+    public static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /** Records {@code count} occurrences of {@code nanos}, e.g. one sample standing for many calls. */
+    public void record(long nanos, long count) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_TRACKABLE_NANOS);
+        buckets[indexOf(value)].add(count);
+        sum.add(value * count);
+        max.accumulate(value);
+    }
+
+    /**
+     * Copies the current counts. Recording may continue concurrently, so the
+     * copy is not an atomic cut across buckets, but every count is monotonic.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new HistogramSnapshot(counts, sum.sum(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        // value >>> shift lies in [16, 32), so each shift owns 16 consecutive indexes
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /** Largest value that maps to {@code index}. */
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
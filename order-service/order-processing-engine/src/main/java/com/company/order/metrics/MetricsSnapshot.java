@@ -0,0 +1,76 @@
+package com.company.order.metrics;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import com.company.order.model.RejectionReason;
+
+/**
+ * Point-in-time copy of all order metrics. {@link #toPrometheusText()} renders
+ * it in the Prometheus text exposition format for a local scraper.
+ */
+public final class MetricsSnapshot {
+
+    private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Map<Operation, HistogramSnapshot> latencies;
+    private final Map<RejectionReason, Long> rejections;
+
+    MetricsSnapshot(Map<Operation, HistogramSnapshot> latencies, Map<RejectionReason, Long> rejections) {
+        this.latencies = Collections.unmodifiableMap(latencies);
+        this.rejections = Collections.unmodifiableMap(rejections);
+    }
+
+    public Map<Operation, HistogramSnapshot> getLatencies() {
+        return latencies;
+    }
+
+    public Map<RejectionReason, Long> getRejections() {
+        return rejections;
+    }
+
+    /** Latency snapshot for {@code operation}, or {@code null} if it was not recorded. */
+    public HistogramSnapshot latency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    public long rejections(RejectionReason reason) {
+        Long count = rejections.get(reason);
+        return count != null ? count : 0;
+    }
+
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder(2048);
+
+        out.append("# HELP order_operation_latency_seconds Latency of order service operations.\n");
+        out.append("# TYPE order_operation_latency_seconds summary\n");
+        for (Map.Entry<Operation, HistogramSnapshot> entry : latencies.entrySet()) {
+            String operation = entry.getKey().label();
+            HistogramSnapshot histogram = entry.getValue();
+            for (double quantile : EXPORTED_QUANTILES) {
+                out.append("order_operation_latency_seconds{operation=\"").append(operation)
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtQuantile(quantile))).append('\n');
+            }
+            out.append("order_operation_latency_seconds_sum{operation=\"").append(operation).append("\"} ")
+                    .append(seconds(histogram.getSum())).append('\n');
+            out.append("order_operation_latency_seconds_count{operation=\"").append(operation).append("\"} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+
+        out.append("# HELP order_rejections_total Orders rejected by compliance, by reason.\n");
+        out.append("# TYPE order_rejections_total counter\n");
+        for (Map.Entry<RejectionReason, Long> entry : rejections.entrySet()) {
+            out.append("order_rejections_total{reason=\"")
+                    .append(entry.getKey().name().toLowerCase(Locale.ROOT)).append("\"} ")
+                    .append(entry.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+}
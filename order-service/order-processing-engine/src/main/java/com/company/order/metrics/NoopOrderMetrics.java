@@ -0,0 +1,36 @@
+package com.company.order.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+
+import com.company.order.model.RejectionReason;
+
+final class NoopOrderMetrics implements OrderMetrics {
+
+    static final NoopOrderMetrics INSTANCE = new NoopOrderMetrics();
+
+    private static final MetricsSnapshot EMPTY = new MetricsSnapshot(
+            Collections.unmodifiableMap(new EnumMap<>(Operation.class)),
+            Collections.unmodifiableMap(new EnumMap<>(RejectionReason.class)));
+
+    private NoopOrderMetrics() {
+    }
+
+    @Override
+    public long startTimer() {
+        return 0;
+    }
+
+    @Override
+    public void recordLatency(Operation operation, long startTimer) {
+    }
+
+    @Override
+    public void recordRejection(RejectionReason reason) {
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        return EMPTY;
+    }
+}
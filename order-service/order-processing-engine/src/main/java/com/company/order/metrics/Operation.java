@@ -0,0 +1,21 @@
+package com.company.order.metrics;
+
+import java.util.Locale;
+
+/**
+ * Timed operations on the order hot paths.
+ */
+public enum Operation {
+
+    CREATE_ORDER,
+    VALIDATE_ORDER,
+    CALCULATE_GST,
+    FIND_BY_ID,
+    FIND_BY_IDS,
+    FIND_BY_CUSTOMER;
+
+    /** Lower-case name used as the exported label value. */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.order.metrics;
+
+import com.company.order.model.RejectionReason;
+
+/**
+ * Recording side of the order service telemetry. Callers time an operation with
+ * <pre>
+ * long start = metrics.startTimer();
+ * ...
+ * metrics.recordLatency(Operation.CREATE_ORDER, start);
+ * </pre>
+ * Use {@link #noop()} when metrics are turned off: it skips the clock read as
+ * well as the recording.
+ */
+public interface OrderMetrics {
+
+    long startTimer();
+
+    void recordLatency(Operation operation, long startTimer);
+
+    void recordRejection(RejectionReason reason);
+
+    MetricsSnapshot snapshot();
+
+    static OrderMetrics noop() {
+        return NoopOrderMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.order.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.company.order.model.RejectionReason;
+
+/**
+ * {@link OrderMetrics} backed by one {@link LatencyHistogram} per operation and
+ * one striped counter per rejection reason, all allocated up front so recording
+ * only indexes into arrays.
+ *
+ * <p>Latency is sampled: only one call in {@code sampleInterval}, picked at
+ * random per thread, reads the clock, and each sample is recorded with a weight
+ * of {@code sampleInterval}, so counts and quantiles estimate every call while
+ * the others pay only for the coin toss. Rejections are always counted.
+ */
+public class RecordingOrderMetrics implements OrderMetrics {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    /** Calls per latency sample for the default constructor. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    // Returned by startTimer() for a call that is not sampled.
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final LongSupplier nanoClock;
+    private final int sampleInterval;
+    private final int sampleMask;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[] rejections = new LongAdder[REASONS.length];
+
+    public RecordingOrderMetrics() {
+        this(System::nanoTime, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /** Times every call against {@code nanoClock}. */
+    public RecordingOrderMetrics(LongSupplier nanoClock) {
+        this(nanoClock, 1);
+    }
+
+    /**
+     * @param sampleInterval calls per latency sample; a power of two, 1 to time
+     *                       every call
+     */
+    public RecordingOrderMetrics(LongSupplier nanoClock, int sampleInterval) {
+        if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a power of two: " + sampleInterval);
+        }
+        this.nanoClock = nanoClock;
+        this.sampleInterval = sampleInterval;
+        this.sampleMask = sampleInterval - 1;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public long startTimer() {
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return NOT_SAMPLED;
+        }
+        return nanoClock.getAsLong();
+    }
+
+    @Override
+    public void recordLatency(Operation operation, long startTimer) {
+        if (startTimer != NOT_SAMPLED) {
+            latencies[operation.ordinal()].record(nanoClock.getAsLong() - startTimer, sampleInterval);
+        }
+    }
+
+    @Override
+    public void recordRejection(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        Map<Operation, HistogramSnapshot> latencySnapshots = new EnumMap<>(Operation.class);
+        for (Operation operation : OPERATIONS) {
+            latencySnapshots.put(operation, latencies[operation.ordinal()].snapshot());
+        }
+        Map<RejectionReason, Long> rejectionCounts = new EnumMap<>(RejectionReason.class);
+        for (RejectionReason reason : REASONS) {
+            rejectionCounts.put(reason, rejections[reason.ordinal()].sum());
+        }
+        return new MetricsSnapshot(latencySnapshots, rejectionCounts);
+    }
+}
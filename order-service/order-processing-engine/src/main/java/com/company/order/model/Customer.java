@@ -1,14 +1,24 @@
-package com.company.order.model;
-
-public class Customer {
-
-    private final boolean active;
-
-    public Customer(boolean active) {
-        this.active = active;
-    }
-
-    public boolean isActive() {
-        return active;
-    }
-}
+package com.company.order.model;
+
+public class Customer {
+
+    private final String customerId;
+    private final boolean active;
+
+    public Customer(boolean active) {
+        this(null, active);
+    }
+
+    public Customer(String customerId, boolean active) {
+        this.customerId = customerId;
+        this.active = active;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
@@ -1,32 +1,134 @@
-package com.company.order.model;
-
-import java.util.ArrayList;
-import java.util.List;
-
-public class Order {
-
-    private final List<OrderItem> items = new ArrayList<>();
-    private OrderStatus status = OrderStatus.CREATED;
-    private String cancellationReason;
-
-    public void addItem(OrderItem item) {
-        items.add(item);
-    }
-
-    public List<OrderItem> getItems() {
-        return items;
-    }
-
-    public OrderStatus getStatus() {
-        return status;
-    }
-
-    public void cancel(String reason) {
-        this.status = OrderStatus.CANCELLED;
-        this.cancellationReason = reason;
-    }
-
-    public String getCancellationReason() {
-        return cancellationReason;
-    }
-}
+package com.company.order.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+public class Order {
+
+    private final String orderId;
+    private final String customerId;
+    private final OrderLines lines = new OrderLines();
+    private volatile State state = State.CREATED;
+
+    private static final AtomicReferenceFieldUpdater<Order, State> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(Order.class, State.class, "state");
+
+    public Order() {
+        this(null, null);
+    }
+
+    public Order(String orderId, String customerId) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void addItem(OrderItem item) {
+        lines.add(item.getPrice(), item.getQuantity());
+    }
+
+    public void addItem(double price, int quantity) {
+        lines.add(price, quantity);
+    }
+
+    /**
+     * Returns a live view of the line items. Elements are created on access, so
+     * hot paths should read {@link #getLines()} directly.
+     */
+    public List<OrderItem> getItems() {
+        return lines.asList();
+    }
+
+    public OrderLines getLines() {
+        return lines;
+    }
+
+    public OrderStatus getStatus() {
+        return state.status;
+    }
+
+    /**
+     * Atomically moves the order to {@code next} if the lifecycle allows it from the
+     * current status. When several threads race, exactly one transition out of a
+     * given status wins; the others return {@code false}.
+     */
+    public boolean transitionTo(OrderStatus next) {
+        if (next == OrderStatus.CANCELLED) {
+            return cancel(null);
+        }
+        return compareAndTransition(State.of(next));
+    }
+
+    /**
+     * Atomically cancels the order with {@code reason}. Returns {@code false} if the
+     * order is already cancelled or past the point where it can be cancelled, in
+     * which case the existing reason is left untouched.
+     */
+    public boolean cancel(String reason) {
+        return compareAndTransition(new State(OrderStatus.CANCELLED, reason));
+    }
+
+    public String getCancellationReason() {
+        return state.cancellationReason;
+    }
+
+    /**
+     * Sets the status without checking the lifecycle. Only for repositories that
+     * rebuild orders from storage; everything else should use {@link #transitionTo}
+     * or {@link #cancel}.
+     */
+    public void restoreStatus(OrderStatus status, String cancellationReason) {
+        state = status == OrderStatus.CANCELLED ? new State(status, cancellationReason) : State.of(status);
+    }
+
+    private boolean compareAndTransition(State next) {
+        while (true) {
+            State current = state;
+            if (!current.status.canTransitionTo(next.status)) {
+                return false;
+            }
+            if (STATE.compareAndSet(this, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Status and cancellation reason change together, so they are swapped as one value.
+    private static final class State {
+
+        static final State CREATED = new State(OrderStatus.CREATED, null);
+        static final State CONFIRMED = new State(OrderStatus.CONFIRMED, null);
+        static final State SHIPPED = new State(OrderStatus.SHIPPED, null);
+        static final State DELIVERED = new State(OrderStatus.DELIVERED, null);
+
+        final OrderStatus status;
+        final String cancellationReason;
+
+        State(OrderStatus status, String cancellationReason) {
+            this.status = status;
+            this.cancellationReason = cancellationReason;
+        }
+
+        static State of(OrderStatus status) {
+            switch (status) {
+                case CREATED:
+                    return CREATED;
+                case CONFIRMED:
+                    return CONFIRMED;
+                case SHIPPED:
+                    return SHIPPED;
+                case DELIVERED:
+                    return DELIVERED;
+                default:
+                    throw new IllegalArgumentException("Status requires a reason: " + status);
+            }
+        }
+    }
+}
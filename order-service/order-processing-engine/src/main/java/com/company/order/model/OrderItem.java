@@ -1,20 +1,20 @@
-package com.company.order.model;
-
-public class OrderItem {
-
-    private final double price;
-    private final int quantity;
-
-    public OrderItem(double price, int quantity) {
-        this.price = price;
-        this.quantity = quantity;
-    }
-
-    public double getPrice() {
-        return price;
-    }
-
-    public int getQuantity() {
-        return quantity;
-    }
-}
+package com.company.order.model;
+
+public class OrderItem {
+
+    private final double price;
+    private final int quantity;
+
+    public OrderItem(double price, int quantity) {
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.order.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.company.order.pricing.Money;
+
+/**
+ * Line items of an order stored as parallel primitive arrays instead of one
+ * {@link OrderItem} object per line. Prices and quantities sit contiguously, so
+ * validation and pricing loops read them without chasing references.
+ *
+ * <p>The order total, the smallest price and quantity, and the first invalid line
+ * are kept up to date as lines are appended, so validation reads them in
+ * constant time however many lines the order has.
+ *
+ * <p>{@link #asList()} exposes the lines as a {@code List<OrderItem>} view that
+ * creates an {@code OrderItem} only when an element is read. Appends through the
+ * view update the aggregates incrementally; replacing, inserting or removing a
+ * line recomputes them. Not thread-safe.
+ */
+public final class OrderLines {
+
+    private static final int INITIAL_CAPACITY = 2;
+    private static final double[] NO_PRICES = new double[0];
+    private static final int[] NO_QUANTITIES = new int[0];
+
+    private double[] prices = NO_PRICES;
+    private int[] quantities = NO_QUANTITIES;
+    private int size;
+    private ItemView view;
+
+    private long totalPaise;
+    private double minPrice = Double.POSITIVE_INFINITY;
+    private int minQuantity = Integer.MAX_VALUE;
+    private int firstInvalidLine = -1;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double price(int index) {
+        checkIndex(index);
+        return prices[index];
+    }
+
+    public int quantity(int index) {
+        checkIndex(index);
+        return quantities[index];
+    }
+
+    public void add(double price, int quantity) {
+        insert(size, price, quantity);
+        accumulate(size - 1);
+    }
+
+    /**
+     * Sum of {@code price * quantity} over all lines in paise, saturating instead
+     * of overflowing. Only meaningful when {@link #firstInvalidLine()} is -1.
+     */
+    public long totalPaise() {
+        return totalPaise;
+    }
+
+    /** Smallest line price, or {@code +Infinity} when there are no lines. */
+    public double minPrice() {
+        return minPrice;
+    }
+
+    /** Smallest line quantity, or {@code Integer.MAX_VALUE} when there are no lines. */
+    public int minQuantity() {
+        return minQuantity;
+    }
+
+    /**
+     * Index of the first line whose price or quantity is not positive, or -1 when
+     * every line is valid.
+     */
+    public int firstInvalidLine() {
+        return firstInvalidLine;
+    }
+
+    /**
+     * Why the first invalid line is invalid, checking its price before its
+     * quantity, or {@code null} when every line is valid.
+     */
+    public RejectionReason invalidLineReason() {
+        if (firstInvalidLine < 0) {
+            return null;
+        }
+        return prices[firstInvalidLine] <= 0 ? RejectionReason.INVALID_PRICE : RejectionReason.INVALID_QUANTITY;
+    }
+
+    /**
+     * Drops spare array capacity, for orders that are complete and kept in memory.
+     */
+    public void trimToSize() {
+        if (size < prices.length) {
+            prices = size == 0 ? NO_PRICES : Arrays.copyOf(prices, size);
+            quantities = size == 0 ? NO_QUANTITIES : Arrays.copyOf(quantities, size);
+        }
+    }
+
+    public List<OrderItem> asList() {
+        if (view == null) {
+            view = new ItemView();
+        }
+        return view;
+    }
+
+    private void accumulate(int index) {
+        double price = prices[index];
+        int quantity = quantities[index];
+        totalPaise = Money.saturatedAdd(totalPaise, Money.saturatedLineTotal(price, quantity));
+        if (price < minPrice) {
+            minPrice = price;
+        }
+        if (quantity < minQuantity) {
+            minQuantity = quantity;
+        }
+        if (firstInvalidLine < 0 && (price <= 0 || quantity <= 0)) {
+            firstInvalidLine = index;
+        }
+    }
+
+    private void recomputeAggregates() {
+        totalPaise = 0;
+        minPrice = Double.POSITIVE_INFINITY;
+        minQuantity = Integer.MAX_VALUE;
+        firstInvalidLine = -1;
+        for (int i = 0; i < size; i++) {
+            accumulate(i);
+        }
+    }
+
+    private void insert(int index, double price, int quantity) {
+        if (size == prices.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+            prices = Arrays.copyOf(prices, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+        }
+        if (index < size) {
+            System.arraycopy(prices, index, prices, index + 1, size - index);
+            System.arraycopy(quantities, index, quantities, index + 1, size - index);
+        }
+        prices[index] = price;
+        quantities[index] = quantity;
+        size++;
+    }
+
+    private void delete(int index) {
+        int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(prices, index + 1, prices, index, tail);
+            System.arraycopy(quantities, index + 1, quantities, index, tail);
+        }
+        size--;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private final class ItemView extends AbstractList<OrderItem> implements RandomAccess {
+
+        @Override
+        public OrderItem get(int index) {
+            checkIndex(index);
+            return new OrderItem(prices[index], quantities[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public OrderItem set(int index, OrderItem item) {
+            OrderItem previous = get(index);
+            prices[index] = item.getPrice();
+            quantities[index] = item.getQuantity();
+            recomputeAggregates();
+            return previous;
+        }
+
+        @Override
+        public void add(int index, OrderItem item) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            insert(index, item.getPrice(), item.getQuantity());
+            if (index == size - 1) {
+                accumulate(index);
+            } else {
+                recomputeAggregates();
+            }
+            modCount++;
+        }
+
+        @Override
+        public OrderItem remove(int index) {
+            OrderItem previous = get(index);
+            delete(index);
+            recomputeAggregates();
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            size = 0;
+            recomputeAggregates();
+            modCount++;
+        }
+    }
+}
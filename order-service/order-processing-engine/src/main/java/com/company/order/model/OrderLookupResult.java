@@ -0,0 +1,32 @@
+package com.company.order.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders found by a multi-ID lookup, keyed by ID, plus the IDs that were not
+ * found, both in request order.
+ */
+public final class OrderLookupResult {
+
+    private final Map<String, Order> found;
+    private final List<String> missingIds;
+
+    public OrderLookupResult(Map<String, Order> found, List<String> missingIds) {
+        this.found = Collections.unmodifiableMap(found);
+        this.missingIds = Collections.unmodifiableList(missingIds);
+    }
+
+    public Map<String, Order> getFound() {
+        return found;
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
+    }
+
+    public boolean isComplete() {
+        return missingIds.isEmpty();
+    }
+}
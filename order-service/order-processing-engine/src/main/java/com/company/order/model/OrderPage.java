@@ -0,0 +1,37 @@
+package com.company.order.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a customer's orders, sorted by order ID. Pass {@link #getNextToken()}
+ * back to fetch the following page; it is {@code null} on the last page.
+ */
+public final class OrderPage {
+
+    private static final OrderPage EMPTY = new OrderPage(Collections.emptyList(), null);
+
+    private final List<Order> orders;
+    private final String nextToken;
+
+    public OrderPage(List<Order> orders, String nextToken) {
+        this.orders = Collections.unmodifiableList(orders);
+        this.nextToken = nextToken;
+    }
+
+    public static OrderPage empty() {
+        return EMPTY;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.order.model;
+
+import com.company.order.pricing.Money;
+
+/**
+ * Immutable result of validating and pricing an order in one pass. Amounts are
+ * in paise; a rejected quote carries no discount or GST.
+ */
+public final class OrderQuote {
+
+    private final long totalPaise;
+    private final int discountPercent;
+    private final long gstPaise;
+    private final RejectionReason rejectionReason;
+
+    private OrderQuote(long totalPaise, int discountPercent, long gstPaise, RejectionReason rejectionReason) {
+        this.totalPaise = totalPaise;
+        this.discountPercent = discountPercent;
+        this.gstPaise = gstPaise;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public static OrderQuote accepted(long totalPaise, int discountPercent, long gstPaise) {
+        return new OrderQuote(totalPaise, discountPercent, gstPaise, null);
+    }
+
+    public static OrderQuote rejected(RejectionReason reason, long totalPaise) {
+        return new OrderQuote(totalPaise, 0, 0, reason);
+    }
+
+    public boolean isAccepted() {
+        return rejectionReason == null;
+    }
+
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public long getTotalPaise() {
+        return totalPaise;
+    }
+
+    public double getTotalAmount() {
+        return Money.toRupees(totalPaise);
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public long getGstPaise() {
+        return gstPaise;
+    }
+
+    public double getGst() {
+        return Money.toRupees(gstPaise);
+    }
+}
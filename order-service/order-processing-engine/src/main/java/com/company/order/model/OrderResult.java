@@ -0,0 +1,35 @@
+package com.company.order.model;
+
+/**
+ * Outcome of creating a single order within a batch.
+ */
+public class OrderResult {
+
+    private final Order order;
+    private final RejectionReason rejectionReason;
+
+    private OrderResult(Order order, RejectionReason rejectionReason) {
+        this.order = order;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public static OrderResult accepted(Order order) {
+        return new OrderResult(order, null);
+    }
+
+    public static OrderResult rejected(Order order, RejectionReason reason) {
+        return new OrderResult(order, reason);
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public boolean isAccepted() {
+        return rejectionReason == null;
+    }
+
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+}
@@ -1,6 +1,31 @@
-package com.company.order.model;
-
-public enum OrderStatus {
-    CREATED,
-    CANCELLED
-}
+package com.company.order.model;
+
+/**
+ * Order lifecycle. An order moves forward through
+ * {@code CREATED -> CONFIRMED -> SHIPPED -> DELIVERED} and can be cancelled until
+ * it ships. {@code DELIVERED} and {@code CANCELLED} are terminal.
+ */
+public enum OrderStatus {
+    CREATED,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    public boolean canTransitionTo(OrderStatus next) {
+        switch (this) {
+            case CREATED:
+                return next == CONFIRMED || next == CANCELLED;
+            case CONFIRMED:
+                return next == SHIPPED || next == CANCELLED;
+            case SHIPPED:
+                return next == DELIVERED;
+            default:
+                return false;
+        }
+    }
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.order.model;
+
+import java.util.Objects;
+
+/**
+ * An order paired with the customer placing it, as handed to batch creation.
+ */
+public class OrderSubmission {
+
+    private final Order order;
+    private final Customer customer;
+
+    public OrderSubmission(Order order, Customer customer) {
+        this.order = Objects.requireNonNull(order, "order");
+        this.customer = Objects.requireNonNull(customer, "customer");
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+}
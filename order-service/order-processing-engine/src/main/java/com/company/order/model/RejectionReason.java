@@ -0,0 +1,16 @@
+package com.company.order.model;
+
+/**
+ * Reason code attached to an order that failed validation.
+ */
+public enum RejectionReason {
+    INACTIVE_CUSTOMER,
+    NO_ITEMS,
+    INVALID_PRICE,
+    INVALID_QUANTITY,
+    LIMIT_EXCEEDED,
+    /** Too many orders from the customer within a rolling window. */
+    ORDER_RATE_EXCEEDED,
+    /** The customer's spend within a rolling window would exceed its limit. */
+    SPEND_LIMIT_EXCEEDED
+}
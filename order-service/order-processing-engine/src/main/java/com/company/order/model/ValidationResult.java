@@ -0,0 +1,44 @@
+package com.company.order.model;
+
+/**
+ * Mutable outcome of an order validation. Callers keep one instance per thread
+ * and pass it to every validation so that a passing order allocates nothing.
+ */
+public final class ValidationResult {
+
+    private RejectionReason reason;
+    private long totalPaise;
+
+    public boolean isValid() {
+        return reason == null;
+    }
+
+    public RejectionReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Order total in paise, computed in the same pass as the line checks. It is
+     * only meaningful when the order is valid or was rejected for
+     * {@link RejectionReason#LIMIT_EXCEEDED}.
+     */
+    public long getTotalPaise() {
+        return totalPaise;
+    }
+
+    public ValidationResult reset() {
+        this.reason = null;
+        this.totalPaise = 0;
+        return this;
+    }
+
+    public ValidationResult total(long totalPaise) {
+        this.totalPaise = totalPaise;
+        return this;
+    }
+
+    public ValidationResult reject(RejectionReason reason) {
+        this.reason = reason;
+        return this;
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.order.pricing;
+
+/**
+ * Fixed-point money arithmetic on {@code long} amounts of paise (1/100 rupee).
+ * Every rounding step rounds half up, so results do not depend on binary
+ * floating-point representation.
+ */
+public final class Money {
+
+    public static final long PAISE_PER_RUPEE = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a rupee amount to paise, rounding to the nearest paisa.
+     */
+    public static long toPaise(double rupees) {
+        return Math.round(rupees * PAISE_PER_RUPEE);
+    }
+
+    public static double toRupees(long paise) {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    /**
+     * Returns {@code price * quantity} in paise.
+     *
+     * @throws ArithmeticException if the line total overflows a {@code long}
+     */
+    public static long lineTotal(double price, int quantity) {
+        return Math.multiplyExact(toPaise(price), (long) quantity);
+    }
+
+    /**
+     * Returns {@code numerator / denominator} rounded half up. The denominator must
+     * be positive.
+     */
+    public static long divideHalfUp(long numerator, long denominator) {
+        return Math.floorDiv(numerator + denominator / 2, denominator);
+    }
+
+    /**
+     * Returns {@code a + b}, clamped to {@code Long.MIN_VALUE}/{@code Long.MAX_VALUE}
+     * instead of overflowing.
+     */
+    public static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns {@code price * quantity} in paise, clamped instead of overflowing.
+     */
+    public static long saturatedLineTotal(double price, int quantity) {
+        long pricePaise = toPaise(price);
+        long high = Math.multiplyHigh(pricePaise, quantity);
+        long low = pricePaise * quantity;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return low;
+        }
+        return (pricePaise < 0) != (quantity < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+}
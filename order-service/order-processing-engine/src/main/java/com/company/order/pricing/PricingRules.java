@@ -0,0 +1,243 @@
+package com.company.order.pricing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Immutable, compiled discount and GST rule table. Tier thresholds are held in a
+ * sorted {@code long[]} of paise and looked up with a binary search, so pricing
+ * an order reads two primitive arrays and a few ints.
+ *
+ * <p>Rules are loaded from properties (see {@code pricing-rules.properties} on the
+ * classpath for the keys and the defaults). Loading validates everything up front
+ * and throws {@link IllegalArgumentException} for a bad table, so a half-valid
+ * configuration is never used.
+ */
+public final class PricingRules {
+
+    public static final String TIERS_KEY = "discount.tiers";
+    public static final String PREMIUM_BONUS_KEY = "discount.premiumBonusPercent";
+    public static final String FESTIVAL_BONUS_KEY = "discount.festivalBonusPercent";
+    public static final String MAX_DISCOUNT_KEY = "discount.maxPercent";
+    public static final String GST_PERCENT_KEY = "gst.percent";
+
+    private static final String DEFAULTS_RESOURCE = "/pricing-rules.properties";
+
+    // discount and GST are both percentages, so the product is scaled by 100 * 100
+    private static final long GST_SCALE = 100 * 100;
+
+    private static final PricingRules DEFAULTS = loadDefaults();
+
+    private final long[] tierThresholdsPaise;
+    private final int[] tierPercents;
+    private final int premiumBonusPercent;
+    private final int festivalBonusPercent;
+    private final int maxDiscountPercent;
+    private final int gstPercent;
+
+    public PricingRules(long[] tierThresholdsPaise, int[] tierPercents, int premiumBonusPercent,
+            int festivalBonusPercent, int maxDiscountPercent, int gstPercent) {
+        if (tierThresholdsPaise.length != tierPercents.length) {
+            throw new IllegalArgumentException("Each discount tier needs one threshold and one percent");
+        }
+        for (int i = 0; i < tierThresholdsPaise.length; i++) {
+            if (tierThresholdsPaise[i] < 0) {
+                throw new IllegalArgumentException("Discount tier thresholds cannot be negative");
+            }
+            if (i > 0 && tierThresholdsPaise[i] <= tierThresholdsPaise[i - 1]) {
+                throw new IllegalArgumentException("Discount tier thresholds must be strictly increasing");
+            }
+            requirePercent("Discount tier percent", tierPercents[i]);
+        }
+        this.tierThresholdsPaise = tierThresholdsPaise.clone();
+        this.tierPercents = tierPercents.clone();
+        this.premiumBonusPercent = requirePercent(PREMIUM_BONUS_KEY, premiumBonusPercent);
+        this.festivalBonusPercent = requirePercent(FESTIVAL_BONUS_KEY, festivalBonusPercent);
+        this.maxDiscountPercent = requirePercent(MAX_DISCOUNT_KEY, maxDiscountPercent);
+        this.gstPercent = requirePercent(GST_PERCENT_KEY, gstPercent);
+    }
+
+    /** The rules shipped in {@code pricing-rules.properties}. */
+    public static PricingRules defaults() {
+        return DEFAULTS;
+    }
+
+    public static PricingRules load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Compiles a rule table. Tiers are written as {@code <rupees>:<percent>} pairs
+     * separated by commas, in any order; the other keys are whole percents.
+     */
+    public static PricingRules fromProperties(Properties properties) {
+        String[] tiers = required(properties, TIERS_KEY).split(",");
+        long[][] parsed = new long[tiers.length][];
+        for (int i = 0; i < tiers.length; i++) {
+            parsed[i] = parseTier(tiers[i].trim());
+        }
+        Arrays.sort(parsed, (a, b) -> Long.compare(a[0], b[0]));
+
+        long[] thresholds = new long[parsed.length];
+        int[] percents = new int[parsed.length];
+        for (int i = 0; i < parsed.length; i++) {
+            thresholds[i] = parsed[i][0];
+            percents[i] = (int) parsed[i][1];
+        }
+
+        return new PricingRules(thresholds, percents,
+                intValue(properties, PREMIUM_BONUS_KEY),
+                intValue(properties, FESTIVAL_BONUS_KEY),
+                intValue(properties, MAX_DISCOUNT_KEY),
+                intValue(properties, GST_PERCENT_KEY));
+    }
+
+    public int discountPercent(long totalPaise, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        int discountPercent = tierPercent(totalPaise);
+        discountPercent += isPremiumCustomer ? premiumBonusPercent : 0;
+        discountPercent += isFestivalOfferEnabled ? festivalBonusPercent : 0;
+        return Math.min(discountPercent, maxDiscountPercent);
+    }
+
+    /**
+     * GST on {@code totalPaise} after a {@code discountPercent} discount, rounded
+     * half up once. Exact for every {@code long} total: the product is never formed
+     * whole, so a large total cannot overflow into a wrong or negative tax.
+     *
+     * @throws IllegalArgumentException if the discount is not between 0 and 100
+     */
+    public long gstPaise(long totalPaise, int discountPercent) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("Discount percent must be between 0 and 100: " + discountPercent);
+        }
+        // total * factor / GST_SCALE, with total split as whole * GST_SCALE + rest. The
+        // factor is at most GST_SCALE, so neither part can overflow, and the rounding of
+        // the rest is the rounding of the whole product.
+        long factor = (100 - discountPercent) * (long) gstPercent;
+        long whole = Math.floorDiv(totalPaise, GST_SCALE);
+        long rest = Math.floorMod(totalPaise, GST_SCALE);
+        return whole * factor + Money.divideHalfUp(rest * factor, GST_SCALE);
+    }
+
+    /**
+     * Prices the first {@code count} orders of a batch, writing the GST for
+     * {@code totalsPaise[i]} to {@code gstPaiseOut[i]}; the same result as
+     * {@link #discountPercent} followed by {@link #gstPaise(long, int)} per order.
+     * Discounts are built up in {@code gstPaiseOut} by one pass per tier instead of
+     * a binary search per order, so every pass is a short loop with no branches
+     * that depend on the data.
+     */
+    public void gstPaise(long[] totalsPaise, boolean[] premiumCustomers, boolean[] festivalOffers,
+            long[] gstPaiseOut, int count) {
+        int premiumBonus = premiumBonusPercent;
+        int festivalBonus = festivalBonusPercent;
+        for (int i = 0; i < count; i++) {
+            gstPaiseOut[i] = (premiumCustomers[i] ? premiumBonus : 0) + (festivalOffers[i] ? festivalBonus : 0);
+        }
+
+        // Tier percents as steps over the previous tier, so each tier the total
+        // reaches adds its step, one tight pass over the batch per tier.
+        int previous = 0;
+        for (int tier = 0; tier < tierThresholdsPaise.length; tier++) {
+            long threshold = tierThresholdsPaise[tier];
+            long step = tierPercents[tier] - previous;
+            previous = tierPercents[tier];
+            for (int i = 0; i < count; i++) {
+                gstPaiseOut[i] += totalsPaise[i] >= threshold ? step : 0;
+            }
+        }
+
+        long maxDiscount = maxDiscountPercent;
+        long gst = gstPercent;
+        for (int i = 0; i < count; i++) {
+            long total = totalsPaise[i];
+            // every percent in the table is validated, so the capped discount is in range
+            long factor = (100 - Math.min(gstPaiseOut[i], maxDiscount)) * gst;
+            // a truncating split is as exact as the floored one in gstPaise
+            long whole = total / GST_SCALE;
+            long rest = total - whole * GST_SCALE;
+            gstPaiseOut[i] = whole * factor + Money.divideHalfUp(rest * factor, GST_SCALE);
+        }
+    }
+
+    public int getGstPercent() {
+        return gstPercent;
+    }
+
+    public int getMaxDiscountPercent() {
+        return maxDiscountPercent;
+    }
+
+    // Percent of the highest tier whose threshold the total reaches, or 0.
+    private int tierPercent(long totalPaise) {
+        int index = Arrays.binarySearch(tierThresholdsPaise, totalPaise);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? 0 : tierPercents[index];
+    }
+
+    private static long[] parseTier(String tier) {
+        int separator = tier.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Discount tier must be <rupees>:<percent>: " + tier);
+        }
+        try {
+            long thresholdPaise = new BigDecimal(tier.substring(0, separator).trim())
+                    .movePointRight(2)
+                    .longValueExact();
+            int percent = Integer.parseInt(tier.substring(separator + 1).trim());
+            return new long[] {thresholdPaise, percent};
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid discount tier: " + tier, e);
+        }
+    }
+
+    private static int intValue(Properties properties, String key) {
+        String value = required(properties, key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing pricing rule: " + key);
+        }
+        return value.trim();
+    }
+
+    private static int requirePercent(String name, int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException(name + " must be between 0 and 100");
+        }
+        return percent;
+    }
+
+    private static PricingRules loadDefaults() {
+        Properties properties = new Properties();
+        try (InputStream in = PricingRules.class.getResourceAsStream(DEFAULTS_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + DEFAULTS_RESOURCE + " on the classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + DEFAULTS_RESOURCE, e);
+        }
+        return fromProperties(properties);
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.order.pricing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link PricingRules} backed by a properties file that can change while the
+ * service runs. A reload compiles the whole file into a new table and publishes
+ * it with a single volatile write, so pricing threads read either the old or the
+ * new table, never a mix, and never take a lock. A file that fails to load leaves
+ * the current rules in place.
+ */
+public class ReloadablePricingRules implements Supplier<PricingRules> {
+
+    private final Path file;
+
+    private volatile PricingRules current;
+    private volatile Exception lastFailure;
+    private FileTime loadedModifiedTime;
+
+    public ReloadablePricingRules(Path file) throws IOException {
+        this.file = Objects.requireNonNull(file, "file");
+        reload();
+    }
+
+    @Override
+    public PricingRules get() {
+        return current;
+    }
+
+    /**
+     * Re-reads the file unconditionally.
+     *
+     * @throws IllegalArgumentException if the file is not a valid rule table
+     */
+    public synchronized void reload() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        current = PricingRules.load(file);
+        loadedModifiedTime = modified;
+        lastFailure = null;
+    }
+
+    /**
+     * Re-reads the file if its modification time changed since the last load.
+     *
+     * @return whether new rules were published
+     */
+    public synchronized boolean reloadIfModified() throws IOException {
+        if (Files.getLastModifiedTime(file).equals(loadedModifiedTime)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Polls the file for changes every {@code period} on {@code scheduler}. Load
+     * failures are kept in {@link #getLastFailure()} and retried on the next poll;
+     * cancel the returned future to stop watching.
+     */
+    public ScheduledFuture<?> watch(ScheduledExecutorService scheduler, Duration period) {
+        long periodMillis = period.toMillis();
+        return scheduler.scheduleWithFixedDelay(this::pollQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Why the most recent reload failed, or {@code null} if it succeeded. */
+    public Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    private void pollQuietly() {
+        try {
+            reloadIfModified();
+        } catch (IOException | RuntimeException e) {
+            // Keep pricing with the last good table. Any exception escaping here would
+            // cancel the scheduled poll for good, so nothing may be rethrown.
+            lastFailure = e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.order.repository;
+
+/**
+ * Point-in-time counters of a {@link CachingOrderRepository}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long negativeHitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+
+    public CacheStats(long hitCount, long negativeHitCount, long missCount, long evictionCount,
+            long invalidationCount) {
+        this.hitCount = hitCount;
+        this.negativeHitCount = negativeHitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    /** Lookups answered with a cached order. */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /** Lookups answered with a cached "not found". */
+    public long negativeHitCount() {
+        return negativeHitCount;
+    }
+
+    /** Lookups that went to the backing repository. */
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long invalidationCount() {
+        return invalidationCount;
+    }
+
+    public long requestCount() {
+        return hitCount + negativeHitCount + missCount;
+    }
+
+    /** Share of lookups served without touching the backing repository. */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) (hitCount + negativeHitCount) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", negativeHits=" + negativeHitCount + ", misses=" + missCount
+                + ", evictions=" + evictionCount + ", invalidations=" + invalidationCount + "}";
+    }
+}
@@ -0,0 +1,318 @@
+package com.company.order.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+
+/**
+ * Read-through cache in front of another {@link OrderRepository}'s
+ * {@link #findById} lookups.
+ *
+ * <ul>
+ *   <li>Size is bounded. Entries leave in insertion order, but a frequency sketch
+ *       of recent lookups decides admission: when the oldest entry has been
+ *       requested more often than the newcomer, the newcomer is dropped instead,
+ *       so a burst of one-off lookups cannot flush hot orders.</li>
+ *   <li>Unknown IDs are cached as "not found" for a configurable time.</li>
+ *   <li>{@link #save} and {@link #deleteById} invalidate the ID after writing
+ *       through; {@link #invalidate} lets other writers do the same.</li>
+ * </ul>
+ *
+ * Lookups never lock; only the writer that pushes the cache over its bound takes
+ * the eviction lock. Customer lookups are passed through uncached.
+ */
+public class CachingOrderRepository implements OrderRepository {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final OrderRepository delegate;
+    private final int maximumSize;
+    private final long negativeTtlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> admissionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retiredInQueue = new AtomicInteger();
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Bumped on every invalidation; a load that overlaps one is not cached.
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachingOrderRepository(OrderRepository delegate, int maximumSize, Duration negativeTtl) {
+        this(delegate, maximumSize, negativeTtl, System::nanoTime);
+    }
+
+    public CachingOrderRepository(OrderRepository delegate, int maximumSize, Duration negativeTtl,
+            LongSupplier nanoClock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.maximumSize = maximumSize;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        if (orderId == null) {
+            return delegate.findById(null);
+        }
+
+        sketch.increment(orderId);
+        Entry cached = entries.get(orderId);
+        if (cached != null) {
+            if (cached.value.isPresent()) {
+                hits.increment();
+                return cached.value;
+            }
+            if (nanoClock.getAsLong() - cached.expiresAtNanos < 0) {
+                negativeHits.increment();
+                return cached.value;
+            }
+            remove(cached);
+        }
+
+        misses.increment();
+        long epoch = invalidationEpoch.get();
+        Optional<Order> loaded = delegate.findById(orderId);
+        cache(orderId, loaded, epoch);
+        return loaded;
+    }
+
+    /**
+     * Serves cached IDs directly and loads all remaining IDs with a single
+     * {@code findByIds} call on the backing repository, caching both the orders
+     * found and the IDs that were missing.
+     */
+    @Override
+    public Map<String, Order> findByIds(Collection<String> orderIds) {
+        Map<String, Order> found = new LinkedHashMap<>();
+        Set<String> toLoad = new LinkedHashSet<>();
+        long now = nanoClock.getAsLong();
+
+        for (String orderId : orderIds) {
+            if (orderId == null || found.containsKey(orderId)) {
+                continue;
+            }
+            sketch.increment(orderId);
+            Entry cached = entries.get(orderId);
+            if (cached != null) {
+                if (cached.value.isPresent()) {
+                    hits.increment();
+                    found.put(orderId, cached.value.get());
+                    continue;
+                }
+                if (now - cached.expiresAtNanos < 0) {
+                    negativeHits.increment();
+                    continue;
+                }
+                remove(cached);
+            }
+            toLoad.add(orderId);
+        }
+
+        if (!toLoad.isEmpty()) {
+            misses.add(toLoad.size());
+            long epoch = invalidationEpoch.get();
+            Map<String, Order> loaded = delegate.findByIds(toLoad);
+            for (String orderId : toLoad) {
+                Order order = loaded.get(orderId);
+                cache(orderId, Optional.ofNullable(order), epoch);
+            }
+            // Keep the caller's order rather than cache-hits-first.
+            Map<String, Order> ordered = new LinkedHashMap<>();
+            for (String orderId : orderIds) {
+                Order order = orderId == null ? null
+                        : found.containsKey(orderId) ? found.get(orderId) : loaded.get(orderId);
+                if (order != null) {
+                    ordered.put(orderId, order);
+                }
+            }
+            return ordered;
+        }
+        return found;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        return delegate.findByCustomerId(customerId, afterOrderId, pageSize);
+    }
+
+    @Override
+    public void save(Order order) {
+        delegate.save(order);
+        invalidate(order.getOrderId());
+    }
+
+    @Override
+    public boolean replace(Order order) {
+        boolean replaced = delegate.replace(order);
+        invalidate(order.getOrderId());
+        return replaced;
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        boolean deleted = delegate.deleteById(orderId);
+        invalidate(orderId);
+        return deleted;
+    }
+
+    /**
+     * Drops any cached value for {@code orderId}, found or not found. Call this
+     * when an order changes without going through this repository.
+     */
+    public void invalidate(String orderId) {
+        if (orderId == null) {
+            return;
+        }
+        invalidationEpoch.incrementAndGet();
+        invalidations.increment();
+        Entry cached = entries.get(orderId);
+        if (cached != null) {
+            remove(cached);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidationEpoch.incrementAndGet();
+        for (Entry cached : entries.values()) {
+            invalidations.increment();
+            remove(cached);
+        }
+    }
+
+    public long estimatedSize() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private void cache(String orderId, Optional<Order> loaded, long epoch) {
+        if (!loaded.isPresent() && negativeTtlNanos <= 0) {
+            return;
+        }
+        long expiresAt = loaded.isPresent() ? NO_EXPIRY : nanoClock.getAsLong() + negativeTtlNanos;
+        Entry fresh = new Entry(orderId, loaded, expiresAt);
+
+        Entry previous = entries.put(orderId, fresh);
+        if (previous != null) {
+            retire(previous);
+        }
+        if (invalidationEpoch.get() != epoch) {
+            // The order changed while it was being loaded; the value may be stale.
+            remove(fresh);
+            return;
+        }
+
+        admissionOrder.add(fresh);
+        if (entries.size() > maximumSize || retiredInQueue.get() > maximumSize) {
+            evict(fresh);
+        }
+    }
+
+    private void evict(Entry candidate) {
+        evictionLock.lock();
+        try {
+            while (entries.size() > maximumSize) {
+                Entry victim = pollLive();
+                if (victim == null) {
+                    return;
+                }
+                if (candidate != null && victim != candidate
+                        && sketch.frequency(victim.key) > sketch.frequency(candidate.key)) {
+                    // The resident entry is hotter: keep it and turn the newcomer away.
+                    admissionOrder.add(victim);
+                    victim = candidate;
+                }
+                candidate = null;
+                if (remove(victim)) {
+                    evictions.increment();
+                }
+            }
+
+            // Invalidated and replaced entries linger in the queue until polled;
+            // sweep them out once they could outnumber the live ones.
+            if (retiredInQueue.get() > maximumSize) {
+                admissionOrder.removeIf(entry -> entry.retired);
+                retiredInQueue.set(0);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Entry pollLive() {
+        Entry entry;
+        while ((entry = admissionOrder.poll()) != null) {
+            if (!entry.retired) {
+                return entry;
+            }
+            retiredInQueue.decrementAndGet();
+        }
+        return null;
+    }
+
+    private boolean remove(Entry entry) {
+        boolean removed = entries.remove(entry.key, entry);
+        if (removed) {
+            retire(entry);
+        }
+        return removed;
+    }
+
+    private void retire(Entry entry) {
+        if (!entry.retired) {
+            entry.retired = true;
+            retiredInQueue.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final Optional<Order> value;
+        final long expiresAtNanos;
+        volatile boolean retired;
+
+        Entry(String key, Optional<Order> value, long expiresAtNanos) {
+            this.key = key;
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.company.order.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+
+/**
+ * Concurrent in-memory {@link OrderRepository} with a primary order id index and a
+ * secondary customer id index.
+ *
+ * <p>Reads never lock. Writers update the customer index while holding the primary
+ * index entry for the order id, always in primary-then-secondary order, so both
+ * indexes agree for every order id once a write completes.
+ */
+public class InMemoryOrderRepository implements OrderRepository {
+
+    private final ConcurrentMap<String, Order> ordersById = new ConcurrentHashMap<>();
+
+    // customerId -> (orderId -> order), sorted by order id within each customer
+    private final ConcurrentMap<String, ConcurrentSkipListMap<String, Order>> ordersByCustomer =
+            new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        if (orderId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(ordersById.get(orderId));
+    }
+
+    @Override
+    public Map<String, Order> findByIds(Collection<String> orderIds) {
+        Map<String, Order> found = new LinkedHashMap<>();
+        for (String orderId : orderIds) {
+            Order order = orderId == null ? null : ordersById.get(orderId);
+            if (order != null) {
+                found.put(orderId, order);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        if (customerId == null) {
+            return Collections.emptyList();
+        }
+        ConcurrentSkipListMap<String, Order> customerOrders = ordersByCustomer.get(customerId);
+        if (customerOrders == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(customerOrders.values());
+    }
+
+    /**
+     * Walks the customer's sorted index from the token onwards, so only one page of
+     * orders is touched and copied however long the history is.
+     */
+    @Override
+    public OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        ConcurrentSkipListMap<String, Order> customerOrders =
+                customerId == null ? null : ordersByCustomer.get(customerId);
+        if (customerOrders == null) {
+            return OrderPage.empty();
+        }
+
+        Iterator<Order> remaining = (afterOrderId == null ? customerOrders : customerOrders.tailMap(afterOrderId, false))
+                .values().iterator();
+        List<Order> page = new ArrayList<>(Math.min(pageSize, 1_024));
+        while (page.size() < pageSize && remaining.hasNext()) {
+            page.add(remaining.next());
+        }
+        String nextToken = remaining.hasNext() ? page.get(page.size() - 1).getOrderId() : null;
+        return new OrderPage(page, nextToken);
+    }
+
+    @Override
+    public void save(Order order) {
+        Objects.requireNonNull(order, "order");
+        String orderId = Objects.requireNonNull(order.getOrderId(), "orderId");
+
+        ordersById.compute(orderId, (id, previous) -> {
+            if (previous != null && !Objects.equals(previous.getCustomerId(), order.getCustomerId())) {
+                unindex(previous);
+            }
+            index(order);
+            return order;
+        });
+    }
+
+    @Override
+    public boolean replace(Order order) {
+        String orderId = order.getOrderId();
+        if (orderId == null) {
+            return false;
+        }
+        boolean[] replaced = new boolean[1];
+        ordersById.computeIfPresent(orderId, (id, previous) -> {
+            if (!Objects.equals(previous.getCustomerId(), order.getCustomerId())) {
+                unindex(previous);
+            }
+            index(order);
+            replaced[0] = true;
+            return order;
+        });
+        return replaced[0];
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        if (orderId == null) {
+            return false;
+        }
+        boolean[] removed = new boolean[1];
+        ordersById.computeIfPresent(orderId, (id, previous) -> {
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    public int size() {
+        return ordersById.size();
+    }
+
+    private void index(Order order) {
+        String customerId = order.getCustomerId();
+        if (customerId == null) {
+            return;
+        }
+        ordersByCustomer.compute(customerId, (id, customerOrders) -> {
+            ConcurrentSkipListMap<String, Order> orders =
+                    customerOrders != null ? customerOrders : new ConcurrentSkipListMap<>();
+            orders.put(order.getOrderId(), order);
+            return orders;
+        });
+    }
+
+    private void unindex(Order order) {
+        String customerId = order.getCustomerId();
+        if (customerId == null) {
+            return;
+        }
+        ordersByCustomer.computeIfPresent(customerId, (id, customerOrders) -> {
+            customerOrders.remove(order.getOrderId());
+            return customerOrders.isEmpty() ? null : customerOrders;
+        });
+    }
+}
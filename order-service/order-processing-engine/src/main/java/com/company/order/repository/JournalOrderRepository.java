@@ -0,0 +1,547 @@
+package com.company.order.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import com.company.order.codec.OrderCodec;
+import com.company.order.codec.OrderFlyweight;
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+import com.company.order.model.OrderStatus;
+
+/**
+ * Durable {@link OrderRepository} for a single machine: every write is appended
+ * to memory-mapped segment files in a directory, and reads are served from an
+ * {@link InMemoryOrderRepository} index that is rebuilt by replaying the segments
+ * on startup.
+ *
+ * <ul>
+ *   <li>{@link #save} appends the whole order; {@link #saveStatus} appends only a
+ *       status change for an order that is already stored; {@link #deleteById}
+ *       appends a tombstone.</li>
+ *   <li>Writes are serialized by one lock; reads never lock.</li>
+ *   <li>Records reach the operating system's page cache as soon as they are
+ *       appended, so they survive a process crash. Call {@link #flush()} to force
+ *       them to disk as well.</li>
+ *   <li>{@link #compact()} rewrites sealed segments that are mostly superseded
+ *       records, and {@link #purgeCancelled()} drops cancelled orders.</li>
+ * </ul>
+ *
+ * I/O failures after opening are thrown as {@link UncheckedIOException}.
+ */
+public class JournalOrderRepository implements OrderRepository, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final byte SAVE = 1;
+    static final byte STATUS = 2;
+    static final byte DELETE = 3;
+
+    // Sealed segments at most this full of live records are rewritten by compact().
+    private static final double COMPACTION_LIVE_RATIO = 0.5;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final InMemoryOrderRepository index = new InMemoryOrderRepository();
+
+    // orderId -> segments holding the records needed to rebuild the order
+    private final ConcurrentMap<String, Location> locations = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    private JournalSegment active;
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private boolean closed;
+
+    public JournalOrderRepository(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public JournalOrderRepository(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= JournalSegment.HEADER_SIZE + JournalSegment.RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        return index.findById(orderId);
+    }
+
+    @Override
+    public Map<String, Order> findByIds(Collection<String> orderIds) {
+        return index.findByIds(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return index.findByCustomerId(customerId);
+    }
+
+    @Override
+    public OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        return index.findByCustomerId(customerId, afterOrderId, pageSize);
+    }
+
+    @Override
+    public void save(Order order) {
+        Objects.requireNonNull(order, "order");
+        Objects.requireNonNull(order.getOrderId(), "orderId");
+        writeLock.lock();
+        try {
+            trackSave(order.getOrderId(), append(order.getOrderId(), encodeSave(order)));
+            index.save(order);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Order order) {
+        String orderId = order.getOrderId();
+        if (orderId == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            if (!locations.containsKey(orderId)) {
+                return false;
+            }
+            trackSave(orderId, append(orderId, encodeSave(order)));
+            index.save(order);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Journals only the status and cancellation reason of an order that was saved
+     * before, which is much smaller than {@link #save} for lifecycle changes.
+     *
+     * @throws IllegalArgumentException if the order has not been saved
+     */
+    public void saveStatus(Order order) {
+        Objects.requireNonNull(order, "order");
+        writeLock.lock();
+        try {
+            if (!locations.containsKey(order.getOrderId())) {
+                throw new IllegalArgumentException("Order has not been saved: " + order.getOrderId());
+            }
+            trackStatus(order.getOrderId(), append(order.getOrderId(), encodeStatus(order)));
+            index.save(order);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        if (orderId == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            if (!locations.containsKey(orderId)) {
+                return false;
+            }
+            trackDelete(orderId, append(orderId, encodeDelete(orderId)));
+            return index.deleteById(orderId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /** Number of segment files, including the one being appended to. */
+    public int segmentCount() {
+        writeLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every appended record to the storage device.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            for (JournalSegment segment : segments.values()) {
+                segment.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copies the live records of sealed segments that are at most half live into
+     * the active segment and deletes the old files. Tombstones are carried forward
+     * while an older segment might still hold the deleted order.
+     *
+     * @return the number of segments removed
+     */
+    public int compact() {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            List<JournalSegment> candidates = new ArrayList<>();
+            for (JournalSegment segment : segments.values()) {
+                if (segment != active && segment.liveCount <= segment.recordCount * COMPACTION_LIVE_RATIO) {
+                    candidates.add(segment);
+                }
+            }
+            for (JournalSegment segment : candidates) {
+                rewrite(segment);
+            }
+            return candidates.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal compaction failed in " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes every cancelled order, then compacts so the space can be reclaimed.
+     *
+     * @return the number of orders deleted
+     */
+    public int purgeCancelled() {
+        writeLock.lock();
+        try {
+            int purged = 0;
+            for (String orderId : new ArrayList<>(locations.keySet())) {
+                Optional<Order> order = index.findById(orderId);
+                if (order.isPresent() && order.get().getStatus() == OrderStatus.CANCELLED && deleteById(orderId)) {
+                    purged++;
+                }
+            }
+            compact();
+            return purged;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (JournalSegment segment : segments.values()) {
+                segment.force();
+            }
+            closeSegments();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ---------- Recovery ----------
+
+    private void recover() throws IOException {
+        List<JournalSegment> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            Iterator<Path> it = files.filter(JournalSegment::isSegmentFile).iterator();
+            while (it.hasNext()) {
+                found.add(JournalSegment.open(it.next()));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (JournalSegment segment : found) {
+                segment.close();
+            }
+            throw e;
+        }
+        for (JournalSegment segment : found) {
+            segments.put(segment.sequence(), segment);
+        }
+
+        for (JournalSegment segment : segments.values()) {
+            boolean damaged = segment.scan((type, payload) -> replay(segment, type, payload));
+            if (damaged && segment != segments.lastEntry().getValue()) {
+                // Only the segment being appended to can hold a torn record.
+                throw new IOException("Corrupt record in sealed journal segment " + segment.sequence());
+            }
+        }
+
+        active = segments.isEmpty()
+                ? openSegment(0)
+                : segments.lastEntry().getValue();
+    }
+
+    private void replay(JournalSegment segment, byte type, ByteBuffer payload) throws IOException {
+        try {
+            switch (type) {
+                case SAVE: {
+                    Order order = OrderCodec.decode(payload);
+                    index.save(order);
+                    trackSave(order.getOrderId(), segment);
+                    break;
+                }
+                case STATUS: {
+                    String orderId = readString(payload);
+                    OrderStatus status = STATUSES[payload.get()];
+                    String reason = readString(payload);
+                    Optional<Order> order = index.findById(orderId);
+                    if (order.isPresent()) {
+                        order.get().restoreStatus(status, reason);
+                        trackStatus(orderId, segment);
+                    } else {
+                        segment.recordCount++;
+                    }
+                    break;
+                }
+                case DELETE: {
+                    String orderId = readString(payload);
+                    index.deleteById(orderId);
+                    trackDelete(orderId, segment);
+                    break;
+                }
+                default:
+                    throw new IOException("Unknown journal record type " + type + " in segment " + segment.sequence());
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed journal record in segment " + segment.sequence(), e);
+        }
+    }
+
+    // ---------- Appending ----------
+
+    // Returns the segment the record was written to.
+    private JournalSegment append(String orderId, ByteBuffer record) {
+        ensureOpen();
+        try {
+            if (!active.append(record)) {
+                if (record.remaining() + JournalSegment.RECORD_OVERHEAD + JournalSegment.HEADER_SIZE > segmentSize) {
+                    throw new IllegalArgumentException("Order record is larger than a journal segment: " + orderId);
+                }
+                active = openSegment(active.sequence() + 1);
+                active.append(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to journal in " + directory, e);
+        }
+        return active;
+    }
+
+    // ---------- Live record tracking ----------
+    //
+    // An order is rebuilt from its latest SAVE record (the base) plus its latest
+    // STATUS record, if that came later. Those one or two records are live; every
+    // other record for the order is garbage that compaction may drop.
+
+    private void trackSave(String orderId, JournalSegment segment) {
+        segment.recordCount++;
+        Location location = locations.get(orderId);
+        if (location == null) {
+            location = new Location();
+            locations.put(orderId, location);
+        } else {
+            location.release();
+        }
+        location.base = segment;
+        location.latest = segment;
+        segment.liveCount++;
+    }
+
+    private void trackStatus(String orderId, JournalSegment segment) {
+        segment.recordCount++;
+        Location location = locations.get(orderId);
+        if (location.latest != location.base) {
+            location.latest.liveCount--;
+        }
+        location.latest = segment;
+        if (segment != location.base) {
+            segment.liveCount++;
+        }
+    }
+
+    private void trackDelete(String orderId, JournalSegment segment) {
+        segment.recordCount++;
+        Location location = locations.remove(orderId);
+        if (location != null) {
+            location.release();
+        }
+    }
+
+    private JournalSegment openSegment(long sequence) throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, sequence, segmentSize);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    // Live records are copied forward as one full SAVE of the order's current state.
+    private void rewrite(JournalSegment segment) throws IOException {
+        boolean oldest = segments.firstKey() == segment.sequence();
+        Set<String> liveIds = new LinkedHashSet<>();
+        List<String> tombstones = new ArrayList<>();
+        OrderFlyweight saved = new OrderFlyweight();
+        segment.scan((type, payload) -> {
+            String orderId = type == SAVE ? saved.wrap(payload, payload.position()).orderId() : readString(payload);
+            Location location = locations.get(orderId);
+            if (type == DELETE) {
+                if (!oldest && location == null) {
+                    tombstones.add(orderId);
+                }
+            } else if (location != null && (location.base == segment || location.latest == segment)) {
+                liveIds.add(orderId);
+            }
+        });
+
+        long firstWritten = active.sequence();
+        for (String orderId : liveIds) {
+            Order order = index.findById(orderId).orElseThrow(IllegalStateException::new);
+            trackSave(orderId, append(orderId, encodeSave(order)));
+        }
+        for (String orderId : tombstones) {
+            trackDelete(orderId, append(orderId, encodeDelete(orderId)));
+        }
+        // The copies must be on disk before the old file, possibly their only durable copy, goes.
+        for (JournalSegment written : segments.tailMap(firstWritten, true).values()) {
+            written.force();
+        }
+        segments.remove(segment.sequence());
+        segment.delete();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        IOException failure = null;
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // ---------- Record encoding ----------
+    //
+    // SAVE:   an OrderCodec order record
+    // STATUS: orderId, status, cancellationReason
+    // DELETE: orderId
+    //
+    // STATUS and DELETE strings are an int UTF-8 length (-1 for null) followed by the bytes.
+
+    private ByteBuffer encodeSave(Order order) {
+        ByteBuffer out = scratch(1 + OrderCodec.encodedLength(order));
+        out.put(SAVE);
+        OrderCodec.encode(order, out);
+        return out.flip();
+    }
+
+    private ByteBuffer encodeStatus(Order order) {
+        byte[] orderId = utf8(order.getOrderId());
+        byte[] reason = utf8(order.getCancellationReason());
+        ByteBuffer out = scratch(1 + stringSize(orderId) + 1 + stringSize(reason));
+        out.put(STATUS);
+        putString(out, orderId);
+        out.put((byte) order.getStatus().ordinal());
+        putString(out, reason);
+        return out.flip();
+    }
+
+    private ByteBuffer encodeDelete(String orderId) {
+        byte[] id = utf8(orderId);
+        ByteBuffer out = scratch(1 + stringSize(id));
+        out.put(DELETE);
+        putString(out, id);
+        return out.flip();
+    }
+
+    private ByteBuffer scratch(int size) {
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        return scratch;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Location {
+
+        JournalSegment base;
+        JournalSegment latest;
+
+        void release() {
+            base.liveCount--;
+            if (latest != base) {
+                latest.liveCount--;
+            }
+        }
+    }
+}
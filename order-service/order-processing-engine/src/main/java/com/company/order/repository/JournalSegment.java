@@ -0,0 +1,178 @@
+package com.company.order.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped journal file. Records are appended back to back
+ * after a 16-byte header:
+ *
+ * <pre>
+ * int length | byte type | payload (length bytes) | int crc32c(type, payload)
+ * </pre>
+ *
+ * The file is preallocated with zeros, so a zero length marks the end of the
+ * written records. The length is written last, and the checksum catches a record
+ * that was only partly written when the process died. Not thread-safe; the
+ * journal serializes all access.
+ */
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_OVERHEAD = Integer.BYTES + 1 + Integer.BYTES;
+
+    private static final int MAGIC = 0x4F524A4C; // "ORJL"
+    private static final int VERSION = 2;
+    private static final String FILE_PREFIX = "segment-";
+    private static final String FILE_SUFFIX = ".journal";
+
+    private final Path file;
+    private final long sequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+
+    private int writePosition = HEADER_SIZE;
+
+    // Records in this segment, and how many of them still hold the latest state of an
+    // order. Both are maintained by the repository's tracking, for appends and replay alike.
+    int recordCount;
+    int liveCount;
+
+    private JournalSegment(Path file, long sequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.sequence = sequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long sequence, int size) throws IOException {
+        Path file = directory.resolve(fileName(sequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, sequence);
+            return new JournalSegment(file, sequence, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static JournalSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a journal segment: " + file);
+            }
+            return new JournalSegment(file, buffer.getLong(8), channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    private static String fileName(long sequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, sequence, FILE_SUFFIX);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Appends one record whose type and payload are {@code record}'s remaining bytes
+     * (type first). Returns {@code false}, writing nothing, if it does not fit.
+     */
+    boolean append(ByteBuffer record) {
+        int bodyLength = record.remaining();
+        if (writePosition + Integer.BYTES + bodyLength + Integer.BYTES > buffer.capacity()) {
+            return false;
+        }
+
+        int bodyPosition = writePosition + Integer.BYTES;
+        crc.reset();
+        crc.update(record.duplicate());
+        buffer.put(bodyPosition, record, record.position(), bodyLength);
+        buffer.putInt(bodyPosition + bodyLength, (int) crc.getValue());
+        // The length goes in last: until it is non-zero the record does not exist.
+        buffer.putInt(writePosition, bodyLength);
+
+        writePosition = bodyPosition + bodyLength + Integer.BYTES;
+        return true;
+    }
+
+    /**
+     * Visits every intact record from the start of the segment and leaves the write
+     * position after the last one. A torn record at the end is zeroed out so later
+     * appends cannot be confused with its leftovers.
+     *
+     * @return whether the scan stopped at a damaged record rather than the clean end
+     */
+    boolean scan(RecordVisitor visitor) throws IOException {
+        int position = HEADER_SIZE;
+        boolean damaged = false;
+        while (position + Integer.BYTES <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength == 0) {
+                break;
+            }
+            int bodyPosition = position + Integer.BYTES;
+            if (bodyLength < 1 || (long) bodyPosition + bodyLength + Integer.BYTES > buffer.capacity()
+                    || !checksumMatches(bodyPosition, bodyLength)) {
+                damaged = true;
+                break;
+            }
+            byte type = buffer.get(bodyPosition);
+            visitor.visit(type, buffer.slice(bodyPosition + 1, bodyLength - 1));
+            position = bodyPosition + bodyLength + Integer.BYTES;
+        }
+
+        writePosition = position;
+        if (damaged) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return damaged;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    private boolean checksumMatches(int bodyPosition, int bodyLength) {
+        crc.reset();
+        crc.update(buffer.slice(bodyPosition, bodyLength));
+        return (int) crc.getValue() == buffer.getInt(bodyPosition + bodyLength);
+    }
+
+    interface RecordVisitor {
+
+        void visit(byte type, ByteBuffer payload) throws IOException;
+    }
+}
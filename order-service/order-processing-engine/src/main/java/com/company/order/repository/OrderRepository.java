@@ -1,13 +1,82 @@
-package com.company.order.repository;
-
-import java.util.List;
-import java.util.Optional;
-
-import com.company.order.model.Order;
-
-public interface OrderRepository {
-
-    Optional<Order> findById(String orderId);
-
-    List<Order> findByCustomerId(String customerId);
-}
+package com.company.order.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+
+public interface OrderRepository {
+
+    Optional<Order> findById(String orderId);
+
+    /**
+     * Looks up several orders at once. The returned map holds only the IDs that
+     * were found, in the iteration order of {@code orderIds}. Implementations should
+     * override this to serve the whole batch in one pass or round trip; the default
+     * falls back to one {@link #findById} per ID.
+     */
+    default Map<String, Order> findByIds(Collection<String> orderIds) {
+        Map<String, Order> found = new LinkedHashMap<>();
+        for (String orderId : orderIds) {
+            findById(orderId).ifPresent(order -> found.put(orderId, order));
+        }
+        return found;
+    }
+
+    List<Order> findByCustomerId(String customerId);
+
+    /**
+     * Returns up to {@code pageSize} of the customer's orders whose IDs sort after
+     * {@code afterOrderId} ({@code null} starts from the beginning). The page's next
+     * token is the last order ID returned, or {@code null} once the history is
+     * exhausted. Implementations should override this to read only one page; the
+     * default loads the whole history through {@link #findByCustomerId(String)},
+     * treating a {@code null} history as empty.
+     */
+    default OrderPage findByCustomerId(String customerId, String afterOrderId, int pageSize) {
+        List<Order> history = findByCustomerId(customerId);
+        if (history == null || history.isEmpty()) {
+            return OrderPage.empty();
+        }
+        List<Order> all = new ArrayList<>(history);
+        all.sort(Comparator.comparing(Order::getOrderId));
+
+        List<Order> page = new ArrayList<>(Math.min(pageSize, all.size()));
+        int i = 0;
+        while (i < all.size() && afterOrderId != null && all.get(i).getOrderId().compareTo(afterOrderId) <= 0) {
+            i++;
+        }
+        while (i < all.size() && page.size() < pageSize) {
+            page.add(all.get(i++));
+        }
+        String nextToken = i < all.size() ? page.get(page.size() - 1).getOrderId() : null;
+        return new OrderPage(page, nextToken);
+    }
+
+    void save(Order order);
+
+    /**
+     * Saves {@code order} only if an order with its ID is already stored, like
+     * {@link Map#replace(Object, Object)}.
+     * Implementations should override this to check and write in one atomic step;
+     * the default checks with {@link #findById} and then saves, so a concurrent
+     * {@link #deleteById} can slip in between and the order comes back.
+     *
+     * @return whether the order was stored and has been replaced
+     */
+    default boolean replace(Order order) {
+        if (order.getOrderId() == null || findById(order.getOrderId()).isEmpty()) {
+            return false;
+        }
+        save(order);
+        return true;
+    }
+
+    boolean deleteById(String orderId);
+}
@@ -1,49 +1,103 @@
-package com.company.order.service;
-
-import com.company.order.exception.ComplianceViolationException;
-import com.company.order.model.Customer;
-import com.company.order.model.Order;
-import com.company.order.model.OrderItem;
-
-public class ComplianceService {
-
-    private static final double MAX_ORDER_TOTAL = 5_00_000;
-
-    public void validateOrder(Order order, Customer customer) {
-        validateCustomer(customer);
-        validateItems(order);
-        validateTotalAmount(order);
-    }
-
-    private void validateCustomer(Customer customer) {
-        if (!customer.isActive()) {
-            throw new ComplianceViolationException("Customer is inactive");
-        }
-    }
-
-    private void validateItems(Order order) {
-        if (order.getItems() == null || order.getItems().isEmpty()) {
-            throw new ComplianceViolationException("Order has no items");
-        }
-
-        for (OrderItem item : order.getItems()) {
-            if (item.getPrice() <= 0) {
-                throw new ComplianceViolationException("Item price must be greater than 0");
-            }
-            if (item.getQuantity() <= 0) {
-                throw new ComplianceViolationException("Item quantity must be greater than 0");
-            }
-        }
-    }
-
-    private void validateTotalAmount(Order order) {
-        double totalAmount = order.getItems().stream()
-                .mapToDouble(i -> i.getPrice() * i.getQuantity())
-                .sum();
-
-        if (totalAmount > MAX_ORDER_TOTAL) {
-            throw new ComplianceViolationException("Order total cannot exceed ₹5,00,000");
-        }
-    }
-
-}
+package com.company.order.service;
+
+import com.company.order.compliance.ComplianceRuleChain;
+import com.company.order.exception.ComplianceViolationException;
+import com.company.order.metrics.Operation;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+public class ComplianceService {
+
+    private static final ThreadLocal<ValidationResult> SCRATCH_RESULT =
+            ThreadLocal.withInitial(ValidationResult::new);
+
+    private final ComplianceRuleChain rules;
+    private final OrderMetrics metrics;
+
+    public ComplianceService() {
+        this(OrderMetrics.noop());
+    }
+
+    public ComplianceService(OrderMetrics metrics) {
+        this(ComplianceRuleChain.defaults(), metrics);
+    }
+
+    /**
+     * Validates against {@code rules}, for example the defaults extended with
+     * {@link ComplianceRuleChain#with} by fraud checks.
+     */
+    public ComplianceService(ComplianceRuleChain rules, OrderMetrics metrics) {
+        this.rules = rules;
+        this.metrics = metrics;
+    }
+
+    public void validateOrder(Order order, Customer customer) {
+        RejectionReason reason = validateOrder(order, customer, SCRATCH_RESULT.get()).getReason();
+
+        if (reason != null) {
+            throw new ComplianceViolationException(messageFor(reason));
+        }
+    }
+
+    public ValidationResult validateOrder(Order order, Customer customer, ValidationResult result) {
+        long start = metrics.startTimer();
+        check(order, customer, result);
+        metrics.recordLatency(Operation.VALIDATE_ORDER, start);
+        return result;
+    }
+
+    /**
+     * Takes an order that passed validation out of the rules' rolling limits as it
+     * is accepted, atomically, so concurrent orders cannot overshoot a limit.
+     * Returns the rejection reason if a limit has been reached, in which case
+     * nothing is taken. Quotes do not reserve.
+     */
+    public RejectionReason reserve(Order order, Customer customer) {
+        RejectionReason reason = rules.reserve(order, customer);
+        if (reason != null) {
+            metrics.recordRejection(reason);
+        }
+        return reason;
+    }
+
+    /**
+     * Validates for a caller that times its own operation, so the call is not
+     * timed a second time as {@link Operation#VALIDATE_ORDER}.
+     */
+    RejectionReason evaluate(Order order, Customer customer) {
+        return check(order, customer, SCRATCH_RESULT.get()).getReason();
+    }
+
+    private ValidationResult check(Order order, Customer customer, ValidationResult result) {
+        rules.evaluate(order, customer, result);
+        if (!result.isValid()) {
+            metrics.recordRejection(result.getReason());
+        }
+        return result;
+    }
+
+    private static String messageFor(RejectionReason reason) {
+        switch (reason) {
+            case INACTIVE_CUSTOMER:
+                return "Customer is inactive";
+            case NO_ITEMS:
+                return "Order has no items";
+            case INVALID_PRICE:
+                return "Item price must be greater than 0";
+            case INVALID_QUANTITY:
+                return "Item quantity must be greater than 0";
+            case LIMIT_EXCEEDED:
+                return "Order total cannot exceed ₹5,00,000";
+            case ORDER_RATE_EXCEEDED:
+                return "Too many orders from this customer, try again later";
+            case SPEND_LIMIT_EXCEEDED:
+                return "Customer spend limit exceeded, try again later";
+            default:
+                throw new IllegalArgumentException("Unknown rejection reason: " + reason);
+        }
+    }
+
+}
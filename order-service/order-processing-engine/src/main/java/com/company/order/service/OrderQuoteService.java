@@ -0,0 +1,39 @@
+package com.company.order.service;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderQuote;
+import com.company.order.model.ValidationResult;
+
+/**
+ * Validates and prices an order while reading its lines once: the compliance
+ * pass produces the order total, which pricing then reuses.
+ */
+public class OrderQuoteService {
+
+    private static final ThreadLocal<ValidationResult> SCRATCH_RESULT =
+            ThreadLocal.withInitial(ValidationResult::new);
+
+    private final ComplianceService complianceService;
+    private final PricingService pricingService;
+
+    public OrderQuoteService(ComplianceService complianceService, PricingService pricingService) {
+        this.complianceService = complianceService;
+        this.pricingService = pricingService;
+    }
+
+    public OrderQuote quote(Order order, Customer customer, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        ValidationResult validation = complianceService.validateOrder(order, customer, SCRATCH_RESULT.get());
+
+        if (!validation.isValid()) {
+            return OrderQuote.rejected(validation.getReason(), validation.getTotalPaise());
+        }
+
+        long totalPaise = validation.getTotalPaise();
+        int discountPercent =
+                pricingService.calculateDiscountPercentagePaise(totalPaise, isPremiumCustomer, isFestivalOfferEnabled);
+        long gstPaise = pricingService.calculateGSTPaise(totalPaise, discountPercent);
+
+        return OrderQuote.accepted(totalPaise, discountPercent, gstPaise);
+    }
+}
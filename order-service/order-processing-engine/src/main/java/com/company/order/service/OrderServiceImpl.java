@@ -1,98 +1,376 @@
-package com.company.order.service;
-
-import java.util.List;
-import java.util.Optional;
-
-import com.company.order.exception.InvalidOrderException;
-import com.company.order.exception.OrderNotFoundException;
-import com.company.order.model.Customer;
-import com.company.order.model.Order;
-import com.company.order.model.OrderItem;
-import com.company.order.model.OrderStatus;
-import com.company.order.repository.OrderRepository;
-
-public class OrderServiceImpl {
-	
-	 private final OrderRepository orderRepository;
-	 
-	 
-
-	
-
-	 public OrderServiceImpl(OrderRepository orderRepository) {
-	        this.orderRepository = orderRepository;
-	    }
-
-    private static final double MAX_ORDER_TOTAL = 500_000;
-
-    public void createOrder(Order order, Customer customer) {
-
-        if (!customer.isActive()) {
-            throw new InvalidOrderException("Customer is inactive");
-        }
-
-        if (order.getItems() == null || order.getItems().isEmpty()) {
-            throw new InvalidOrderException("Order has no items");
-        }
-
-        double totalAmount = 0;
-
-        for (OrderItem item : order.getItems()) {
-
-            if (item.getPrice() <= 0) {
-                throw new InvalidOrderException("Item price must be greater than zero");
-            }
-
-            if (item.getQuantity() <= 0) {
-                throw new InvalidOrderException("Item quantity must be greater than zero");
-            }
-
-            totalAmount += item.getPrice() * item.getQuantity();
-        }
-
-        if (totalAmount > MAX_ORDER_TOTAL) {
-            throw new InvalidOrderException("Order total exceeds allowed limit");
-        }
-    }
-    
-    public void cancelOrder(Order order, String reason) {
-
-        if (reason == null || reason.trim().isEmpty()) {
-            throw new InvalidOrderException("Cancellation reason is mandatory");
-        }
-
-        if (order.getStatus() == OrderStatus.CANCELLED) {
-            throw new InvalidOrderException("Order is already cancelled");
-        }
-
-        order.cancel(reason);
-    }
-    
-    public Order getOrderById(String orderId) {
-
-        return orderRepository.findById(orderId)
-                .orElseThrow(() ->
-                        new OrderNotFoundException("Order not found for ID: " + orderId));
-    }
-
-    public List<Order> getOrdersByCustomerId(String customerId) {
-
-        if (customerId == null || customerId.trim().isEmpty()) {
-            throw new InvalidOrderException("Customer ID cannot be null or empty");
-        }
-
-        List<Order> orders =
-                Optional.ofNullable(orderRepository.findByCustomerId(customerId))
-                        .orElse(List.of());
-
-        if (orders.isEmpty()) {
-            throw new OrderNotFoundException(
-                    "No orders found for customer ID: " + customerId);
-        }
-
-        return orders;
-    }
-
-
-
-}
+package com.company.order.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.company.order.concurrent.SingleFlight;
+import com.company.order.concurrent.SingleFlightStats;
+import com.company.order.concurrent.VirtualThreads;
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.exception.OrderNotFoundException;
+import com.company.order.metrics.Operation;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderLookupResult;
+import com.company.order.model.OrderPage;
+import com.company.order.model.OrderQuote;
+import com.company.order.model.OrderResult;
+import com.company.order.model.OrderStatus;
+import com.company.order.model.OrderSubmission;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+import com.company.order.repository.OrderRepository;
+
+public class OrderServiceImpl {
+	
+	 private final OrderRepository orderRepository;
+	 private final ComplianceService complianceService;
+	 private final OrderQuoteService quoteService;
+	 private final ForkJoinPool validationPool;
+	 private final Executor lookupExecutor;
+	 private final OrderMetrics metrics;
+	 private final SingleFlight<String, Order> orderLookups = new SingleFlight<>();
+	 
+
+	
+
+	 public OrderServiceImpl(OrderRepository orderRepository) {
+	        this(orderRepository, ForkJoinPool.commonPool());
+	    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ForkJoinPool validationPool) {
+        this(orderRepository, new ComplianceService(), validationPool);
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ComplianceService complianceService,
+            ForkJoinPool validationPool) {
+        this(orderRepository, complianceService, new PricingService(), validationPool);
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ComplianceService complianceService,
+            PricingService pricingService, ForkJoinPool validationPool) {
+        this(orderRepository, complianceService, pricingService, validationPool, VirtualThreads.shared());
+    }
+
+    /**
+     * Records service and repository latencies and compliance rejections to
+     * {@code metrics}, including those of the compliance and pricing services it
+     * creates.
+     */
+    public OrderServiceImpl(OrderRepository orderRepository, OrderMetrics metrics) {
+        this(orderRepository, new ComplianceService(metrics), new PricingService(metrics),
+                ForkJoinPool.commonPool(), VirtualThreads.shared(), metrics);
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ComplianceService complianceService,
+            PricingService pricingService, ForkJoinPool validationPool, Executor lookupExecutor) {
+        this(orderRepository, complianceService, pricingService, validationPool, lookupExecutor, OrderMetrics.noop());
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ComplianceService complianceService,
+            PricingService pricingService, ForkJoinPool validationPool, Executor lookupExecutor,
+            OrderMetrics metrics) {
+        this.orderRepository = orderRepository;
+        this.complianceService = complianceService;
+        this.quoteService = new OrderQuoteService(complianceService, pricingService);
+        this.validationPool = validationPool;
+        this.lookupExecutor = lookupExecutor;
+        this.metrics = metrics;
+    }
+
+    // Batches smaller than this are validated on the calling fork-join worker.
+    private static final int BATCH_SPLIT_THRESHOLD = 256;
+
+    // Upper bound on orders held in memory per history page.
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    public void createOrder(Order order, Customer customer) {
+
+        long start = metrics.startTimer();
+        RejectionReason reason = complianceService.evaluate(order, customer);
+        if (reason == null) {
+            reason = complianceService.reserve(order, customer);
+        }
+        metrics.recordLatency(Operation.CREATE_ORDER, start);
+
+        if (reason != null) {
+            throw new InvalidOrderException(messageFor(reason));
+        }
+    }
+
+    public ValidationResult validateOrder(Order order, Customer customer, ValidationResult result) {
+        return complianceService.validateOrder(order, customer, result);
+    }
+
+    public OrderQuote quoteOrder(Order order, Customer customer, boolean isPremiumCustomer,
+            boolean isFestivalOfferEnabled) {
+        return quoteService.quote(order, customer, isPremiumCustomer, isFestivalOfferEnabled);
+    }
+
+    public List<OrderResult> createOrders(List<OrderSubmission> submissions) {
+
+        if (submissions == null) {
+            throw new InvalidOrderException("Order submissions cannot be null");
+        }
+
+        OrderSubmission[] batch = submissions.toArray(new OrderSubmission[0]);
+        OrderResult[] results = new OrderResult[batch.length];
+
+        if (batch.length > 0) {
+            validationPool.invoke(new BatchValidationTask(batch, results, 0, batch.length));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private static String messageFor(RejectionReason reason) {
+        switch (reason) {
+            case INACTIVE_CUSTOMER:
+                return "Customer is inactive";
+            case NO_ITEMS:
+                return "Order has no items";
+            case INVALID_PRICE:
+                return "Item price must be greater than zero";
+            case INVALID_QUANTITY:
+                return "Item quantity must be greater than zero";
+            case LIMIT_EXCEEDED:
+                return "Order total exceeds allowed limit";
+            case ORDER_RATE_EXCEEDED:
+                return "Too many orders from customer";
+            case SPEND_LIMIT_EXCEEDED:
+                return "Customer spend limit exceeded";
+            default:
+                throw new IllegalArgumentException("Unknown rejection reason: " + reason);
+        }
+    }
+
+    private final class BatchValidationTask extends RecursiveAction {
+
+        private final OrderSubmission[] batch;
+        private final OrderResult[] results;
+        private final int from;
+        private final int to;
+
+        BatchValidationTask(OrderSubmission[] batch, OrderResult[] results, int from, int to) {
+            this.batch = batch;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Order order = batch[i].getOrder();
+                    Customer customer = batch[i].getCustomer();
+                    long start = metrics.startTimer();
+                    RejectionReason reason = complianceService.evaluate(order, customer);
+                    if (reason == null) {
+                        reason = complianceService.reserve(order, customer);
+                    }
+                    metrics.recordLatency(Operation.CREATE_ORDER, start);
+                    results[i] = reason == null
+                            ? OrderResult.accepted(order)
+                            : OrderResult.rejected(order, reason);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchValidationTask(batch, results, from, mid),
+                    new BatchValidationTask(batch, results, mid, to));
+        }
+    }
+    
+    /**
+     * Cancels {@code order}. An order that is stored in the repository is saved
+     * again afterwards, which also invalidates any cached copy; an order without an
+     * ID, or one that was never stored, is only cancelled in memory.
+     */
+    public void cancelOrder(Order order, String reason) {
+
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new InvalidOrderException("Cancellation reason is mandatory");
+        }
+
+        if (!order.cancel(reason)) {
+            OrderStatus status = order.getStatus();
+            throw new InvalidOrderException(status == OrderStatus.CANCELLED
+                    ? "Order is already cancelled"
+                    : "Order cannot be cancelled once " + status);
+        }
+
+        if (order.getOrderId() != null) {
+            orderRepository.replace(order);
+        }
+    }
+    
+    /**
+     * Concurrent lookups of the same ID share one repository call and its result;
+     * when the order does not exist they all get the same
+     * {@link OrderNotFoundException}.
+     */
+    public Order getOrderById(String orderId) {
+        if (orderId == null) {
+            return loadOrder(null);
+        }
+        return orderLookups.execute(orderId, this::loadOrder);
+    }
+
+    /** How many {@link #getOrderById} calls were answered by a lookup already in flight. */
+    public SingleFlightStats lookupCoalescingStats() {
+        return orderLookups.stats();
+    }
+
+    private Order loadOrder(String orderId) {
+
+        long start = metrics.startTimer();
+        Optional<Order> order = orderRepository.findById(orderId);
+        metrics.recordLatency(Operation.FIND_BY_ID, start);
+
+        return order.orElseThrow(() ->
+                        new OrderNotFoundException("Order not found for ID: " + orderId));
+    }
+
+    /**
+     * Fetches several orders with one repository call. IDs that do not exist are
+     * reported in {@link OrderLookupResult#getMissingIds()} instead of failing the
+     * whole lookup; duplicate IDs are looked up once.
+     */
+    public OrderLookupResult getOrdersByIds(Collection<String> orderIds) {
+
+        if (orderIds == null) {
+            throw new InvalidOrderException("Order IDs cannot be null");
+        }
+
+        Set<String> uniqueIds = new LinkedHashSet<>(orderIds);
+        if (uniqueIds.contains(null)) {
+            throw new InvalidOrderException("Order IDs cannot contain null");
+        }
+
+        Map<String, Order> found = new LinkedHashMap<>();
+        if (!uniqueIds.isEmpty()) {
+            long start = metrics.startTimer();
+            found.putAll(orderRepository.findByIds(uniqueIds));
+            metrics.recordLatency(Operation.FIND_BY_IDS, start);
+        }
+
+        List<String> missingIds = new ArrayList<>();
+        for (String orderId : uniqueIds) {
+            if (!found.containsKey(orderId)) {
+                missingIds.add(orderId);
+            }
+        }
+
+        return new OrderLookupResult(found, missingIds);
+    }
+
+    /**
+     * Looks the order up on the lookup executor (virtual threads by default). The
+     * future fails with {@link OrderNotFoundException} when the ID is unknown.
+     */
+    public CompletableFuture<Order> getOrderByIdAsync(String orderId) {
+        return CompletableFuture.supplyAsync(() -> getOrderById(orderId), lookupExecutor);
+    }
+
+    public List<Order> getOrdersByCustomerId(String customerId) {
+
+        if (customerId == null || customerId.trim().isEmpty()) {
+            throw new InvalidOrderException("Customer ID cannot be null or empty");
+        }
+
+        long start = metrics.startTimer();
+        List<Order> orders =
+                Optional.ofNullable(orderRepository.findByCustomerId(customerId))
+                        .orElse(List.of());
+        metrics.recordLatency(Operation.FIND_BY_CUSTOMER, start);
+
+        if (orders.isEmpty()) {
+            throw new OrderNotFoundException(
+                    "No orders found for customer ID: " + customerId);
+        }
+
+        return orders;
+    }
+
+    /**
+     * Returns one page of a customer's order history, sorted by order ID. Pass
+     * {@code null} as the token for the first page and the previous page's
+     * {@link OrderPage#getNextToken()} after that. An exhausted or unknown history
+     * gives an empty page rather than {@link OrderNotFoundException}.
+     */
+    public OrderPage getOrdersByCustomerId(String customerId, String resumeToken, int pageSize) {
+
+        if (customerId == null || customerId.trim().isEmpty()) {
+            throw new InvalidOrderException("Customer ID cannot be null or empty");
+        }
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidOrderException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long start = metrics.startTimer();
+        OrderPage page = orderRepository.findByCustomerId(customerId, resumeToken, pageSize);
+        metrics.recordLatency(Operation.FIND_BY_CUSTOMER, start);
+        return page != null ? page : OrderPage.empty();
+    }
+
+    /**
+     * Streams a customer's whole order history, fetching it from the repository one
+     * page at a time as the stream is consumed, so at most {@code pageSize} orders
+     * are held at once.
+     */
+    public Stream<Order> streamOrdersByCustomerId(String customerId, int pageSize) {
+        OrderPage first = getOrdersByCustomerId(customerId, null, pageSize);
+        return StreamSupport.stream(new PagedOrderSpliterator(customerId, pageSize, first), false);
+    }
+
+    public CompletableFuture<List<Order>> getOrdersByCustomerIdAsync(String customerId) {
+        return CompletableFuture.supplyAsync(() -> getOrdersByCustomerId(customerId), lookupExecutor);
+    }
+
+    private final class PagedOrderSpliterator extends Spliterators.AbstractSpliterator<Order> {
+
+        private final String customerId;
+        private final int pageSize;
+        private OrderPage page;
+        private int index;
+
+        PagedOrderSpliterator(String customerId, int pageSize, OrderPage first) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.customerId = customerId;
+            this.pageSize = pageSize;
+            this.page = first;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Order> action) {
+            while (index == page.getOrders().size()) {
+                if (!page.hasNext()) {
+                    return false;
+                }
+                page = getOrdersByCustomerId(customerId, page.getNextToken(), pageSize);
+                index = 0;
+            }
+            action.accept(page.getOrders().get(index++));
+            return true;
+        }
+    }
+}
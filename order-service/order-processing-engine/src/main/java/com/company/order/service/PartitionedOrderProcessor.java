@@ -0,0 +1,114 @@
+package com.company.order.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+
+/**
+ * Runs {@link OrderServiceImpl} writes on a fixed set of single-threaded lanes,
+ * picking the lane from a hash of the order's customer ID. All operations for
+ * one customer therefore run one at a time, in submission order, while different
+ * customers proceed in parallel on other lanes without any shared lock. Orders
+ * without a customer ID all run on lane 0, whichever {@link Customer} is passed
+ * to {@link #createOrder}.
+ *
+ * <p>Each lane has a bounded queue. When a customer's lane is full the returned
+ * future fails immediately with {@link RejectedExecutionException} rather than
+ * blocking the caller, so overload is visible to whoever submitted the work.
+ */
+public class PartitionedOrderProcessor implements AutoCloseable {
+
+    private final OrderServiceImpl service;
+    private final ThreadPoolExecutor[] lanes;
+
+    public PartitionedOrderProcessor(OrderServiceImpl service, int queueCapacity) {
+        this(service, Runtime.getRuntime().availableProcessors(), queueCapacity);
+    }
+
+    public PartitionedOrderProcessor(OrderServiceImpl service, int laneCount, int queueCapacity) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Lane count must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.service = service;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "order-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), task -> {
+                        Thread thread = new Thread(task, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            lanes[i].prestartCoreThread();
+        }
+    }
+
+    /**
+     * Validates the order on its customer's lane. The future completes with the
+     * order once accepted, or fails with the exception {@code createOrder} threw.
+     */
+    public CompletableFuture<Order> createOrder(Order order, Customer customer) {
+        return submit(order, () -> {
+            service.createOrder(order, customer);
+            return order;
+        });
+    }
+
+    public CompletableFuture<Order> cancelOrder(Order order, String reason) {
+        return submit(order, () -> {
+            service.cancelOrder(order, reason);
+            return order;
+        });
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /** Lane that runs {@code customerId}'s operations; orders without a customer share lane 0. */
+    public int laneOf(String customerId) {
+        if (customerId == null) {
+            return 0;
+        }
+        int hash = customerId.hashCode();
+        // Spread the high bits so IDs that differ only in a suffix still scatter.
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    public int queuedCount(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * Stops accepting work and waits for every queued operation to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Routes on the order's own customer ID, the only key every operation on the order
+    // has, so an order without one runs all its operations on lane 0.
+    private <T> CompletableFuture<T> submit(Order order, Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, lanes[laneOf(order.getCustomerId())]);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
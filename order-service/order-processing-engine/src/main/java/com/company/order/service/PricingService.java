@@ -1,41 +1,88 @@
-package com.company.order.service;
-
-public class PricingService {
-
-    private static final int MAX_DISCOUNT_PERCENT = 25;
-
-    public int calculateDiscountPercentage(double totalAmount, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
-        int discountPercent = 0;
-
-        if (totalAmount >= 25_000) {
-            discountPercent = 10;
-        } else if (totalAmount >= 10_000) {
-            discountPercent = 5;
-        }
-
-        if (isPremiumCustomer) {
-            discountPercent += 5;
-        }
-
-        if (isFestivalOfferEnabled) {
-            discountPercent += 5;
-        }
-
-        discountPercent = Math.min(discountPercent, MAX_DISCOUNT_PERCENT);
-
-        return discountPercent;
-    }
-
-    // GREEN: Implement GST calculation
-    private double roundToTwoDecimals(double value) {
-        return Math.round(value * 100.0) / 100.0;
-    }
-
-    public double calculateGST(double totalAmount, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
-        int discountPercent = calculateDiscountPercentage(totalAmount, isPremiumCustomer, isFestivalOfferEnabled);
-        double discountedAmount = totalAmount * (1 - discountPercent / 100.0);
-        double gst = discountedAmount * 0.18;
-        return roundToTwoDecimals(gst);
-    }
-
-}
\ No newline at end of file
+package com.company.order.service;
+
+import java.util.function.Supplier;
+
+import com.company.order.metrics.Operation;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.pricing.Money;
+import com.company.order.pricing.PricingRules;
+
+/**
+ * Discount and GST calculation against a {@link PricingRules} table. Each call
+ * reads the current table once from the supplier, so a table swapped in by
+ * {@link com.company.order.pricing.ReloadablePricingRules} applies from the next
+ * call without any locking.
+ */
+public class PricingService {
+
+    private final Supplier<PricingRules> rules;
+    private final OrderMetrics metrics;
+
+    public PricingService() {
+        this(OrderMetrics.noop());
+    }
+
+    public PricingService(OrderMetrics metrics) {
+        this(PricingRules::defaults, metrics);
+    }
+
+    public PricingService(Supplier<PricingRules> rules) {
+        this(rules, OrderMetrics.noop());
+    }
+
+    public PricingService(Supplier<PricingRules> rules, OrderMetrics metrics) {
+        this.rules = rules;
+        this.metrics = metrics;
+    }
+
+    public int calculateDiscountPercentage(double totalAmount, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        return calculateDiscountPercentagePaise(Money.toPaise(totalAmount), isPremiumCustomer, isFestivalOfferEnabled);
+    }
+
+    public int calculateDiscountPercentagePaise(long totalPaise, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        return rules.get().discountPercent(totalPaise, isPremiumCustomer, isFestivalOfferEnabled);
+    }
+
+    public double calculateGST(double totalAmount, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        long gstPaise = calculateGSTPaise(Money.toPaise(totalAmount), isPremiumCustomer, isFestivalOfferEnabled);
+        return Money.toRupees(gstPaise);
+    }
+
+    public long calculateGSTPaise(long totalPaise, boolean isPremiumCustomer, boolean isFestivalOfferEnabled) {
+        long start = metrics.startTimer();
+        PricingRules current = rules.get();
+        int discountPercent = current.discountPercent(totalPaise, isPremiumCustomer, isFestivalOfferEnabled);
+        long gst = current.gstPaise(totalPaise, discountPercent);
+        metrics.recordLatency(Operation.CALCULATE_GST, start);
+        return gst;
+    }
+
+    /**
+     * GST on {@code totalPaise} for a discount the caller already looked up.
+     */
+    public long calculateGSTPaise(long totalPaise, int discountPercent) {
+        long start = metrics.startTimer();
+        long gst = rules.get().gstPaise(totalPaise, discountPercent);
+        metrics.recordLatency(Operation.CALCULATE_GST, start);
+        return gst;
+    }
+
+    /**
+     * Prices a batch of order totals in one call, writing the GST for
+     * {@code totalsPaise[i]} to {@code gstPaiseOut[i]}. The whole batch is priced
+     * with one rule table, even if a reload happens part way through, and recorded
+     * as one {@link Operation#CALCULATE_GST} latency.
+     */
+    public void calculateGSTPaise(long[] totalsPaise, boolean[] premiumCustomers, boolean[] festivalOffers,
+            long[] gstPaiseOut) {
+        int count = totalsPaise.length;
+        if (premiumCustomers.length != count || festivalOffers.length != count || gstPaiseOut.length < count) {
+            throw new IllegalArgumentException("Pricing arrays must have matching lengths");
+        }
+
+        long start = metrics.startTimer();
+        rules.get().gstPaise(totalsPaise, premiumCustomers, festivalOffers, gstPaiseOut, count);
+        metrics.recordLatency(Operation.CALCULATE_GST, start);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.company.order.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AimdConcurrencyLimitTest {
+
+    private static final long TARGET_NANOS = 1_000_000;
+
+    @Test
+    @DisplayName("Should refuse slots beyond the current limit")
+    void shouldRefuseBeyondLimit() {
+
+        // Arrange
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(2, 1, 10, TARGET_NANOS);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire(), "Third concurrent call should be refused");
+        limit.cancel();
+        assertTrue(limit.tryAcquire(), "A cancelled slot should be reusable");
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit on slow calls and grow it back on fast ones")
+    void shouldAdaptToLatency() {
+
+        // Arrange
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(10, 2, 20, TARGET_NANOS);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TARGET_NANOS * 5);
+        }
+        int afterSlow = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < limit.getLimit(); j++) {
+                limit.tryAcquire();
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(TARGET_NANOS / 2);
+            }
+        }
+
+        // Assert
+        assertEquals(3, afterSlow, "Ten slow calls should cut the limit multiplicatively");
+        assertTrue(limit.getLimit() > afterSlow, "Fast calls under load should raise the limit");
+        assertTrue(limit.getLimit() <= 20, "Limit should never exceed the maximum");
+    }
+}
@@ -0,0 +1,163 @@
+package com.company.order.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.exception.AdmissionRejectedException;
+import com.company.order.exception.AdmissionRejectedException.Reason;
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.repository.OrderRepository;
+import com.company.order.service.OrderServiceImpl;
+
+class OrderAdmissionServiceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    // Runs submitted work only when the test says so.
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderServiceImpl(mock(OrderRepository.class));
+    }
+
+    @Test
+    @DisplayName("Should shed orders over the customer rate with a shared stackless exception")
+    void shouldShedOverCustomerRate() {
+
+        // Arrange
+        OrderAdmissionService admission = admission(new CustomerRateLimiter(1, 2, 100, now::get), null, 4, 16);
+
+        // Act
+        admission.submit(order("ORD1", "CUST1"), new Customer("CUST1", true));
+        admission.submit(order("ORD2", "CUST1"), new Customer("CUST1", true));
+        CompletableFuture<Order> third = admission.submit(order("ORD3", "CUST1"), new Customer("CUST1", true));
+        CompletableFuture<Order> other = admission.submit(order("ORD4", "CUST2"), new Customer("CUST2", true));
+
+        // Assert
+        AdmissionRejectedException shed = rejection(third);
+        assertEquals(Reason.CUSTOMER_RATE_LIMITED, shed.getReason());
+        assertSame(AdmissionRejectedException.of(Reason.CUSTOMER_RATE_LIMITED), shed, "Rejections should be preallocated");
+        assertEquals(0, shed.getStackTrace().length, "Rejections should carry no stack trace");
+        assertFalse(other.isDone(), "Another customer should still be admitted");
+        assertEquals(1, admission.rejectedCount(Reason.CUSTOMER_RATE_LIMITED));
+    }
+
+    @Test
+    @DisplayName("Should give back the rate-limit permits of an order shed by a later check")
+    void shouldReleasePermitsOfShedOrders() {
+
+        // Arrange
+        CustomerRateLimiter customerLimits = new CustomerRateLimiter(1, 1, 100, now::get);
+        TokenBucket globalLimit = new TokenBucket(1, 2, now::get);
+        OrderAdmissionService admission = admission(customerLimits, globalLimit, 1, 1);
+        admission.submit(order("ORD1", "CUST1"), new Customer("CUST1", true));
+        admission.submit(order("ORD2", "CUST2"), new Customer("CUST2", true));
+
+        // Act
+        CompletableFuture<Order> globallyLimited = admission.submit(order("ORD3", "CUST3"), new Customer("CUST3", true));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        CompletableFuture<Order> queueFull = admission.submit(order("ORD4", "CUST4"), new Customer("CUST4", true));
+
+        // Assert
+        assertEquals(Reason.GLOBAL_RATE_LIMITED, rejection(globallyLimited).getReason());
+        assertEquals(Reason.QUEUE_FULL, rejection(queueFull).getReason());
+        assertTrue(customerLimits.tryAcquire("CUST3"), "A globally limited order should not use the customer's permit");
+        assertTrue(customerLimits.tryAcquire("CUST4"), "An order shed by a full queue should not use the customer's permit");
+        assertTrue(globalLimit.tryAcquire(), "An order shed by a full queue should not use a global permit");
+    }
+
+    @Test
+    @DisplayName("Should queue beyond the concurrency limit and shed once the queue is full")
+    void shouldQueueThenShedWhenFull() {
+
+        // Arrange
+        OrderAdmissionService admission = admission(null, null, 1, 1);
+
+        // Act
+        CompletableFuture<Order> running = admission.submit(order("ORD1", "CUST1"), new Customer("CUST1", true));
+        CompletableFuture<Order> queued = admission.submit(order("ORD2", "CUST2"), new Customer("CUST2", true));
+        CompletableFuture<Order> shed = admission.submit(order("ORD3", "CUST3"), new Customer("CUST3", true));
+
+        // Assert
+        assertEquals(Reason.QUEUE_FULL, rejection(shed).getReason());
+        assertEquals(1, admission.queuedCount());
+        runPending();
+        assertTrue(running.isDone() && !running.isCompletedExceptionally());
+        assertTrue(queued.isDone() && !queued.isCompletedExceptionally(), "Queued order should start when a slot frees");
+        assertEquals(2, admission.admittedCount());
+    }
+
+    @Test
+    @DisplayName("Should drop orders that waited in the queue past the deadline")
+    void shouldDropExpiredQueuedOrders() {
+
+        // Arrange
+        OrderAdmissionService admission = admission(null, null, 1, 4);
+        admission.submit(order("ORD1", "CUST1"), new Customer("CUST1", true));
+        CompletableFuture<Order> waiting = admission.submit(order("ORD2", "CUST2"), new Customer("CUST2", true));
+
+        // Act
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        runPending();
+
+        // Assert
+        assertEquals(Reason.QUEUE_TIMEOUT, rejection(waiting).getReason());
+    }
+
+    @Test
+    @DisplayName("Should pass through the service's own validation failure")
+    void shouldPropagateValidationFailure() {
+
+        // Arrange
+        OrderAdmissionService admission = admission(null, null, 4, 4);
+
+        // Act
+        CompletableFuture<Order> result = admission.submit(order("ORD1", "CUST1"), new Customer("CUST1", false));
+        runPending();
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertTrue(failure.getCause() instanceof InvalidOrderException);
+    }
+
+    private OrderAdmissionService admission(CustomerRateLimiter customerLimits, TokenBucket globalLimit,
+            int concurrency, int queueCapacity) {
+        return new OrderAdmissionService(service, customerLimits, globalLimit,
+                new AimdConcurrencyLimit(concurrency, 1, concurrency, Long.MAX_VALUE), queueCapacity,
+                Duration.ofMillis(100), pending::add, now::get);
+    }
+
+    private void runPending() {
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static Order order(String orderId, String customerId) {
+        Order order = new Order(orderId, customerId);
+        order.addItem(new OrderItem(100, 1));
+        return order;
+    }
+
+    private static AdmissionRejectedException rejection(CompletableFuture<Order> future) {
+        ExecutionException failure = assertThrows(ExecutionException.class, future::get);
+        assertTrue(failure.getCause() instanceof AdmissionRejectedException);
+        return (AdmissionRejectedException) failure.getCause();
+    }
+}
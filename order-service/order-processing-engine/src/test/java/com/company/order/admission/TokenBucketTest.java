@@ -0,0 +1,74 @@
+package com.company.order.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("Should allow a full burst, then refill at the configured rate")
+    void shouldAllowBurstThenRefill() {
+
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        // Act & Assert
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire(), "Burst should be exhausted");
+
+        now.addAndGet(100_000_000L);
+        assertTrue(bucket.tryAcquire(), "One permit should refill after 1/rate seconds");
+        assertFalse(bucket.tryAcquire());
+
+        now.addAndGet(10_000_000_000L);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(), "A long pause should refill no more than the burst");
+        }
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should track customers separately and forget refilled buckets")
+    void shouldLimitCustomersSeparately() {
+
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        CustomerRateLimiter limiter = new CustomerRateLimiter(1, 1, 2, now::get);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("CUST1"));
+        assertFalse(limiter.tryAcquire("CUST1"), "CUST1 should be limited");
+        assertTrue(limiter.tryAcquire("CUST2"), "CUST2 has its own bucket");
+
+        now.addAndGet(2_000_000_000L);
+        assertEquals(2, limiter.expireIdle(), "Refilled buckets should be dropped");
+        assertTrue(limiter.tryAcquire("CUST3"));
+        assertEquals(1, limiter.trackedCustomers());
+    }
+
+    @Test
+    @DisplayName("Should share one overflow bucket among new customers once the limit is reached")
+    void shouldShareOverflowBucketWhenFull() {
+
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        CustomerRateLimiter limiter = new CustomerRateLimiter(1, 1, 2, now::get);
+        limiter.tryAcquire("CUST1");
+        limiter.tryAcquire("CUST2");
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("CUST3"), "The first customer over the limit gets the overflow bucket");
+        assertFalse(limiter.tryAcquire("CUST4"), "Customers over the limit share the overflow bucket");
+        assertEquals(2, limiter.trackedCustomers(), "The map should not grow past the limit");
+
+        limiter.release("CUST3");
+        assertTrue(limiter.tryAcquire("CUST4"), "A released permit should be available again");
+    }
+}
@@ -0,0 +1,149 @@
+package com.company.order.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+class OrderCodecTest {
+
+    @Test
+    @DisplayName("Order should survive an encode/decode round trip with lines, status and reason")
+    void shouldRoundTripOrder() {
+
+        // Arrange
+        Order order = new Order("ORD-1", "CUST-₹-😀");
+        order.addItem(199.99, 3);
+        order.addItem(0.01, 1);
+        order.cancel("Changed mind — ünïcödé");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        // Act
+        int written = OrderCodec.encode(order, buffer);
+        buffer.flip();
+        Order decoded = OrderCodec.decode(buffer);
+
+        // Assert
+        assertEquals(OrderCodec.encodedLength(order), written);
+        assertEquals(written, buffer.position(), "Decode should consume exactly one record");
+        assertEquals("ORD-1", decoded.getOrderId());
+        assertEquals("CUST-₹-😀", decoded.getCustomerId());
+        assertEquals(OrderStatus.CANCELLED, decoded.getStatus());
+        assertEquals("Changed mind — ünïcödé", decoded.getCancellationReason());
+        assertEquals(2, decoded.getLines().size());
+        assertEquals(199.99, decoded.getLines().price(0));
+        assertEquals(3, decoded.getLines().quantity(0));
+        assertEquals(0.01, decoded.getLines().price(1));
+    }
+
+    @Test
+    @DisplayName("Null IDs and an empty order should round trip")
+    void shouldRoundTripNullsAndEmptyOrder() {
+
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        // Act
+        OrderCodec.encode(new Order(), buffer);
+        buffer.flip();
+        Order decoded = OrderCodec.decode(buffer);
+
+        // Assert
+        assertNull(decoded.getOrderId());
+        assertNull(decoded.getCustomerId());
+        assertNull(decoded.getCancellationReason());
+        assertTrue(decoded.getLines().isEmpty());
+        assertEquals(OrderStatus.CREATED, decoded.getStatus());
+    }
+
+    @Test
+    @DisplayName("Flyweight should read totals, lines and status of consecutive records in place")
+    void shouldReadRecordsInPlace() {
+
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        Order first = new Order("ORD-1", "CUST-1");
+        first.addItem(100.25, 2);
+        Order second = new Order("ORD-2", "CUST-2");
+        second.addItem(10, 1);
+        second.addItem(5.5, 4);
+        second.transitionTo(OrderStatus.CONFIRMED);
+        int firstLength = OrderCodec.encode(first, buffer);
+        OrderCodec.encode(second, buffer);
+        OrderFlyweight reader = new OrderFlyweight();
+
+        // Act
+        reader.wrap(buffer, firstLength);
+
+        // Assert
+        assertEquals(32_00, reader.totalPaise(), "₹10 + 4 × ₹5.50");
+        assertEquals(2, reader.lineCount());
+        assertEquals(5.5, reader.price(1));
+        assertEquals(4, reader.quantity(1));
+        assertEquals(OrderStatus.CONFIRMED, reader.status());
+        assertTrue(reader.orderIdEquals("ORD-2"));
+        assertFalse(reader.orderIdEquals("ORD-1"));
+        assertEquals("CUST-2", reader.customerId());
+        assertNull(reader.cancellationReason());
+        assertEquals(200_50, reader.wrap(buffer, 0).totalPaise());
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.price(1));
+    }
+
+    @Test
+    @DisplayName("Encoding into a buffer that is too small should write nothing")
+    void shouldNotWritePartialRecords() {
+
+        // Arrange
+        Order order = new Order("ORD-1", "CUST-1");
+        order.addItem(1, 1);
+        ByteBuffer buffer = ByteBuffer.allocate(OrderCodec.encodedLength(order) - 1);
+
+        // Act & Assert
+        assertThrows(BufferOverflowException.class, () -> OrderCodec.encode(order, buffer));
+        assertEquals(0, buffer.position());
+        assertEquals(0, buffer.getInt(0), "No bytes should be written");
+    }
+
+    @Test
+    @DisplayName("Reader should reject bytes that are not a complete record")
+    void shouldRejectTruncatedRecords() {
+
+        // Arrange
+        Order order = new Order("ORD-1", "CUST-1");
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        int length = OrderCodec.encode(order, buffer);
+        buffer.limit(length - 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new OrderFlyweight().wrap(buffer, 0));
+        assertThrows(IllegalArgumentException.class, () -> new OrderFlyweight().wrap(ByteBuffer.allocate(64), 0));
+    }
+
+    @Test
+    @DisplayName("Customer should round trip and be readable in place")
+    void shouldRoundTripCustomer() {
+
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        // Act
+        int written = OrderCodec.encode(new Customer("CUST-9", true), buffer);
+        buffer.flip();
+        CustomerFlyweight reader = new CustomerFlyweight().wrap(buffer, 0);
+        Customer decoded = OrderCodec.decodeCustomer(buffer);
+
+        // Assert
+        assertEquals(written, reader.length());
+        assertTrue(reader.isActive());
+        assertEquals("CUST-9", reader.customerId());
+        assertEquals("CUST-9", decoded.getCustomerId());
+        assertTrue(decoded.isActive());
+    }
+}
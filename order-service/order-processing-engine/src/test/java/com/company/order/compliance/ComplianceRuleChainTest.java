@@ -0,0 +1,111 @@
+package com.company.order.compliance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+
+class ComplianceRuleChainTest {
+
+    @Test
+    @DisplayName("Should move a cheap, often-rejecting rule to the front of the chain")
+    void shouldRunFrequentRejectorFirst() {
+
+        // Arrange
+        CountingRule expensive = new CountingRule(100, null);
+        CountingRule cheapRejector = new CountingRule(1, RejectionReason.LIMIT_EXCEEDED);
+        ComplianceRuleChain chain = new ComplianceRuleChain(List.of(expensive, cheapRejector), 16, 1);
+        ValidationResult result = new ValidationResult();
+
+        // Act
+        for (int i = 0; i < 16; i++) {
+            chain.evaluate(order(), new Customer(true), result);
+        }
+        int expensiveBefore = expensive.calls;
+        for (int i = 0; i < 100; i++) {
+            chain.evaluate(order(), new Customer(true), result);
+        }
+
+        // Assert
+        assertSame(cheapRejector, chain.currentOrder().get(0), "Cheap rejecting rule should run first");
+        assertEquals(expensiveBefore + 100, expensive.calls,
+                "Canonically earlier rule must still run before a later rule's rejection is reported");
+        assertEquals(RejectionReason.LIMIT_EXCEEDED, result.getReason());
+    }
+
+    @Test
+    @DisplayName("Should report the canonically first rejection whatever order the rules run in")
+    void shouldKeepRejectionReasonsDeterministic() {
+
+        // Arrange
+        ComplianceRuleChain chain = new ComplianceRuleChain(
+                List.of(new ActiveCustomerRule(), new LineItemRule()), 256);
+        ValidationResult result = new ValidationResult();
+        for (int i = 0; i < 1_024; i++) {
+            // Train the chain to run the line item rule first.
+            chain.evaluate(new Order(), new Customer(true), result);
+        }
+        assertTrue(chain.currentOrder().get(0) instanceof LineItemRule);
+
+        // Act
+        chain.evaluate(new Order(), new Customer(false), result);
+
+        // Assert
+        assertEquals(RejectionReason.INACTIVE_CUSTOMER, result.getReason(),
+                "Inactive customer outranks an empty order, as in the canonical order");
+    }
+
+    @Test
+    @DisplayName("Should run extra rules only after the built-in ones in canonical order")
+    void shouldAppendRulesInCanonicalOrder() {
+
+        // Arrange
+        CountingRule fraud = new CountingRule(1, RejectionReason.LIMIT_EXCEEDED);
+        ComplianceRuleChain chain = ComplianceRuleChain.defaults().with(fraud);
+        ValidationResult result = new ValidationResult();
+
+        // Act
+        chain.evaluate(new Order(), new Customer(true), result);
+
+        // Assert
+        assertEquals(RejectionReason.NO_ITEMS, result.getReason());
+        assertEquals(3, chain.currentOrder().size());
+    }
+
+    private static Order order() {
+        Order order = new Order("ORD1", "CUST1");
+        order.addItem(new OrderItem(100, 1));
+        return order;
+    }
+
+    private static final class CountingRule implements ComplianceRule {
+
+        private final int cost;
+        private final RejectionReason reason;
+        int calls;
+
+        CountingRule(int cost, RejectionReason reason) {
+            this.cost = cost;
+            this.reason = reason;
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+
+        @Override
+        public RejectionReason check(Order order, Customer customer, ValidationResult result) {
+            calls++;
+            return reason;
+        }
+    }
+}
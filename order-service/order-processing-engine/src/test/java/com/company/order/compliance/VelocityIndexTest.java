@@ -0,0 +1,131 @@
+package com.company.order.compliance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VelocityIndexTest {
+
+    @Test
+    @DisplayName("Should count orders and spend only within the sliding window")
+    void shouldSlideWindow() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        VelocityIndex index = new VelocityIndex(Duration.ofSeconds(60), 6, clock::get);
+
+        // Act
+        index.record("C1", 100);
+        clock.set(30_000);
+        index.record("C1", 200);
+        index.record("C2", 50);
+
+        // Assert
+        assertEquals(2, index.orderCount("C1"));
+        assertEquals(300, index.spendPaise("C1"));
+        assertEquals(1, index.orderCount("C2"));
+
+        clock.set(60_000);
+        assertEquals(1, index.orderCount("C1"), "First bucket should have slid out of the window");
+        assertEquals(200, index.spendPaise("C1"));
+
+        clock.set(90_000);
+        assertEquals(0, index.orderCount("C1"));
+        assertEquals(0, index.orderCount("UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("Should drop customers idle for a whole window and start them afresh")
+    void shouldExpireIdleCustomers() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        VelocityIndex index = new VelocityIndex(Duration.ofSeconds(10), 10, clock::get);
+        index.record("IDLE", 100);
+        clock.set(5_000);
+        index.record("BUSY", 100);
+
+        // Act
+        clock.set(12_000);
+        int expired = index.expireIdle();
+
+        // Assert
+        assertEquals(1, expired);
+        assertEquals(1, index.trackedCustomers());
+        assertEquals(1, index.orderCount("BUSY"));
+
+        index.record("IDLE", 40);
+        assertEquals(1, index.orderCount("IDLE"));
+        assertEquals(40, index.spendPaise("IDLE"));
+    }
+
+    @Test
+    @DisplayName("Should reserve only within the limits and give a release back to its own bucket")
+    void shouldReserveWithinLimits() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        VelocityIndex index = new VelocityIndex(Duration.ofSeconds(60), 6, clock::get);
+        index.record("C1", 100);
+
+        // Act
+        long first = index.tryReserve("C1", 150, 3, 300);
+        long overSpend = index.tryReserve("C1", 100, 3, 300);
+        clock.set(10_000);
+        long second = index.tryReserve("C1", 50, 3, 300);
+        long overCount = index.tryReserve("C1", 0, 3, 300);
+        index.release("C1", 150, first);
+
+        // Assert
+        assertNotEquals(VelocityIndex.NOT_RESERVED, first);
+        assertEquals(VelocityIndex.NOT_RESERVED, overSpend);
+        assertNotEquals(VelocityIndex.NOT_RESERVED, second);
+        assertEquals(VelocityIndex.NOT_RESERVED, overCount);
+        assertEquals(2, index.orderCount("C1"), "Release should undo only the first reservation");
+        assertEquals(150, index.spendPaise("C1"));
+    }
+
+    @Test
+    @DisplayName("Should not lose counts when many threads record for one customer")
+    void shouldCountConcurrentRecords() throws InterruptedException {
+
+        // Arrange
+        VelocityIndex index = new VelocityIndex(Duration.ofHours(1), 60);
+        int threads = 8;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    index.record("HOT", 3);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        // Act
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, index.orderCount("HOT"));
+        assertEquals(3L * threads * perThread, index.spendPaise("HOT"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.company.order.compliance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+import com.company.order.repository.InMemoryOrderRepository;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.OrderServiceImpl;
+
+class VelocityRuleTest {
+
+    @Test
+    @DisplayName("Should reject orders beyond the rolling order and spend limits")
+    void shouldRejectBeyondLimits() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        VelocityIndex perMinute = new VelocityIndex(Duration.ofMinutes(1), 6, clock::get);
+        VelocityIndex perDay = new VelocityIndex(Duration.ofDays(1), 24, clock::get);
+        ComplianceRuleChain chain = ComplianceRuleChain.defaults()
+                .with(new VelocityRule(perMinute, 2, VelocityRule.NO_LIMIT))
+                .with(new VelocityRule(perDay, VelocityRule.NO_LIMIT, 500));
+        Customer customer = new Customer("C1", true);
+        ValidationResult result = new ValidationResult();
+
+        // Act / Assert
+        assertTrue(acceptIfValid(chain, order(1.00), customer, result));
+        assertTrue(acceptIfValid(chain, order(2.00), customer, result));
+        assertFalse(acceptIfValid(chain, order(1.00), customer, result));
+        assertEquals(RejectionReason.ORDER_RATE_EXCEEDED, result.getReason());
+
+        clock.set(Duration.ofMinutes(1).toMillis());
+        assertFalse(acceptIfValid(chain, order(2.01), customer, result));
+        assertEquals(RejectionReason.SPEND_LIMIT_EXCEEDED, result.getReason());
+        assertTrue(acceptIfValid(chain, order(2.00), customer, result), "Spend up to the limit is allowed");
+    }
+
+    @Test
+    @DisplayName("Should record orders accepted through the order service")
+    void shouldRecordAcceptedOrders() {
+
+        // Arrange
+        VelocityIndex index = new VelocityIndex(Duration.ofMinutes(1), 6);
+        ComplianceService compliance = new ComplianceService(
+                ComplianceRuleChain.defaults().with(new VelocityRule(index, 1, VelocityRule.NO_LIMIT)),
+                OrderMetrics.noop());
+        OrderServiceImpl service = new OrderServiceImpl(new InMemoryOrderRepository(), compliance,
+                ForkJoinPool.commonPool());
+        Customer customer = new Customer("C1", true);
+
+        // Act
+        service.createOrder(order(10.00), customer);
+        InvalidOrderException ex = assertThrows(InvalidOrderException.class,
+                () -> service.createOrder(order(10.00), customer));
+
+        // Assert
+        assertEquals("Too many orders from customer", ex.getMessage());
+        assertEquals(1, index.orderCount("C1"));
+    }
+
+    @Test
+    @DisplayName("Concurrent orders from one customer should never take it past the order or spend limit")
+    void shouldNeverExceedLimitsUnderConcurrency() throws Exception {
+
+        // Arrange
+        VelocityIndex perMinute = new VelocityIndex(Duration.ofMinutes(1), 6, () -> 0L);
+        VelocityIndex perDay = new VelocityIndex(Duration.ofDays(1), 24, () -> 0L);
+        ComplianceService compliance = new ComplianceService(ComplianceRuleChain.defaults()
+                .with(new VelocityRule(perMinute, 100, VelocityRule.NO_LIMIT))
+                .with(new VelocityRule(perDay, VelocityRule.NO_LIMIT, 7_500)),
+                OrderMetrics.noop());
+        OrderServiceImpl service = new OrderServiceImpl(new InMemoryOrderRepository(), compliance,
+                ForkJoinPool.commonPool());
+        Customer customer = new Customer("C1", true);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // Mixed totals leave it to the interleaving which of the two limits binds.
+            long paise = t % 2 == 0 ? 50 : 100;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    try {
+                        service.createOrder(order(paise / 100.0), customer);
+                        accepted.incrementAndGet();
+                    } catch (InvalidOrderException e) {
+                        // over a limit
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        // Act
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertTrue(perDay.spendPaise("C1") <= 7_500, "Spend limit exceeded: " + perDay.spendPaise("C1"));
+        assertTrue(perMinute.orderCount("C1") <= 100, "Order limit exceeded: " + perMinute.orderCount("C1"));
+        assertEquals(accepted.get(), perMinute.orderCount("C1"), "Every accepted order should be counted once");
+        assertEquals(perDay.orderCount("C1"), perMinute.orderCount("C1"));
+        assertTrue(perMinute.orderCount("C1") == 100 || perDay.spendPaise("C1") > 7_500 - 100,
+                "One of the limits should be used up, not left short");
+    }
+
+    @Test
+    @DisplayName("Should give back earlier reservations when a later rule's limit is reached")
+    void shouldReleaseWhenLaterReservationFails() {
+
+        // Arrange
+        VelocityIndex index = new VelocityIndex(Duration.ofMinutes(1), 6, () -> 0L);
+        ComplianceRuleChain chain = ComplianceRuleChain.defaults()
+                .with(new VelocityRule(index, 5, VelocityRule.NO_LIMIT))
+                .with(new FullAtReserveRule());
+        Customer customer = new Customer("C1", true);
+
+        // Act
+        RejectionReason reason = chain.reserve(order(1.00), customer);
+
+        // Assert
+        assertEquals(RejectionReason.SPEND_LIMIT_EXCEEDED, reason);
+        assertEquals(0, index.orderCount("C1"), "The velocity reservation should have been released");
+    }
+
+    private static boolean acceptIfValid(ComplianceRuleChain chain, Order order, Customer customer,
+            ValidationResult result) {
+        chain.evaluate(order, customer, result);
+        if (result.isValid()) {
+            RejectionReason reason = chain.reserve(order, customer);
+            if (reason != null) {
+                result.reject(reason);
+            }
+        }
+        return result.isValid();
+    }
+
+    // Passes its check, then finds its limit reached when reserving, like a rule
+    // that loses a race with another order.
+    private static final class FullAtReserveRule implements ComplianceRule {
+
+        private volatile boolean full;
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public RejectionReason check(Order order, Customer customer, ValidationResult result) {
+            return full ? RejectionReason.SPEND_LIMIT_EXCEEDED : null;
+        }
+
+        @Override
+        public long reserve(Order order, Customer customer) {
+            full = true;
+            return REJECTED;
+        }
+    }
+
+    private static Order order(double price) {
+        Order order = new Order(null, "C1");
+        order.addItem(price, 1);
+        return order;
+    }
+}
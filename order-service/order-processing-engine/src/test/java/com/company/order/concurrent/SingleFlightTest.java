@@ -0,0 +1,49 @@
+package com.company.order.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run the loader again once the previous call has completed")
+    void shouldNotCacheCompletedCalls() {
+
+        // Arrange
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        int first = flight.execute("ORD1", key -> loads.incrementAndGet());
+        int second = flight.execute("ORD1", key -> loads.incrementAndGet());
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second, "Sequential calls should each reach the loader");
+        assertEquals(2, flight.stats().executionCount());
+        assertEquals(0, flight.stats().sharedCount());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the loader's exception and release the key")
+    void shouldReleaseKeyWhenLoaderFails() {
+
+        // Arrange
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("backend down");
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> flight.execute("ORD1", key -> { throw failure; }));
+
+        // Assert
+        assertSame(failure, thrown, "Loader exception should be rethrown unchanged");
+        assertEquals(0, flight.inFlightCount(), "A failed call should not stay in flight");
+        assertEquals(7, flight.execute("ORD1", key -> 7));
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.order.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("Should cap the platform thread fallback and queue the remaining tasks")
+    void shouldBoundFallbackThreads() throws InterruptedException {
+        assumeFalse(VirtualThreads.isSupported(), "Runtime has virtual threads; no fallback to check");
+
+        // Arrange
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor("test-fallback");
+        int tasks = VirtualThreads.FALLBACK_MAX_THREADS * 4;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        // Act
+        try {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            Thread.sleep(200);
+            release.countDown();
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Queued tasks should all run");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(VirtualThreads.FALLBACK_MAX_THREADS, peak.get());
+    }
+}
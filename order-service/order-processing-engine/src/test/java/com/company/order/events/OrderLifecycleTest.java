@@ -0,0 +1,237 @@
+package com.company.order.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+class OrderLifecycleTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should deliver events in publish order across several wraps of the ring")
+    void shouldDeliverEventsInOrderAcrossRingWraps() throws IOException {
+
+        // Arrange
+        List<Long> sequences = new ArrayList<>();
+        OrderEventHandler recorder = (event, endOfBatch) -> sequences.add(event.getSequence());
+        long last;
+
+        // Act
+        try (OrderLifecycle lifecycle = new OrderLifecycle(8, null, Long.MAX_VALUE, List.of(recorder)).start()) {
+            lifecycle.create(new Order("ORD1", "CUST1"));
+            for (int i = 0; i < 100; i++) {
+                lifecycle.transition("ORD1", OrderStatus.CONFIRMED);
+            }
+            last = lifecycle.lastPublishedSequence();
+        }
+
+        // Assert
+        assertEquals(101, sequences.size(), "Every event should be handled once");
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i, sequences.get(i), "Events should be handled in publish order");
+        }
+        assertEquals(100, last);
+    }
+
+    @Test
+    @DisplayName("Should apply allowed transitions and leave disallowed ones unapplied")
+    void shouldApplyOnlyAllowedTransitions() throws IOException {
+
+        // Arrange
+        List<Boolean> applied = new ArrayList<>();
+        OrderEventHandler recorder = (event, endOfBatch) -> applied.add(event.isApplied());
+
+        try (OrderLifecycle lifecycle = new OrderLifecycle(16, null, Long.MAX_VALUE, List.of(recorder)).start()) {
+
+            // Act
+            lifecycle.create(new Order("ORD1", "CUST1"));
+            lifecycle.transition("ORD1", OrderStatus.CONFIRMED);
+            lifecycle.transition("ORD1", OrderStatus.DELIVERED);
+            lifecycle.cancel("ORD1", "Out of stock");
+            long last = lifecycle.transition("ORD404", OrderStatus.CONFIRMED);
+            lifecycle.awaitConsumed(last);
+
+            // Assert
+            Order order = lifecycle.findById("ORD1").orElseThrow();
+            assertEquals(OrderStatus.CANCELLED, order.getStatus());
+            assertEquals("Out of stock", order.getCancellationReason());
+            assertEquals(List.of(true, true, false, true, false), applied,
+                    "CONFIRMED -> DELIVERED and unknown orders should not apply");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject events published from a second thread")
+    void shouldRejectSecondWriterThread() throws Exception {
+
+        // Arrange
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try (OrderLifecycle lifecycle = new OrderLifecycle(16).start()) {
+            lifecycle.create(new Order("ORD1", "CUST1"));
+
+            // Act
+            Future<Long> attempt = other.submit(() -> lifecycle.transition("ORD1", OrderStatus.CONFIRMED));
+
+            // Assert
+            ExecutionException thrown = assertThrows(ExecutionException.class, attempt::get);
+            assertTrue(thrown.getCause() instanceof IllegalStateException);
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume state and sequence from the latest snapshot")
+    void shouldRecoverFromLatestSnapshot() throws IOException {
+
+        // Arrange
+        OrderSnapshotStore store = new OrderSnapshotStore(dir);
+        try (OrderLifecycle lifecycle = new OrderLifecycle(16, store, 4, List.of()).start()) {
+            for (int i = 0; i < 10; i++) {
+                Order order = new Order("ORD" + i, "CUST1");
+                order.addItem(10.0 + i, i + 1);
+                lifecycle.create(order);
+            }
+            lifecycle.transition("ORD1", OrderStatus.CONFIRMED);
+            lifecycle.cancel("ORD2", "Duplicate");
+        }
+
+        // Act
+        try (OrderLifecycle restarted = new OrderLifecycle(16, new OrderSnapshotStore(dir), 4, List.of()).start()) {
+
+            // Assert
+            assertEquals(10, restarted.size());
+            assertEquals(11, restarted.lastPublishedSequence(), "Sequence should continue from the snapshot");
+            assertEquals(OrderStatus.CONFIRMED, restarted.findById("ORD1").orElseThrow().getStatus());
+            Order cancelled = restarted.findById("ORD2").orElseThrow();
+            assertEquals(OrderStatus.CANCELLED, cancelled.getStatus());
+            assertEquals("Duplicate", cancelled.getCancellationReason());
+            assertEquals(19.0, restarted.findById("ORD9").orElseThrow().getLines().price(0));
+
+            long next = restarted.transition("ORD3", OrderStatus.CONFIRMED);
+            assertEquals(12, next);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).count() <= 2,
+                    "Only the newest two snapshots should be kept");
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay events handled after the latest snapshot when the process did not close")
+    void shouldReplayEventsAfterSnapshot() throws IOException {
+
+        // Arrange
+        OrderLifecycle crashed = new OrderLifecycle(16, new OrderSnapshotStore(dir), 1_000, List.of()).start();
+        try {
+            for (int i = 0; i < 6; i++) {
+                crashed.create(new Order("ORD" + i, "CUST1"));
+            }
+            crashed.transition("ORD1", OrderStatus.CONFIRMED);
+            long last = crashed.cancel("ORD5", "Duplicate");
+            crashed.awaitConsumed(last);
+            try (Stream<Path> files = Files.list(dir)) {
+                Path log = files.filter(file -> file.getFileName().toString().startsWith("events-"))
+                        .findFirst().orElseThrow();
+                // A record torn by the crash: a length with nothing behind it.
+                Files.write(log, new byte[] { 0, 0, 0, 40, 1, 2 }, StandardOpenOption.APPEND);
+            }
+
+            // Act
+            try (OrderLifecycle restarted = new OrderLifecycle(16, new OrderSnapshotStore(dir), 1_000, List.of()).start()) {
+
+                // Assert
+                assertEquals(6, restarted.size(), "Orders created after the snapshot should be replayed");
+                assertEquals(7, restarted.lastPublishedSequence(), "Sequence should continue after the replayed events");
+                assertEquals(OrderStatus.CONFIRMED, restarted.findById("ORD1").orElseThrow().getStatus());
+                Order cancelled = restarted.findById("ORD5").orElseThrow();
+                assertEquals(OrderStatus.CANCELLED, cancelled.getStatus());
+                assertEquals("Duplicate", cancelled.getCancellationReason());
+
+                long next = restarted.transition("ORD4", OrderStatus.CONFIRMED);
+                restarted.awaitConsumed(next);
+                assertEquals(8, next);
+            }
+            try (OrderLifecycle again = new OrderLifecycle(16, new OrderSnapshotStore(dir), 1_000, List.of()).start()) {
+                assertEquals(OrderStatus.CONFIRMED, again.findById("ORD4").orElseThrow().getStatus());
+                assertEquals(8, again.lastPublishedSequence());
+            }
+        } finally {
+            crashed.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep its own copy of a created order so later changes by the producer are not applied")
+    void shouldCopyCreatedOrders() throws IOException {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+        order.addItem(10.0, 2);
+
+        try (OrderLifecycle lifecycle = new OrderLifecycle(16).start()) {
+
+            // Act
+            lifecycle.awaitConsumed(lifecycle.create(order));
+            order.cancel("Changed outside the lifecycle");
+            order.addItem(99.0, 1);
+
+            // Assert
+            Order stored = lifecycle.findById("ORD1").orElseThrow();
+            assertNotSame(order, stored);
+            assertEquals(OrderStatus.CREATED, stored.getStatus());
+            assertEquals(1, stored.getLines().size());
+            assertEquals(10.0, stored.getLines().price(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop without applying an event the log cannot record")
+    void shouldStopWhenTheLogFails() throws IOException {
+
+        // Arrange
+        OrderLifecycle lifecycle = new OrderLifecycle(16, new OrderSnapshotStore(dir), 1_000, List.of()).start();
+        try {
+            lifecycle.awaitConsumed(lifecycle.create(new Order("ORD1", "CUST1")));
+            // The codec cannot encode a customer ID this long, so the log append fails.
+            Order unloggable = new Order("ORD2", "C".repeat(70_000));
+
+            // Act
+            long sequence = lifecycle.create(unloggable);
+            IllegalStateException stopped = assertThrows(IllegalStateException.class,
+                    () -> lifecycle.awaitConsumed(sequence));
+
+            // Assert
+            assertTrue(stopped.getCause() instanceof IllegalArgumentException, "The log failure should be the cause");
+            assertFalse(lifecycle.findById("ORD2").isPresent(), "An event the log failed on should not be applied");
+            assertEquals(1, lifecycle.handlerFailures());
+            assertThrows(IllegalStateException.class, () -> lifecycle.cancel("ORD1", "Too late"),
+                    "Publishing should fail once the consumer has stopped");
+        } finally {
+            lifecycle.close();
+        }
+        try (OrderLifecycle restarted = new OrderLifecycle(16, new OrderSnapshotStore(dir), 1_000, List.of()).start()) {
+            assertEquals(1, restarted.size(), "Only the logged order should be recovered");
+            assertEquals(OrderStatus.CREATED, restarted.findById("ORD1").orElseThrow().getStatus());
+        }
+    }
+}
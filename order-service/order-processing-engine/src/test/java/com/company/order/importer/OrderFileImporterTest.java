@@ -0,0 +1,187 @@
+package com.company.order.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.company.order.compliance.ComplianceRuleChain;
+import com.company.order.compliance.VelocityIndex;
+import com.company.order.compliance.VelocityRule;
+import com.company.order.metrics.OrderMetrics;
+import com.company.order.model.OrderQuote;
+import com.company.order.service.ComplianceService;
+import com.company.order.service.PricingService;
+
+class OrderFileImporterTest {
+
+    @TempDir
+    Path directory;
+
+    // -------------------- CSV --------------------
+
+    @Test
+    @DisplayName("Should stream accepted orders and a line-numbered rejection report for a CSV file")
+    void shouldImportCsv() throws IOException {
+
+        // Arrange
+        Path input = write("orders.csv",
+                CsvOrderParser.HEADER + "\r\n"
+                + "ORD-1,CUST-1,true,false,false,100.00:2;50.50:1\r\n"
+                + "\r\n"
+                + "ORD-2,CUST-2,false,false,false,100.00:1\n"
+                + "ORD-3,CUST-3,true,false,false,abc:1\n"
+                + "ORD-4,CUST-4,true,true,false,10000.00:1");
+        Path accepted = directory.resolve("accepted.csv");
+        Path report = directory.resolve("rejected.csv");
+        // A tiny batch forces lines across batch boundaries.
+        OrderFileImporter importer = new OrderFileImporter(new ComplianceService(), new PricingService(), 2, 96);
+
+        // Act
+        ImportSummary summary;
+        try (OrderImportWriter writer = new OrderImportWriter(accepted, report)) {
+            summary = importer.importFile(input, writer);
+        }
+
+        // Assert
+        assertEquals(2, summary.getAccepted());
+        assertEquals(1, summary.getRejected());
+        assertEquals(1, summary.getMalformed());
+        assertEquals(Files.size(input), summary.getBytes());
+
+        List<String> acceptedLines = Files.readAllLines(accepted);
+        assertEquals(OrderImportWriter.ACCEPTED_HEADER, acceptedLines.get(0));
+        assertEquals("2,ORD-1,CUST-1,25050,0,4509", acceptedLines.get(1));
+        assertTrue(acceptedLines.get(2).startsWith("6,ORD-4,CUST-4,1000000,"));
+        assertEquals(List.of(OrderImportWriter.REJECTED_HEADER,
+                "4,INACTIVE_CUSTOMER,ORD-2",
+                "5,MALFORMED_RECORD,Invalid price: abc"), Files.readAllLines(report));
+    }
+
+    @Test
+    @DisplayName("Should report a line too long for a batch and carry on with the next line")
+    void shouldSkipOverlongLine() throws IOException {
+
+        // Arrange
+        Path input = write("orders.csv",
+                "ORD-1,CUST-1,true,false,false," + "1.00:1;".repeat(40) + "\n"
+                + "ORD-2,CUST-2,true,false,false,1.00:1\n");
+        RecordingSink sink = new RecordingSink();
+        OrderFileImporter importer = new OrderFileImporter(new ComplianceService(), new PricingService(), 1, 64);
+
+        // Act
+        ImportSummary summary = importer.importFile(input, sink);
+
+        // Assert
+        assertEquals(1, summary.getMalformed());
+        assertEquals(List.of("1 MALFORMED_RECORD Line is longer than 63 bytes", "2 accepted ORD-2"), sink.events);
+    }
+
+    @Test
+    @DisplayName("Should report a non-finite price as a malformed record")
+    void shouldRejectNaNPrice() throws IOException {
+
+        // Arrange
+        Path input = write("orders.csv", "O1,C1,true,false,false,NaN:1\nO2,C1,true,false,false,1e999:1\n");
+        RecordingSink sink = new RecordingSink();
+        OrderFileImporter importer = new OrderFileImporter(new ComplianceService(), new PricingService(), 1, 1 << 10);
+
+        // Act
+        ImportSummary summary = importer.importFile(input, sink);
+
+        // Assert
+        assertEquals(2, summary.getMalformed());
+        assertEquals(List.of("1 MALFORMED_RECORD Invalid price: NaN", "2 MALFORMED_RECORD Invalid price: 1e999"),
+                sink.events);
+    }
+
+    @Test
+    @DisplayName("Should enforce a velocity limit across the lines of one customer")
+    void shouldEnforceVelocityLimit() throws IOException {
+
+        // Arrange
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            content.append("ORD-").append(i).append(",CUST-1,true,false,false,10.00:1\n");
+        }
+        Path input = write("orders.csv", content.toString());
+        RecordingSink sink = new RecordingSink();
+        OrderFileImporter importer = new OrderFileImporter(velocityLimited(5), new PricingService(), 1, 1 << 10);
+        // One line per batch, so four workers check lines of the same customer at once.
+        OrderFileImporter parallel = new OrderFileImporter(velocityLimited(5), new PricingService(), 4, 64);
+
+        // Act
+        ImportSummary summary = importer.importFile(input, sink);
+        ImportSummary parallelSummary = parallel.importFile(input, new RecordingSink());
+
+        // Assert
+        assertEquals(5, summary.getAccepted());
+        assertEquals(15, summary.getRejected());
+        assertEquals("5 accepted ORD-5", sink.events.get(4));
+        assertEquals("6 ORDER_RATE_EXCEEDED ORD-6", sink.events.get(5));
+        assertTrue(parallelSummary.getAccepted() >= 5 && parallelSummary.getAccepted() <= 5 + 3,
+                "Each other worker may slip one order past the limit, no more: " + parallelSummary.getAccepted());
+    }
+
+    // -------------------- JSON lines --------------------
+
+    @Test
+    @DisplayName("Should read JSON lines with escapes, unknown fields and fields in any order")
+    void shouldImportJsonLines() throws IOException {
+
+        // Arrange
+        Path input = write("orders.jsonl",
+                "{\"items\":[{\"quantity\":2,\"price\":100.0}],\"customerId\":\"CUST-1\",\"active\":true,"
+                + "\"orderId\":\"ORD \\\"1\\\"\",\"meta\":{\"tags\":[\"a\",1,null]}}\n"
+                + "{\"orderId\":\"ORD-2\",\"customerId\":\"CUST-2\",\"items\":[]}\n"
+                + "{\"orderId\":\"ORD-3\",\"active\":true,\"items\":[]}\n"
+                + "{\"orderId\":\"ORD-4\",\"active\":true \n");
+        RecordingSink sink = new RecordingSink();
+        OrderFileImporter importer = new OrderFileImporter(new ComplianceService(), new PricingService(), 2, 1 << 10);
+
+        // Act
+        ImportSummary summary = importer.importFile(input, sink);
+
+        // Assert
+        assertEquals(1, summary.getAccepted());
+        assertEquals(List.of(
+                "1 accepted ORD \"1\"",
+                "2 MALFORMED_RECORD Missing field: active",
+                "3 NO_ITEMS ORD-3",
+                "4 MALFORMED_RECORD Expected '}' at column 34"), sink.events);
+    }
+
+    private static ComplianceService velocityLimited(long maxOrders) {
+        ComplianceRuleChain rules = ComplianceRuleChain.defaults()
+                .with(new VelocityRule(new VelocityIndex(Duration.ofMinutes(1), 6), maxOrders, VelocityRule.NO_LIMIT));
+        return new ComplianceService(rules, OrderMetrics.noop());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingSink implements OrderImportSink {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void accepted(ImportedOrder order, OrderQuote quote) {
+            events.add(order.getLineNumber() + " accepted " + order.getOrder().getOrderId());
+        }
+
+        @Override
+        public void rejected(long lineNumber, String reason, String detail) {
+            events.add(lineNumber + " " + reason + " " + detail);
+        }
+    }
+}
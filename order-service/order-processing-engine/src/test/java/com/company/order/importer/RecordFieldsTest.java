@@ -0,0 +1,76 @@
+package com.company.order.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RecordFieldsTest {
+
+    @Test
+    @DisplayName("Should parse decimals exactly as Double.parseDouble does")
+    void shouldMatchDoubleParseDouble() {
+
+        // Arrange
+        Random random = new Random(7);
+        String[] samples = new String[10_000];
+        for (int i = 0; i < samples.length; i++) {
+            long whole = random.nextInt(1_000_000);
+            int fraction = random.nextInt(1_000_000);
+            samples[i] = (random.nextBoolean() ? "-" : "") + whole + "." + fraction;
+        }
+
+        // Act / Assert
+        for (String sample : samples) {
+            assertEquals(Double.parseDouble(sample), parse(sample), sample);
+        }
+        assertEquals(1299.5, parse("1299.50"));
+        assertEquals(12.0, parse("12"));
+        assertEquals(1500.0, parse("1.5e3"));
+        assertEquals(Double.parseDouble("0.12345678901234567"), parse("0.12345678901234567"));
+        for (String boundary : new String[] {"999999999999999", "99999999999999.9", "9999999999999999",
+                "123456789012345678901234567890", "1234567890.12345678901234567890"}) {
+            assertEquals(Double.parseDouble(boundary), parse(boundary), boundary);
+        }
+        assertThrows(MalformedRecordException.class, () -> parse("12,5"));
+    }
+
+    @Test
+    @DisplayName("Should reject number syntax beyond plain decimals and exponents, and non-finite values")
+    void shouldRejectNonDecimalSyntax() {
+
+        // Arrange
+        String[] malformed = { "NaN", "-NaN", "Infinity", "-Infinity", "0x10p0", "1d", "1f", " 1", "1 ", "+1",
+                "", "-", "12.", ".5", "1.2.3", "1e", "1e+", "1e5x", "1e999", "-1e999" };
+
+        // Act / Assert
+        for (String text : malformed) {
+            assertThrows(MalformedRecordException.class, () -> parse(text), text);
+        }
+        assertEquals(0.01, parse("1E-2"));
+        assertEquals(-1500.0, parse("-1.5e+3"));
+        assertEquals(0.0, parse("1e-400"), "Underflow to zero is still a finite value");
+    }
+
+    @Test
+    @DisplayName("Should reject integers outside the int range")
+    void shouldRejectIntOverflow() {
+
+        // Arrange
+        byte[] max = "2147483647".getBytes(StandardCharsets.US_ASCII);
+        byte[] overflow = "2147483648".getBytes(StandardCharsets.US_ASCII);
+
+        // Act / Assert
+        assertEquals(Integer.MAX_VALUE, RecordFields.parseInt(max, 0, max.length, "quantity"));
+        assertThrows(MalformedRecordException.class,
+                () -> RecordFields.parseInt(overflow, 0, overflow.length, "quantity"));
+    }
+
+    private static double parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return RecordFields.parseDouble(bytes, 0, bytes.length, "price");
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.order.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Every value should land in a bucket whose upper bound is within 1/16 of it")
+    void shouldBucketValuesWithinRelativePrecision() {
+
+        // Arrange
+        long[] values = {0, 1, 31, 32, 33, 100, 1_000, 65_535, 1_000_000, 123_456_789, LatencyHistogram.MAX_TRACKABLE_NANOS};
+
+        for (long value : values) {
+
+            // Act
+            int index = LatencyHistogram.indexOf(value);
+            long upper = LatencyHistogram.highestEquivalentValue(index);
+
+            // Assert
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT, "Index in range for " + value);
+            assertTrue(upper >= value, "Bucket upper bound should cover " + value);
+            assertTrue(upper - value <= value / 16, "Bucket should be within 1/16 of " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Bucket indexes should be contiguous and increasing")
+    void shouldMapConsecutiveBucketsWithoutGaps() {
+
+        // Act & Assert
+        for (int index = 1; index < LatencyHistogram.BUCKET_COUNT; index++) {
+            long firstValue = LatencyHistogram.highestEquivalentValue(index - 1) + 1;
+            assertEquals(index, LatencyHistogram.indexOf(firstValue), "First value of bucket " + index);
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot should report count, max and quantiles of the recorded values")
+    void shouldReportQuantiles() {
+
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 1_000; v++) {
+            histogram.record(v * 1_000);
+        }
+
+        // Act
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(1_000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500.0, snapshot.getMean(), 0.001);
+        assertEquals(500_000, snapshot.getValueAtQuantile(0.5), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.getValueAtQuantile(0.99), 990_000 / 16.0);
+        assertEquals(1_000_000, snapshot.getValueAtQuantile(1.0), "Top quantile should not exceed the max");
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAtQuantile(0.5), "Empty histogram reports 0");
+    }
+
+    @Test
+    @DisplayName("Negative and oversized latencies should be clamped rather than rejected")
+    void shouldClampOutOfRangeValues() {
+
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        // Assert
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.getMax());
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.order.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.RejectionReason;
+
+class RecordingOrderMetricsTest {
+
+    @Test
+    @DisplayName("Should record operation latency from the clock and count rejections by reason")
+    void shouldRecordLatencyAndRejections() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000);
+        RecordingOrderMetrics metrics = new RecordingOrderMetrics(clock::get);
+
+        // Act
+        long start = metrics.startTimer();
+        clock.addAndGet(250);
+        metrics.recordLatency(Operation.CREATE_ORDER, start);
+        metrics.recordRejection(RejectionReason.LIMIT_EXCEEDED);
+        metrics.recordRejection(RejectionReason.LIMIT_EXCEEDED);
+
+        // Assert
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.latency(Operation.CREATE_ORDER).getCount());
+        assertEquals(250, snapshot.latency(Operation.CREATE_ORDER).getMax());
+        assertEquals(0, snapshot.latency(Operation.FIND_BY_ID).getCount());
+        assertEquals(2, snapshot.rejections(RejectionReason.LIMIT_EXCEEDED));
+        assertEquals(0, snapshot.rejections(RejectionReason.NO_ITEMS));
+    }
+
+    @Test
+    @DisplayName("Sampled metrics should read the clock for a fraction of calls and weight each sample")
+    void shouldSampleLatency() {
+
+        // Arrange
+        AtomicLong clockReads = new AtomicLong();
+        RecordingOrderMetrics metrics = new RecordingOrderMetrics(() -> {
+            clockReads.incrementAndGet();
+            return 0;
+        }, 64);
+        int calls = 64_000;
+
+        // Act
+        for (int i = 0; i < calls; i++) {
+            metrics.recordLatency(Operation.CREATE_ORDER, metrics.startTimer());
+        }
+
+        // Assert
+        long samples = clockReads.get() / 2;
+        assertTrue(samples > 700 && samples < 1_300, "About 1 call in 64 should be sampled: " + samples);
+        assertEquals(samples * 64, metrics.snapshot().latency(Operation.CREATE_ORDER).getCount());
+        assertThrows(IllegalArgumentException.class, () -> new RecordingOrderMetrics(System::nanoTime, 48));
+    }
+
+    @Test
+    @DisplayName("Prometheus export should include quantiles, counts and rejection counters")
+    void shouldExportPrometheusText() {
+
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        RecordingOrderMetrics metrics = new RecordingOrderMetrics(clock::get);
+        clock.set(2_000_000);
+        metrics.recordLatency(Operation.FIND_BY_ID, 0);
+        metrics.recordRejection(RejectionReason.INACTIVE_CUSTOMER);
+
+        // Act
+        String text = metrics.snapshot().toPrometheusText();
+
+        // Assert
+        assertTrue(text.contains("# TYPE order_operation_latency_seconds summary"));
+        assertTrue(text.contains("order_operation_latency_seconds{operation=\"find_by_id\",quantile=\"0.5\"} 0.002\n"));
+        assertTrue(text.contains("order_operation_latency_seconds_count{operation=\"find_by_id\"} 1\n"));
+        assertTrue(text.contains("order_rejections_total{reason=\"inactive_customer\"} 1\n"));
+    }
+
+    @Test
+    @DisplayName("No-op metrics should never read the clock and should export nothing")
+    void shouldRecordNothingWhenDisabled() {
+
+        // Arrange
+        OrderMetrics metrics = OrderMetrics.noop();
+
+        // Act
+        long start = metrics.startTimer();
+        metrics.recordLatency(Operation.CREATE_ORDER, start);
+        metrics.recordRejection(RejectionReason.NO_ITEMS);
+
+        // Assert
+        assertEquals(0, start);
+        assertTrue(metrics.snapshot().getLatencies().isEmpty());
+        assertEquals(0, metrics.snapshot().rejections(RejectionReason.NO_ITEMS));
+    }
+}
@@ -0,0 +1,155 @@
+package com.company.order.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderLinesTest {
+
+    @Test
+    @DisplayName("Should store lines in insertion order and grow past the initial capacity")
+    void shouldStoreLinesInOrder() {
+
+        // Arrange
+        OrderLines lines = new OrderLines();
+
+        // Act
+        for (int i = 1; i <= 100; i++) {
+            lines.add(i * 1.5, i);
+        }
+
+        // Assert
+        assertEquals(100, lines.size(), "All lines should be stored");
+        assertEquals(1.5, lines.price(0));
+        assertEquals(150.0, lines.price(99));
+        assertEquals(100, lines.quantity(99));
+    }
+
+    @Test
+    @DisplayName("Item view should reflect lines added to the order")
+    void shouldExposeLinesThroughItemView() {
+
+        // Arrange
+        Order order = new Order();
+        List<OrderItem> items = order.getItems();
+
+        // Act
+        order.addItem(new OrderItem(250, 2));
+        order.addItem(99.5, 1);
+
+        // Assert
+        assertEquals(2, items.size(), "View should be live");
+        assertEquals(250, items.get(0).getPrice());
+        assertEquals(2, items.get(0).getQuantity());
+        assertEquals(99.5, items.get(1).getPrice());
+    }
+
+    @Test
+    @DisplayName("Item view should write additions, replacements and removals through to the lines")
+    void shouldWriteThroughItemView() {
+
+        // Arrange
+        Order order = new Order();
+        order.addItem(100, 1);
+        order.addItem(200, 2);
+        List<OrderItem> items = order.getItems();
+
+        // Act
+        items.add(new OrderItem(300, 3));
+        items.set(0, new OrderItem(150, 5));
+        items.remove(1);
+
+        // Assert
+        OrderLines lines = order.getLines();
+        assertEquals(2, lines.size());
+        assertEquals(150, lines.price(0));
+        assertEquals(5, lines.quantity(0));
+        assertEquals(300, lines.price(1));
+        assertEquals(3, lines.quantity(1));
+    }
+
+    @Test
+    @DisplayName("Should keep lines intact when trimming spare capacity")
+    void shouldKeepLinesWhenTrimmed() {
+
+        // Arrange
+        OrderLines lines = new OrderLines();
+        lines.add(10, 1);
+        lines.add(20, 2);
+        lines.add(30, 3);
+
+        // Act
+        lines.trimToSize();
+        lines.add(40, 4);
+
+        // Assert
+        assertEquals(4, lines.size());
+        assertEquals(30, lines.price(2));
+        assertEquals(4, lines.quantity(3));
+    }
+
+    @Test
+    @DisplayName("Should reject reads outside the stored lines")
+    void shouldRejectOutOfRangeIndex() {
+
+        // Arrange
+        OrderLines lines = new OrderLines();
+        lines.add(10, 1);
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> lines.price(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> lines.asList().get(-1));
+    }
+
+    @Test
+    @DisplayName("Should maintain total, minimums and the first invalid line as lines are added")
+    void shouldMaintainAggregatesOnAppend() {
+
+        // Arrange
+        OrderLines lines = new OrderLines();
+
+        // Act
+        lines.add(100.25, 2);
+        lines.add(50, 3);
+        int invalidBefore = lines.firstInvalidLine();
+        lines.add(75, 0);
+        lines.add(-1, 4);
+
+        // Assert
+        assertEquals(-1, invalidBefore, "Valid lines should leave no invalid line");
+        assertEquals(2, lines.firstInvalidLine(), "First invalid line should not move on later additions");
+        assertEquals(RejectionReason.INVALID_QUANTITY, lines.invalidLineReason());
+        assertEquals(-1, lines.minPrice());
+        assertEquals(0, lines.minQuantity());
+        assertEquals(200_50 + 150_00 - 4_00, lines.totalPaise());
+    }
+
+    @Test
+    @DisplayName("Should recompute aggregates when lines are replaced or removed through the item view")
+    void shouldRecomputeAggregatesOnViewWrites() {
+
+        // Arrange
+        Order order = new Order();
+        order.addItem(0, 1);
+        order.addItem(200, 2);
+        List<OrderItem> items = order.getItems();
+
+        // Act
+        items.set(0, new OrderItem(150, 5));
+        OrderLines lines = order.getLines();
+        long totalAfterSet = lines.totalPaise();
+        items.remove(1);
+
+        // Assert
+        assertNull(lines.invalidLineReason(), "Replacing the invalid line should clear it");
+        assertEquals(150_00 * 5 + 200_00 * 2, totalAfterSet);
+        assertEquals(150_00 * 5, lines.totalPaise());
+        assertEquals(5, lines.minQuantity());
+        items.clear();
+        assertEquals(0, lines.totalPaise());
+        assertEquals(Double.POSITIVE_INFINITY, lines.minPrice());
+    }
+}
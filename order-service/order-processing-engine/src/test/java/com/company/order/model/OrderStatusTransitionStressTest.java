@@ -0,0 +1,125 @@
+package com.company.order.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * jcstress-style races: every round releases all actors on one order at the same
+ * instant and then checks the outcome.
+ */
+class OrderStatusTransitionStressTest {
+
+    private static final int ACTORS = 4;
+    private static final int ROUNDS = 2_000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(ACTORS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // -------------------- Lifecycle --------------------
+
+    @Test
+    @DisplayName("Lifecycle should only allow forward transitions and cancellation before shipping")
+    void shouldFollowLifecycle() {
+        Order order = new Order();
+
+        assertFalse(order.transitionTo(OrderStatus.SHIPPED), "Cannot ship before confirming");
+        assertTrue(order.transitionTo(OrderStatus.CONFIRMED));
+        assertTrue(order.transitionTo(OrderStatus.SHIPPED));
+        assertFalse(order.cancel("Too late"), "Shipped order cannot be cancelled");
+        assertNull(order.getCancellationReason());
+        assertTrue(order.transitionTo(OrderStatus.DELIVERED));
+        assertTrue(order.getStatus().isTerminal());
+    }
+
+    // -------------------- Races --------------------
+
+    @Test
+    @DisplayName("Exactly one of several concurrent cancellations should win and keep its reason")
+    void exactlyOneConcurrentCancellationWins() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Order order = new Order();
+
+            boolean[] won = race(actor -> order.cancel("reason-" + actor));
+
+            int winner = singleWinner(won, round);
+            assertEquals(OrderStatus.CANCELLED, order.getStatus());
+            assertEquals("reason-" + winner, order.getCancellationReason(),
+                    "Round " + round + ": losing cancellations must not overwrite the winner's reason");
+        }
+    }
+
+    @Test
+    @DisplayName("Exactly one of a concurrent cancellation and confirmations-then-shipments should decide the order")
+    void cancellationRacingShipmentHasOneOutcome() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Order order = new Order();
+            order.transitionTo(OrderStatus.CONFIRMED);
+
+            // Actor 0 cancels, the others try to ship.
+            boolean[] won = race(actor -> actor == 0
+                    ? order.cancel("fraud")
+                    : order.transitionTo(OrderStatus.SHIPPED));
+
+            int winner = singleWinner(won, round);
+            if (winner == 0) {
+                assertEquals(OrderStatus.CANCELLED, order.getStatus());
+                assertEquals("fraud", order.getCancellationReason());
+            } else {
+                assertEquals(OrderStatus.SHIPPED, order.getStatus());
+                assertNull(order.getCancellationReason());
+            }
+        }
+    }
+
+    private boolean[] race(IntPredicate actorAction) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(ACTORS);
+        List<Future<Boolean>> futures = new ArrayList<>(ACTORS);
+        for (int actor = 0; actor < ACTORS; actor++) {
+            int id = actor;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return actorAction.test(id);
+            }));
+        }
+
+        boolean[] won = new boolean[ACTORS];
+        for (int actor = 0; actor < ACTORS; actor++) {
+            won[actor] = futures.get(actor).get(10, TimeUnit.SECONDS);
+        }
+        return won;
+    }
+
+    private static int singleWinner(boolean[] won, int round) {
+        int winner = -1;
+        for (int actor = 0; actor < won.length; actor++) {
+            if (won[actor]) {
+                assertEquals(-1, winner, "Round " + round + ": more than one transition won");
+                winner = actor;
+            }
+        }
+        assertNotEquals(-1, winner, "Round " + round + ": no transition won");
+        return winner;
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.order.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MoneyTest {
+
+    @ParameterizedTest(name = "{0} rupees => {1} paise")
+    @CsvSource({"0, 0", "1, 100", "1003.25, 100325", "0.1, 10", "0.29, 29", "499999.99, 49999999"})
+    @DisplayName("Rupee amounts should convert to the nearest paisa")
+    void shouldConvertRupeesToPaise(double rupees, long expectedPaise) {
+        assertEquals(expectedPaise, Money.toPaise(rupees));
+    }
+
+    @ParameterizedTest(name = "{0} / {1} => {2}")
+    @CsvSource({"5, 10, 1", "4, 10, 0", "15, 10, 2", "-5, 10, 0", "-6, 10, -1", "180585000, 10000, 18059"})
+    @DisplayName("Division should round half up")
+    void shouldDivideHalfUp(long numerator, long denominator, long expected) {
+        assertEquals(expected, Money.divideHalfUp(numerator, denominator));
+    }
+
+    @Test
+    @DisplayName("Line total should be exact in paise")
+    void shouldComputeLineTotalInPaise() {
+        assertEquals(30, Money.lineTotal(0.1, 3), "0.1 * 3 should be exactly 30 paise");
+        assertEquals(0.3, Money.toRupees(Money.lineTotal(0.1, 3)));
+    }
+
+    @Test
+    @DisplayName("Line total should fail instead of overflowing")
+    void shouldFailOnLineTotalOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.lineTotal(1e17, Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Saturated arithmetic should clamp instead of overflowing")
+    void shouldClampSaturatedArithmetic() {
+        assertEquals(Long.MAX_VALUE, Money.saturatedAdd(Long.MAX_VALUE - 1, 5));
+        assertEquals(Long.MIN_VALUE, Money.saturatedAdd(Long.MIN_VALUE + 1, -5));
+        assertEquals(7, Money.saturatedAdd(3, 4));
+        assertEquals(Long.MAX_VALUE, Money.saturatedLineTotal(1e17, Integer.MAX_VALUE));
+        assertEquals(Long.MIN_VALUE, Money.saturatedLineTotal(-1e17, Integer.MAX_VALUE));
+        assertEquals(30, Money.saturatedLineTotal(0.1, 3));
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.order.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PricingRulesTest {
+
+    @Test
+    @DisplayName("Default rules should match the shipped tiers, bonuses, cap and GST rate")
+    void shouldLoadShippedDefaults() {
+
+        // Arrange
+        PricingRules rules = PricingRules.defaults();
+
+        // Act & Assert
+        assertEquals(0, rules.discountPercent(rupees(9_999.99), false, false));
+        assertEquals(5, rules.discountPercent(rupees(10_000), false, false));
+        assertEquals(10, rules.discountPercent(rupees(25_000), false, false));
+        assertEquals(20, rules.discountPercent(rupees(25_000), true, true));
+        assertEquals(25, rules.getMaxDiscountPercent());
+        assertEquals(18, rules.getGstPercent());
+    }
+
+    @Test
+    @DisplayName("Tiers listed in any order should be sorted and looked up by threshold")
+    void shouldLookUpUnsortedTiers() {
+
+        // Arrange
+        Properties properties = properties("50000:12, 1000.50:2, 20000:7", "0", "0", "30", "12");
+
+        // Act
+        PricingRules rules = PricingRules.fromProperties(properties);
+
+        // Assert
+        assertEquals(0, rules.discountPercent(rupees(1_000.49), false, false));
+        assertEquals(2, rules.discountPercent(rupees(1_000.50), false, false));
+        assertEquals(7, rules.discountPercent(rupees(49_999), false, false));
+        assertEquals(12, rules.discountPercent(Long.MAX_VALUE, false, false));
+        assertEquals(1_200, rules.gstPaise(rupees(100), 0), "12% GST on ₹100");
+    }
+
+    @Test
+    @DisplayName("GST should be exact half-up for any total, including totals whose product overflows a long")
+    void shouldComputeGstWithoutOverflow() {
+
+        // Arrange
+        PricingRules rules = PricingRules.fromProperties(properties("100:5", "5", "5", "100", "100"));
+        Random random = new Random(11);
+        long[] totals = new long[1_000];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = i < 4 ? Long.MAX_VALUE - i : random.nextLong() & Long.MAX_VALUE;
+        }
+
+        // Act & Assert
+        for (long total : totals) {
+            for (int discount : new int[] {0, 7, 25, 100}) {
+                long expected = BigDecimal.valueOf(total)
+                        .multiply(BigDecimal.valueOf((100 - discount) * 100L))
+                        .divide(BigDecimal.valueOf(100 * 100), 0, RoundingMode.HALF_UP)
+                        .longValueExact();
+                assertEquals(expected, rules.gstPaise(total, discount), total + " at " + discount + "%");
+            }
+        }
+        assertEquals(Long.MAX_VALUE, rules.gstPaise(Long.MAX_VALUE, 0), "100% GST on the largest total");
+        assertThrows(IllegalArgumentException.class, () -> rules.gstPaise(100, 101));
+    }
+
+    @Test
+    @DisplayName("Batch pricing should match pricing each order on its own")
+    void shouldPriceBatchLikeSingleOrders() {
+
+        // Arrange
+        PricingRules rules = PricingRules.fromProperties(properties("50000:12, 1000.50:2, 20000:30", "7", "5", "35", "18"));
+        Random random = new Random(13);
+        int count = 2_000;
+        long[] totals = new long[count];
+        boolean[] premium = new boolean[count];
+        boolean[] festival = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            totals[i] = i < 4 ? Long.MAX_VALUE - i : i % 7 == 0 ? -random.nextInt(1_000_000) : random.nextInt(8_000_000);
+            premium[i] = random.nextBoolean();
+            festival[i] = random.nextBoolean();
+        }
+        long[] gst = new long[count + 1];
+        gst[count] = -1;
+
+        // Act
+        rules.gstPaise(totals, premium, festival, gst, count);
+
+        // Assert
+        for (int i = 0; i < count; i++) {
+            long expected = rules.gstPaise(totals[i], rules.discountPercent(totals[i], premium[i], festival[i]));
+            assertEquals(expected, gst[i], "GST on " + totals[i]);
+        }
+        assertEquals(-1, gst[count], "Only the first count entries should be written");
+    }
+
+    @Test
+    @DisplayName("Bonuses should be capped at the configured maximum discount")
+    void shouldCapDiscount() {
+
+        // Arrange
+        PricingRules rules = PricingRules.fromProperties(properties("100:20", "10", "10", "25", "18"));
+
+        // Act & Assert
+        assertEquals(25, rules.discountPercent(rupees(100), true, true));
+    }
+
+    @Test
+    @DisplayName("Invalid tables should be rejected as a whole")
+    void shouldRejectInvalidTables() {
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.fromProperties(properties("100:5, 100:10", "5", "5", "25", "18")),
+                "Duplicate thresholds");
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.fromProperties(properties("100", "5", "5", "25", "18")),
+                "Tier without a percent");
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.fromProperties(properties("100.001:5", "5", "5", "25", "18")),
+                "Fractional paise");
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.fromProperties(properties("100:5", "5", "5", "25", "180")),
+                "Percent above 100");
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.fromProperties(new Properties()),
+                "Missing keys");
+    }
+
+    static Properties properties(String tiers, String premium, String festival, String max, String gst) {
+        Properties properties = new Properties();
+        properties.setProperty(PricingRules.TIERS_KEY, tiers);
+        properties.setProperty(PricingRules.PREMIUM_BONUS_KEY, premium);
+        properties.setProperty(PricingRules.FESTIVAL_BONUS_KEY, festival);
+        properties.setProperty(PricingRules.MAX_DISCOUNT_KEY, max);
+        properties.setProperty(PricingRules.GST_PERCENT_KEY, gst);
+        return properties;
+    }
+
+    private static long rupees(double amount) {
+        return Money.toPaise(amount);
+    }
+}
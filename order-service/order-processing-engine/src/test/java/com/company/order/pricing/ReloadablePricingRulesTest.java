@@ -0,0 +1,130 @@
+package com.company.order.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReloadablePricingRulesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should publish a new table when the file changes")
+    void shouldReloadModifiedFile() throws IOException {
+
+        // Arrange
+        Path file = write(dir.resolve("rules.properties"), "10000:5", 1_000);
+        ReloadablePricingRules rules = new ReloadablePricingRules(file);
+        PricingRules before = rules.get();
+
+        // Act
+        boolean unchanged = rules.reloadIfModified();
+        write(file, "10000:8", 2_000);
+        boolean changed = rules.reloadIfModified();
+
+        // Assert
+        assertFalse(unchanged, "Unmodified file should not be reloaded");
+        assertTrue(changed);
+        assertEquals(5, before.discountPercent(Money.toPaise(10_000), false, false), "Old table is immutable");
+        assertEquals(8, rules.get().discountPercent(Money.toPaise(10_000), false, false));
+    }
+
+    @Test
+    @DisplayName("Watcher should keep the last good table when the file becomes invalid")
+    void shouldKeepRulesWhenReloadFails() throws Exception {
+
+        // Arrange
+        Path file = write(dir.resolve("rules.properties"), "10000:5", 1_000);
+        ReloadablePricingRules rules = new ReloadablePricingRules(file);
+        PricingRules good = rules.get();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            // Act
+            Files.write(file, "discount.tiers=oops\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(3_000));
+            ScheduledFuture<?> watching = rules.watch(scheduler, Duration.ofMillis(10));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (rules.getLastFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            watching.cancel(false);
+
+            // Assert
+            assertTrue(rules.getLastFailure() instanceof IllegalArgumentException, "Failure should be reported");
+            assertSame(good, rules.get(), "Last good table should stay in use");
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Watcher should keep polling after an unexpected runtime exception")
+    void shouldKeepWatchingAfterRuntimeException() throws Exception {
+
+        // Arrange
+        Path file = write(dir.resolve("rules.properties"), "10000:5", 1_000);
+        AtomicInteger polls = new AtomicInteger();
+        ReloadablePricingRules rules = new ReloadablePricingRules(file) {
+            @Override
+            public synchronized boolean reloadIfModified() throws IOException {
+                if (polls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Unexpected");
+                }
+                return super.reloadIfModified();
+            }
+        };
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            // Act
+            ScheduledFuture<?> watching = rules.watch(scheduler, Duration.ofMillis(10));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (polls.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Exception failure = rules.getLastFailure();
+            write(file, "10000:8", 2_000);
+            while (rules.get().discountPercent(Money.toPaise(10_000), false, false) != 8
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            watching.cancel(false);
+
+            // Assert
+            assertTrue(polls.get() >= 3, "Polling should continue after the exception");
+            assertTrue(failure instanceof IllegalStateException, "Failure should be recorded");
+            assertEquals(8, rules.get().discountPercent(Money.toPaise(10_000), false, false));
+            assertNull(rules.getLastFailure(), "A successful reload should clear the failure");
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static Path write(Path file, String tiers, long modifiedMillis) throws IOException {
+        String content = "discount.tiers=" + tiers + "\n"
+                + "discount.premiumBonusPercent=5\n"
+                + "discount.festivalBonusPercent=5\n"
+                + "discount.maxPercent=25\n"
+                + "gst.percent=18\n";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        // Set explicitly so two writes within the file system's timestamp granularity still differ.
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+        return file;
+    }
+}
@@ -0,0 +1,160 @@
+package com.company.order.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.Order;
+
+class CachingOrderRepositoryTest {
+
+    private OrderRepository backend;
+    private AtomicLong clock;
+    private CachingOrderRepository cache;
+
+    @BeforeEach
+    void setUp() {
+        backend = mock(OrderRepository.class);
+        clock = new AtomicLong();
+        cache = new CachingOrderRepository(backend, 100, Duration.ofSeconds(5), clock::get);
+    }
+
+    @Test
+    @DisplayName("Repeated lookups of the same order should hit the backend once")
+    void shouldServeRepeatedLookupsFromCache() {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+        when(backend.findById("ORD1")).thenReturn(Optional.of(order));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertSame(order, cache.findById("ORD1").orElse(null));
+        }
+
+        // Assert
+        verify(backend, times(1)).findById("ORD1");
+        assertEquals(9, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Missing orders should be cached until the negative TTL expires")
+    void shouldCacheMissesUntilTtlExpires() {
+
+        // Arrange
+        when(backend.findById("ORD404")).thenReturn(Optional.empty());
+
+        // Act
+        cache.findById("ORD404");
+        cache.findById("ORD404");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        cache.findById("ORD404");
+
+        // Assert
+        verify(backend, times(2)).findById("ORD404");
+        assertEquals(1, cache.stats().negativeHitCount());
+    }
+
+    @Test
+    @DisplayName("Saving an order should invalidate a cached miss for its ID")
+    void shouldInvalidateOnSave() {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+        when(backend.findById("ORD1")).thenReturn(Optional.empty()).thenReturn(Optional.of(order));
+        assertFalse(cache.findById("ORD1").isPresent());
+
+        // Act
+        cache.save(order);
+
+        // Assert
+        verify(backend).save(order);
+        assertSame(order, cache.findById("ORD1").orElse(null), "Saved order should be visible immediately");
+        assertEquals(1, cache.stats().invalidationCount());
+    }
+
+    @Test
+    @DisplayName("Explicit invalidation should force the next lookup to the backend")
+    void shouldReloadAfterInvalidate() {
+
+        // Arrange
+        when(backend.findById("ORD1")).thenReturn(Optional.of(new Order("ORD1", "CUST1")));
+        cache.findById("ORD1");
+
+        // Act
+        cache.invalidate("ORD1");
+        cache.findById("ORD1");
+
+        // Assert
+        verify(backend, times(2)).findById("ORD1");
+    }
+
+    @Test
+    @DisplayName("Cache should stay within its bound and keep frequently requested orders")
+    void shouldEvictColdEntriesAndKeepHotOnes() {
+
+        // Arrange
+        when(backend.findById(anyString()))
+                .thenAnswer(call -> Optional.of(new Order(call.getArgument(0), "CUST1")));
+        for (int i = 0; i < 20; i++) {
+            cache.findById("HOT");
+        }
+
+        // Act: a scan of one-off lookups, far larger than the cache
+        for (int i = 0; i < 1_000; i++) {
+            cache.findById("COLD" + i);
+        }
+        cache.findById("HOT");
+
+        // Assert
+        assertTrue(cache.estimatedSize() <= 100, "Cache should not exceed its maximum size");
+        assertTrue(cache.stats().evictionCount() > 0, "Cold entries should have been evicted");
+        verify(backend, times(1)).findById("HOT");
+    }
+
+    @Test
+    @DisplayName("Customer lookups should pass through to the backend")
+    void shouldPassThroughCustomerLookups() {
+
+        // Act
+        cache.findByCustomerId("CUST1");
+        cache.findByCustomerId("CUST1");
+
+        // Assert
+        verify(backend, times(2)).findByCustomerId("CUST1");
+    }
+
+    @Test
+    @DisplayName("Bulk lookup should load all uncached IDs in one backend call and cache the results")
+    void shouldLoadUncachedIdsInOneBatch() {
+
+        // Arrange
+        Order first = new Order("ORD1", "CUST1");
+        Order second = new Order("ORD2", "CUST1");
+        when(backend.findById("ORD1")).thenReturn(Optional.of(first));
+        cache.findById("ORD1");
+        when(backend.findByIds(anyCollection())).thenReturn(Map.of("ORD2", second));
+
+        // Act
+        Map<String, Order> found = cache.findByIds(List.of("ORD1", "ORD2", "ORD404"));
+        Map<String, Order> again = cache.findByIds(List.of("ORD2", "ORD404", "ORD1"));
+
+        // Assert
+        assertEquals(List.of("ORD1", "ORD2"), new ArrayList<>(found.keySet()));
+        assertEquals(List.of("ORD2", "ORD1"), new ArrayList<>(again.keySet()), "Results should follow request order");
+        verify(backend, times(1)).findByIds(anyCollection());
+        assertEquals(1, cache.stats().negativeHitCount(), "Missing ID should be served from the negative cache");
+    }
+}
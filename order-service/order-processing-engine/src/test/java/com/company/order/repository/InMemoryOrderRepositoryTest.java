@@ -0,0 +1,211 @@
+package com.company.order.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderPage;
+
+class InMemoryOrderRepositoryTest {
+
+    private InMemoryOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+    }
+
+    @Test
+    @DisplayName("Should find a saved order by its ID")
+    void shouldFindSavedOrderById() {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+
+        // Act
+        repository.save(order);
+
+        // Assert
+        assertSame(order, repository.findById("ORD1").orElse(null), "Saved order should be found by ID");
+        assertFalse(repository.findById("ORD404").isPresent(), "Unknown ID should not be found");
+    }
+
+    @Test
+    @DisplayName("Should return only the customer's orders from the customer index")
+    void shouldFindOrdersByCustomerId() {
+
+        // Arrange
+        repository.save(new Order("ORD2", "CUST1"));
+        repository.save(new Order("ORD1", "CUST1"));
+        repository.save(new Order("ORD3", "CUST2"));
+
+        // Act
+        List<Order> orders = repository.findByCustomerId("CUST1");
+
+        // Assert
+        assertEquals(2, orders.size(), "Only CUST1 orders should be returned");
+        assertEquals("ORD1", orders.get(0).getOrderId(), "Customer orders should be sorted by ID");
+        assertEquals("ORD2", orders.get(1).getOrderId(), "Customer orders should be sorted by ID");
+        assertTrue(repository.findByCustomerId("CUST404").isEmpty(), "Unknown customer has no orders");
+    }
+
+    @Test
+    @DisplayName("Should move an order between customer indexes when it is re-saved for another customer")
+    void shouldReindexOrderWhenCustomerChanges() {
+
+        // Arrange
+        repository.save(new Order("ORD1", "CUST1"));
+
+        // Act
+        repository.save(new Order("ORD1", "CUST2"));
+
+        // Assert
+        assertTrue(repository.findByCustomerId("CUST1").isEmpty(), "Old customer index entry should be removed");
+        assertEquals(1, repository.findByCustomerId("CUST2").size(), "New customer index entry should exist");
+        assertEquals(1, repository.size(), "Order should be stored once");
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted order from both indexes")
+    void shouldDeleteOrderFromBothIndexes() {
+
+        // Arrange
+        repository.save(new Order("ORD1", "CUST1"));
+
+        // Act
+        boolean deleted = repository.deleteById("ORD1");
+
+        // Assert
+        assertTrue(deleted, "Existing order should be deleted");
+        assertFalse(repository.findById("ORD1").isPresent(), "Deleted order should not be found by ID");
+        assertTrue(repository.findByCustomerId("CUST1").isEmpty(), "Deleted order should not be found by customer");
+        assertFalse(repository.deleteById("ORD1"), "Deleting twice should report nothing removed");
+    }
+
+    @Test
+    @DisplayName("Should replace only orders that are already stored")
+    void shouldReplaceOnlyStoredOrders() {
+
+        // Arrange
+        repository.save(new Order("ORD1", "CUST1"));
+        repository.save(new Order("ORD2", "CUST1"));
+        repository.deleteById("ORD2");
+
+        // Act
+        boolean replaced = repository.replace(new Order("ORD1", "CUST2"));
+        boolean resurrected = repository.replace(new Order("ORD2", "CUST1"));
+
+        // Assert
+        assertTrue(replaced, "Stored order should be replaced");
+        assertEquals("CUST2", repository.findById("ORD1").orElseThrow().getCustomerId());
+        assertTrue(repository.findByCustomerId("CUST1").isEmpty(), "Replaced order should be re-indexed");
+        assertFalse(resurrected, "Deleted order should not be replaced");
+        assertFalse(repository.findById("ORD2").isPresent(), "Deleted order should stay deleted");
+        assertFalse(repository.replace(new Order()), "Order without an ID is never stored");
+    }
+
+    @Test
+    @DisplayName("Should keep both indexes consistent under concurrent writers")
+    void shouldKeepIndexesConsistentUnderConcurrentWriters() throws Exception {
+
+        // Arrange
+        int writers = 8;
+        int ordersPerWriter = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerWriter; i++) {
+                    // Writers contend on the same order IDs and move them between customers.
+                    String orderId = "ORD" + i;
+                    repository.save(new Order(orderId, "CUST" + ((i + writer) % 16)));
+                    if (i % 3 == 0) {
+                        repository.deleteById("ORD" + (i / 2));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int indexedByCustomer = 0;
+        for (int c = 0; c < 16; c++) {
+            for (Order order : repository.findByCustomerId("CUST" + c)) {
+                indexedByCustomer++;
+                assertSame(order, repository.findById(order.getOrderId()).orElse(null),
+                        "Customer index should point at the current primary entry");
+            }
+        }
+        assertEquals(repository.size(), indexedByCustomer,
+                "Every stored order should appear exactly once in the customer index");
+    }
+
+    @Test
+    @DisplayName("Should return only the requested orders that exist in a bulk lookup")
+    void shouldFindOrdersByIds() {
+
+        // Arrange
+        repository.save(new Order("ORD1", "CUST1"));
+        repository.save(new Order("ORD2", "CUST2"));
+
+        // Act
+        Map<String, Order> found = repository.findByIds(List.of("ORD2", "ORD404", "ORD1"));
+
+        // Assert
+        assertEquals(List.of("ORD2", "ORD1"), new ArrayList<>(found.keySet()), "Found orders should keep request order");
+    }
+
+    @Test
+    @DisplayName("Should page through a customer's orders using the resume token")
+    void shouldPageThroughCustomerOrders() {
+
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Order("ORD" + i, "CUST1"));
+        }
+        repository.save(new Order("ORD9", "CUST2"));
+
+        // Act
+        OrderPage first = repository.findByCustomerId("CUST1", null, 2);
+        OrderPage second = repository.findByCustomerId("CUST1", first.getNextToken(), 2);
+        OrderPage last = repository.findByCustomerId("CUST1", second.getNextToken(), 2);
+
+        // Assert
+        assertEquals(List.of("ORD0", "ORD1"), idsOf(first));
+        assertEquals("ORD1", first.getNextToken(), "Token should be the last order ID on the page");
+        assertEquals(List.of("ORD2", "ORD3"), idsOf(second));
+        assertEquals(List.of("ORD4"), idsOf(last));
+        assertFalse(last.hasNext(), "Last page should have no resume token");
+        assertTrue(repository.findByCustomerId("CUST404", null, 2).getOrders().isEmpty());
+    }
+
+    private static List<String> idsOf(OrderPage page) {
+        List<String> ids = new ArrayList<>();
+        for (Order order : page.getOrders()) {
+            ids.add(order.getOrderId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,227 @@
+package com.company.order.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.company.order.model.Order;
+import com.company.order.model.OrderStatus;
+
+class JournalOrderRepositoryTest {
+
+    private static final int SMALL_SEGMENT = 4 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should rebuild orders, statuses and the customer index from the journal on reopen")
+    void shouldRecoverOrdersAfterReopen() throws IOException {
+
+        // Arrange
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            journal.save(order("ORD1", "CUST1", 2));
+            journal.save(order("ORD2", "CUST1", 1));
+            Order cancelled = order("ORD3", "CUST2", 3);
+            cancelled.cancel("Customer changed mind");
+            journal.save(cancelled);
+        }
+
+        // Act
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+
+            // Assert
+            assertEquals(3, reopened.size());
+            Order recovered = reopened.findById("ORD1").orElseThrow();
+            assertEquals("CUST1", recovered.getCustomerId());
+            assertEquals(2, recovered.getLines().size());
+            assertEquals(101.5, recovered.getLines().price(1));
+            assertEquals(2, recovered.getLines().quantity(1));
+            assertEquals(2, reopened.findByCustomerId("CUST1").size(), "Customer index should be rebuilt");
+            Order cancelled = reopened.findById("ORD3").orElseThrow();
+            assertEquals(OrderStatus.CANCELLED, cancelled.getStatus());
+            assertEquals("Customer changed mind", cancelled.getCancellationReason());
+        }
+    }
+
+    @Test
+    @DisplayName("Status changes and deletes should survive a reopen")
+    void shouldReplayStatusChangesAndDeletes() throws IOException {
+
+        // Arrange
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            Order order = order("ORD1", "CUST1", 1);
+            journal.save(order);
+            order.transitionTo(OrderStatus.CONFIRMED);
+            journal.saveStatus(order);
+            order.transitionTo(OrderStatus.SHIPPED);
+            journal.saveStatus(order);
+            journal.save(order("ORD2", "CUST1", 1));
+
+            // Act
+            assertTrue(journal.deleteById("ORD2"));
+            assertFalse(journal.deleteById("ORD2"), "Deleting twice should report nothing removed");
+            assertFalse(journal.replace(order("ORD2", "CUST1", 1)), "Replacing a deleted order should not restore it");
+        }
+
+        // Assert
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            assertEquals(OrderStatus.SHIPPED, reopened.findById("ORD1").orElseThrow().getStatus());
+            assertFalse(reopened.findById("ORD2").isPresent(), "Deleted order should stay deleted");
+            assertEquals(1, reopened.findByCustomerId("CUST1").size());
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction should remove mostly superseded segments without losing any order state")
+    void shouldCompactSupersededSegments() throws IOException {
+
+        // Arrange
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 100; i++) {
+                journal.save(order("ORD" + i, "CUST" + (i % 5), 2));
+            }
+            Order base = journal.findById("ORD0").orElseThrow();
+            for (int round = 0; round < 3; round++) {
+                for (int i = 1; i < 100; i++) {
+                    journal.save(order("ORD" + i, "CUST" + (i % 5), 2));
+                }
+            }
+            // ORD0's full record stays in the first segment; only its status moves on.
+            base.transitionTo(OrderStatus.CONFIRMED);
+            journal.saveStatus(base);
+            journal.deleteById("ORD99");
+            for (int i = 1; i < 60; i++) {
+                journal.save(order("ORD" + i, "CUST" + (i % 5), 2));
+            }
+            int before = journal.segmentCount();
+
+            // Act
+            int removed = journal.compact();
+
+            // Assert
+            assertTrue(removed > 0, "Some segments should be compacted");
+            assertTrue(journal.segmentCount() < before, "Segment count should drop");
+            assertEquals(0, journal.compact(), "Segments left after compaction should be mostly live");
+        }
+
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            assertEquals(99, reopened.size(), "Every live order should survive compaction");
+            assertEquals(OrderStatus.CONFIRMED, reopened.findById("ORD0").orElseThrow().getStatus());
+            assertFalse(reopened.findById("ORD99").isPresent(), "Deleted order must not come back");
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction should leave a journal of only live records untouched, before and after reopening")
+    void shouldNotCompactLiveSegments() throws IOException {
+
+        // Arrange
+        int segments;
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            for (int i = 0; i < 200; i++) {
+                journal.save(order("ORD" + i, "CUST" + (i % 5), 2));
+            }
+            segments = journal.segmentCount();
+            assertTrue(segments > 2, "Test needs several sealed segments");
+
+            // Act / Assert
+            assertEquals(0, journal.compact());
+            assertEquals(segments, journal.segmentCount());
+        }
+
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            assertEquals(0, reopened.compact());
+            assertEquals(segments, reopened.segmentCount());
+            assertEquals(200, reopened.size());
+        }
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of the journal should be discarded and appends should continue")
+    void shouldRecoverFromTornTailRecord() throws IOException {
+
+        // Arrange
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            journal.save(order("ORD1", "CUST1", 1));
+        }
+        Path segment = segmentFiles().get(0);
+        long end = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Simulate a crash mid-write: a length and part of a body, no valid checksum.
+            long tail = firstFreeOffset(segment);
+            channel.write(ByteBuffer.allocate(12).putInt(40).put((byte) 1).putInt(7).flip(), tail);
+        }
+        assertEquals(end, Files.size(segment));
+
+        // Act
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            reopened.save(order("ORD2", "CUST1", 1));
+        }
+
+        // Assert
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            assertTrue(reopened.findById("ORD1").isPresent());
+            assertTrue(reopened.findById("ORD2").isPresent(), "Appends after recovery should be readable");
+        }
+    }
+
+    @Test
+    @DisplayName("Purging should delete cancelled orders durably")
+    void shouldPurgeCancelledOrders() throws IOException {
+
+        // Arrange
+        try (JournalOrderRepository journal = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            Order cancelled = order("ORD1", "CUST1", 1);
+            cancelled.cancel("Duplicate");
+            journal.save(cancelled);
+            journal.save(order("ORD2", "CUST1", 1));
+
+            // Act
+            int purged = journal.purgeCancelled();
+
+            // Assert
+            assertEquals(1, purged);
+        }
+        try (JournalOrderRepository reopened = new JournalOrderRepository(dir, SMALL_SEGMENT)) {
+            assertFalse(reopened.findById("ORD1").isPresent());
+            assertTrue(reopened.findById("ORD2").isPresent());
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    // Walks the length prefixes to the first zero length.
+    private static long firstFreeOffset(Path segment) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = JournalSegment.HEADER_SIZE;
+        while (bytes.getInt(position) != 0) {
+            position += Integer.BYTES + bytes.getInt(position) + Integer.BYTES;
+        }
+        return position;
+    }
+
+    private static Order order(String orderId, String customerId, int lines) {
+        Order order = new Order(orderId, customerId);
+        for (int i = 0; i < lines; i++) {
+            order.addItem(100 + i * 1.5, i + 1);
+        }
+        return order;
+    }
+}
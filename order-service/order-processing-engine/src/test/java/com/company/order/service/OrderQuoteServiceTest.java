@@ -0,0 +1,79 @@
+package com.company.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.OrderQuote;
+import com.company.order.model.RejectionReason;
+
+class OrderQuoteServiceTest {
+
+    private OrderQuoteService quoteService;
+    private PricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        pricingService = new PricingService();
+        quoteService = new OrderQuoteService(new ComplianceService(), pricingService);
+    }
+
+    @Test
+    @DisplayName("Quote should carry total, discount and GST for a valid order")
+    void shouldQuoteValidOrder() {
+
+        // Arrange
+        Order order = new Order();
+        order.addItem(new OrderItem(10_000, 2));
+        order.addItem(new OrderItem(2_500.50, 2));
+
+        // Act
+        OrderQuote quote = quoteService.quote(order, new Customer(true), true, false);
+
+        // Assert
+        assertTrue(quote.isAccepted(), "Valid order should be accepted");
+        assertEquals(25_001_00, quote.getTotalPaise(), "Total should be summed in paise");
+        assertEquals(15, quote.getDiscountPercent(), "Upper tier plus premium bonus should apply");
+        assertEquals(pricingService.calculateGSTPaise(25_001_00, true, false), quote.getGstPaise(),
+                "GST should match the pricing service");
+        assertEquals(25_001.00, quote.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Quote should report the rejection reason and no GST for an invalid order")
+    void shouldQuoteRejectedOrder() {
+
+        // Arrange
+        Order order = new Order();
+        order.addItem(new OrderItem(100, -1));
+
+        // Act
+        OrderQuote quote = quoteService.quote(order, new Customer(true), false, false);
+
+        // Assert
+        assertFalse(quote.isAccepted(), "Invalid order should be rejected");
+        assertEquals(RejectionReason.INVALID_QUANTITY, quote.getRejectionReason());
+        assertEquals(0, quote.getGstPaise(), "Rejected quote should carry no GST");
+    }
+
+    @Test
+    @DisplayName("Quote should keep the computed total when the order exceeds the limit")
+    void shouldKeepTotalForOrderOverLimit() {
+
+        // Arrange
+        Order order = new Order();
+        order.addItem(new OrderItem(3_00_000, 2));
+
+        // Act
+        OrderQuote quote = quoteService.quote(order, new Customer(true), false, false);
+
+        // Assert
+        assertEquals(RejectionReason.LIMIT_EXCEEDED, quote.getRejectionReason());
+        assertEquals(6_00_000_00, quote.getTotalPaise(), "Total should be reported for over-limit orders");
+    }
+}
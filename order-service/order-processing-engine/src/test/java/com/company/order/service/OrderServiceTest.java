@@ -1,247 +1,652 @@
-package com.company.order.service;
-
-import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
-
-import java.util.List;
-import java.util.Optional;
-
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Test;
-
-import com.company.order.exception.InvalidOrderException;
-import com.company.order.exception.OrderNotFoundException;
-import com.company.order.model.Customer;
-import com.company.order.model.Order;
-import com.company.order.model.OrderItem;
-import com.company.order.model.OrderStatus;
-import com.company.order.repository.OrderRepository;
-
-class OrderServiceTest {
-
-    private OrderRepository repository;
-    private OrderServiceImpl service;
-
-    @BeforeEach
-    void setup() {
-        repository = mock(OrderRepository.class);
-        service = new OrderServiceImpl(repository);
-    }
-
-    // -------------------- Order Creation --------------------
-
-    @Test
-    @DisplayName("Order creation should fail when customer is inactive")
-    void shouldFailToCreateOrderWhenCustomerIsInactive() {
-
-        // Arrange
-        Customer inactiveCustomer = new Customer(false);
-        Order order = new Order();
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.createOrder(order, inactiveCustomer),
-                "Expected InvalidOrderException when customer is inactive"
-        );
-    }
-
-    @Test
-    @DisplayName("Order creation should fail when order has no items")
-    void shouldFailToCreateOrderWhenOrderHasNoItems() {
-
-        // Arrange
-        Customer activeCustomer = new Customer(true);
-        Order emptyOrder = new Order();
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.createOrder(emptyOrder, activeCustomer),
-                "Expected InvalidOrderException when order has no items"
-        );
-    }
-
-    @Test
-    @DisplayName("Order creation should fail when item price is zero or negative")
-    void shouldFailToCreateOrderWhenItemPriceIsInvalid() {
-
-        // Arrange
-        Customer activeCustomer = new Customer(true);
-        OrderItem itemWithInvalidPrice = new OrderItem(0, 1);
-        Order order = new Order();
-        order.addItem(itemWithInvalidPrice);
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.createOrder(order, activeCustomer),
-                "Expected InvalidOrderException when item price is invalid"
-        );
-    }
-
-    @Test
-    @DisplayName("Order creation should fail when item quantity is zero or negative")
-    void shouldFailToCreateOrderWhenItemQuantityIsInvalid() {
-
-        // Arrange
-        Customer activeCustomer = new Customer(true);
-        OrderItem itemWithInvalidQuantity = new OrderItem(100, 0);
-        Order order = new Order();
-        order.addItem(itemWithInvalidQuantity);
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.createOrder(order, activeCustomer),
-                "Expected InvalidOrderException when item quantity is invalid"
-        );
-    }
-
-    @Test
-    @DisplayName("Order creation should fail when total order amount exceeds limit")
-    void shouldFailToCreateOrderWhenTotalAmountExceedsLimit() {
-
-        // Arrange
-        Customer activeCustomer = new Customer(true);
-        OrderItem expensiveItem = new OrderItem(500_001, 1);
-        Order order = new Order();
-        order.addItem(expensiveItem);
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.createOrder(order, activeCustomer),
-                "Expected InvalidOrderException when total amount exceeds limit"
-        );
-    }
-
-    // -------------------- Order Cancellation --------------------
-
-    @Test
-    @DisplayName("Order cancellation should fail when reason is empty")
-    void shouldFailToCancelOrderWhenReasonIsEmpty() {
-
-        // Arrange
-        Order order = new Order();
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.cancelOrder(order, ""),
-                "Expected exception when cancellation reason is empty"
-        );
-    }
-
-    @Test
-    @DisplayName("Order cancellation should fail when order is already cancelled")
-    void shouldFailToCancelAlreadyCancelledOrder() {
-
-        // Arrange
-        Order order = new Order();
-        order.cancel("Customer requested");
-
-        // Act & Assert
-        assertThrows(
-                InvalidOrderException.class,
-                () -> service.cancelOrder(order, "Another reason"),
-                "Expected exception when cancelling an already cancelled order"
-        );
-    }
-
-    @Test
-    @DisplayName("Order cancellation should succeed for valid order and reason")
-    void shouldCancelOrderSuccessfully() {
-
-        // Arrange
-        Order order = new Order();
-
-        // Act
-        service.cancelOrder(order, "Customer requested");
-
-        // Assert
-        assertEquals(
-                OrderStatus.CANCELLED,
-                order.getStatus(),
-                "Order status should be CANCELLED after cancellation"
-        );
-    }
-
-    // -------------------- Order Retrieval --------------------
-
-    @Test
-    @DisplayName("Should return order when valid order ID is provided")
-    void shouldReturnOrderWhenOrderIdExists() {
-
-        // Arrange
-        Order order = new Order();
-        when(repository.findById("ORD1")).thenReturn(Optional.of(order));
-
-        // Act
-        Order result = service.getOrderById("ORD1");
-
-        // Assert
-        assertNotNull(result, "Order should be returned when ID exists");
-    }
-
-    @Test
-    @DisplayName("Should throw OrderNotFoundException when order ID is not found")
-    void shouldFailWhenOrderIdDoesNotExist() {
-
-        // Arrange
-        when(repository.findById("ORD404")).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(
-                OrderNotFoundException.class,
-                () -> service.getOrderById("ORD404"),
-                "Expected OrderNotFoundException when order ID does not exist"
-        );
-    }
-
-    @Test
-    @DisplayName("Should return orders when customer has orders")
-    void shouldReturnOrdersForCustomer() {
-
-        // Arrange
-        List<Order> orders = List.of(new Order(), new Order());
-        when(repository.findByCustomerId("CUST1")).thenReturn(orders);
-
-        // Act
-        List<Order> result = service.getOrdersByCustomerId("CUST1");
-
-        // Assert
-        assertEquals(2, result.size(), "Customer orders should be returned");
-    }
-
-    @Test
-    @DisplayName("Should throw OrderNotFoundException when customer has no orders")
-    void shouldFailWhenCustomerHasNoOrders() {
-
-        // Arrange
-        when(repository.findByCustomerId("CUST2")).thenReturn(List.of());
-
-        // Act & Assert
-        assertThrows(
-                OrderNotFoundException.class,
-                () -> service.getOrdersByCustomerId("CUST2"),
-                "Expected exception when customer has no orders"
-        );
-    }
-
-    @Test
-    @DisplayName("Should throw OrderNotFoundException when repository returns null")
-    void shouldFailWhenRepositoryReturnsNull() {
-
-        // Arrange
-        when(repository.findByCustomerId("CUST3")).thenReturn(null);
-
-        // Act & Assert
-        assertThrows(
-                OrderNotFoundException.class,
-                () -> service.getOrdersByCustomerId("CUST3"),
-                "Expected exception when repository returns null"
-        );
-    }
-}
+package com.company.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.exception.OrderNotFoundException;
+import com.company.order.metrics.MetricsSnapshot;
+import com.company.order.metrics.Operation;
+import com.company.order.metrics.RecordingOrderMetrics;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.OrderLookupResult;
+import com.company.order.model.OrderPage;
+import com.company.order.model.OrderResult;
+import com.company.order.model.OrderStatus;
+import com.company.order.model.OrderSubmission;
+import com.company.order.model.RejectionReason;
+import com.company.order.model.ValidationResult;
+import com.company.order.repository.CachingOrderRepository;
+import com.company.order.repository.InMemoryOrderRepository;
+import com.company.order.repository.OrderRepository;
+
+class OrderServiceTest {
+
+    private OrderRepository repository;
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(OrderRepository.class);
+        service = new OrderServiceImpl(repository);
+    }
+
+    // -------------------- Order Creation --------------------
+
+    @Test
+    @DisplayName("Order creation should fail when customer is inactive")
+    void shouldFailToCreateOrderWhenCustomerIsInactive() {
+
+        // Arrange
+        Customer inactiveCustomer = new Customer(false);
+        Order order = new Order();
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrder(order, inactiveCustomer),
+                "Expected InvalidOrderException when customer is inactive"
+        );
+    }
+
+    @Test
+    @DisplayName("Order creation should fail when order has no items")
+    void shouldFailToCreateOrderWhenOrderHasNoItems() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        Order emptyOrder = new Order();
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrder(emptyOrder, activeCustomer),
+                "Expected InvalidOrderException when order has no items"
+        );
+    }
+
+    @Test
+    @DisplayName("Order creation should fail when item price is zero or negative")
+    void shouldFailToCreateOrderWhenItemPriceIsInvalid() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        OrderItem itemWithInvalidPrice = new OrderItem(0, 1);
+        Order order = new Order();
+        order.addItem(itemWithInvalidPrice);
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrder(order, activeCustomer),
+                "Expected InvalidOrderException when item price is invalid"
+        );
+    }
+
+    @Test
+    @DisplayName("Order creation should fail when item quantity is zero or negative")
+    void shouldFailToCreateOrderWhenItemQuantityIsInvalid() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        OrderItem itemWithInvalidQuantity = new OrderItem(100, 0);
+        Order order = new Order();
+        order.addItem(itemWithInvalidQuantity);
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrder(order, activeCustomer),
+                "Expected InvalidOrderException when item quantity is invalid"
+        );
+    }
+
+    @Test
+    @DisplayName("Order creation should fail when total order amount exceeds limit")
+    void shouldFailToCreateOrderWhenTotalAmountExceedsLimit() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        OrderItem expensiveItem = new OrderItem(500_001, 1);
+        Order order = new Order();
+        order.addItem(expensiveItem);
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrder(order, activeCustomer),
+                "Expected InvalidOrderException when total amount exceeds limit"
+        );
+    }
+
+    @Test
+    @DisplayName("Order validation should report the rejection reason without throwing")
+    void shouldReportRejectionReasonWithoutThrowing() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        Order order = new Order();
+        order.addItem(new OrderItem(-5, 1));
+        ValidationResult result = new ValidationResult();
+
+        // Act
+        service.validateOrder(order, activeCustomer, result);
+
+        // Assert
+        assertFalse(result.isValid(), "Order with invalid price should not be valid");
+        assertEquals(RejectionReason.INVALID_PRICE, result.getReason());
+    }
+
+    // -------------------- Batch Order Creation --------------------
+
+    @Test
+    @DisplayName("Batch creation should return a result per order in submission order")
+    void shouldReturnResultPerOrderForBatch() {
+
+        // Arrange
+        Customer activeCustomer = new Customer(true);
+        Order validOrder = new Order();
+        validOrder.addItem(new OrderItem(100, 2));
+        Order emptyOrder = new Order();
+        Order invalidQuantityOrder = new Order();
+        invalidQuantityOrder.addItem(new OrderItem(100, 0));
+
+        List<OrderSubmission> submissions = List.of(
+                new OrderSubmission(validOrder, activeCustomer),
+                new OrderSubmission(emptyOrder, activeCustomer),
+                new OrderSubmission(validOrder, new Customer(false)),
+                new OrderSubmission(invalidQuantityOrder, activeCustomer));
+
+        // Act
+        List<OrderResult> results = service.createOrders(submissions);
+
+        // Assert
+        assertEquals(4, results.size(), "Each submission should get a result");
+        assertTrue(results.get(0).isAccepted(), "Valid order should be accepted");
+        assertSame(validOrder, results.get(0).getOrder());
+        assertEquals(RejectionReason.NO_ITEMS, results.get(1).getRejectionReason());
+        assertEquals(RejectionReason.INACTIVE_CUSTOMER, results.get(2).getRejectionReason());
+        assertEquals(RejectionReason.INVALID_QUANTITY, results.get(3).getRejectionReason());
+    }
+
+    @Test
+    @DisplayName("Batch creation should not fail the whole batch when large batches contain rejections")
+    void shouldValidateLargeBatchInParallel() {
+
+        // Arrange
+        ForkJoinPool pool = new ForkJoinPool(4);
+        OrderServiceImpl parallelService = new OrderServiceImpl(repository, pool);
+        Customer activeCustomer = new Customer(true);
+        List<OrderSubmission> submissions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Order order = new Order();
+            order.addItem(new OrderItem(i % 10 == 0 ? 600_000 : 100, 1));
+            submissions.add(new OrderSubmission(order, activeCustomer));
+        }
+
+        // Act
+        List<OrderResult> results;
+        try {
+            results = parallelService.createOrders(submissions);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertSame(submissions.get(i).getOrder(), results.get(i).getOrder(),
+                    "Results should preserve submission order");
+            if (i % 10 == 0) {
+                assertEquals(RejectionReason.LIMIT_EXCEEDED, results.get(i).getRejectionReason());
+            } else {
+                assertTrue(results.get(i).isAccepted(), "Order within limit should be accepted");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Batch creation should return no results for an empty batch")
+    void shouldReturnEmptyResultsForEmptyBatch() {
+
+        // Act
+        List<OrderResult> results = service.createOrders(List.of());
+
+        // Assert
+        assertTrue(results.isEmpty(), "Empty batch should produce no results");
+    }
+
+    @Test
+    @DisplayName("Batch creation should fail when submissions are null")
+    void shouldFailToCreateOrdersWhenSubmissionsAreNull() {
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.createOrders(null),
+                "Expected InvalidOrderException when submissions are null"
+        );
+    }
+
+    // -------------------- Order Cancellation --------------------
+
+    @Test
+    @DisplayName("Order cancellation should fail when reason is empty")
+    void shouldFailToCancelOrderWhenReasonIsEmpty() {
+
+        // Arrange
+        Order order = new Order();
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.cancelOrder(order, ""),
+                "Expected exception when cancellation reason is empty"
+        );
+    }
+
+    @Test
+    @DisplayName("Order cancellation should fail when order is already cancelled")
+    void shouldFailToCancelAlreadyCancelledOrder() {
+
+        // Arrange
+        Order order = new Order();
+        order.cancel("Customer requested");
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.cancelOrder(order, "Another reason"),
+                "Expected exception when cancelling an already cancelled order"
+        );
+    }
+
+    @Test
+    @DisplayName("Order cancellation should fail once the order has shipped")
+    void shouldFailToCancelShippedOrder() {
+
+        // Arrange
+        Order order = new Order();
+        order.transitionTo(OrderStatus.CONFIRMED);
+        order.transitionTo(OrderStatus.SHIPPED);
+
+        // Act & Assert
+        assertThrows(
+                InvalidOrderException.class,
+                () -> service.cancelOrder(order, "Customer requested"),
+                "Expected exception when cancelling a shipped order"
+        );
+        assertEquals(OrderStatus.SHIPPED, order.getStatus(), "Shipped order should stay shipped");
+    }
+
+    @Test
+    @DisplayName("Order cancellation should succeed for valid order and reason")
+    void shouldCancelOrderSuccessfully() {
+
+        // Arrange
+        Order order = new Order();
+
+        // Act
+        service.cancelOrder(order, "Customer requested");
+
+        // Assert
+        assertEquals(
+                OrderStatus.CANCELLED,
+                order.getStatus(),
+                "Order status should be CANCELLED after cancellation"
+        );
+        verify(repository, never()).save(order);
+    }
+
+    @Test
+    @DisplayName("Order cancellation should write through replace without probing the repository first")
+    void shouldCancelWithSingleRepositoryCall() {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+
+        // Act
+        service.cancelOrder(order, "Customer requested");
+
+        // Assert
+        verify(repository, times(1)).replace(order);
+        verify(repository, never()).findById(anyString());
+        verify(repository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Order cancellation should save stored orders only, so cached lookups see the cancellation")
+    void shouldPersistCancellationOfStoredOrdersOnly() {
+
+        // Arrange
+        InMemoryOrderRepository backend = new InMemoryOrderRepository();
+        CachingOrderRepository cached = new CachingOrderRepository(backend, 100, Duration.ofMinutes(1));
+        OrderServiceImpl realService = new OrderServiceImpl(cached);
+        backend.save(new Order("ORD1", "CUST1"));
+        Order storedCopy = new Order("ORD1", "CUST1");
+        assertEquals(OrderStatus.CREATED, realService.getOrderById("ORD1").getStatus());
+        Order withoutId = new Order();
+        Order neverCreated = new Order("NEVER-CREATED", "CUST1");
+
+        // Act
+        realService.cancelOrder(storedCopy, "Customer requested");
+        realService.cancelOrder(withoutId, "Customer requested");
+        realService.cancelOrder(neverCreated, "Customer requested");
+
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, realService.getOrderById("ORD1").getStatus(),
+                "Cached copy should be invalidated by the replace");
+        assertEquals(OrderStatus.CANCELLED, withoutId.getStatus());
+        assertEquals(OrderStatus.CANCELLED, neverCreated.getStatus());
+        assertTrue(cached.findById("NEVER-CREATED").isEmpty(), "Cancelling must not create an order");
+    }
+
+    // -------------------- Order Retrieval --------------------
+
+    @Test
+    @DisplayName("Should return order when valid order ID is provided")
+    void shouldReturnOrderWhenOrderIdExists() {
+
+        // Arrange
+        Order order = new Order();
+        when(repository.findById("ORD1")).thenReturn(Optional.of(order));
+
+        // Act
+        Order result = service.getOrderById("ORD1");
+
+        // Assert
+        assertNotNull(result, "Order should be returned when ID exists");
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when order ID is not found")
+    void shouldFailWhenOrderIdDoesNotExist() {
+
+        // Arrange
+        when(repository.findById("ORD404")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(
+                OrderNotFoundException.class,
+                () -> service.getOrderById("ORD404"),
+                "Expected OrderNotFoundException when order ID does not exist"
+        );
+    }
+
+    @Test
+    @DisplayName("Should return orders when customer has orders")
+    void shouldReturnOrdersForCustomer() {
+
+        // Arrange
+        List<Order> orders = List.of(new Order(), new Order());
+        when(repository.findByCustomerId("CUST1")).thenReturn(orders);
+
+        // Act
+        List<Order> result = service.getOrdersByCustomerId("CUST1");
+
+        // Assert
+        assertEquals(2, result.size(), "Customer orders should be returned");
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when customer has no orders")
+    void shouldFailWhenCustomerHasNoOrders() {
+
+        // Arrange
+        when(repository.findByCustomerId("CUST2")).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(
+                OrderNotFoundException.class,
+                () -> service.getOrdersByCustomerId("CUST2"),
+                "Expected exception when customer has no orders"
+        );
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when repository returns null")
+    void shouldFailWhenRepositoryReturnsNull() {
+
+        // Arrange
+        when(repository.findByCustomerId("CUST3")).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(
+                OrderNotFoundException.class,
+                () -> service.getOrdersByCustomerId("CUST3"),
+                "Expected exception when repository returns null"
+        );
+    }
+
+    // -------------------- Async Retrieval --------------------
+
+    @Test
+    @DisplayName("Async lookup should complete with the order when the ID exists")
+    void shouldReturnOrderAsync() throws Exception {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+        when(repository.findById("ORD1")).thenReturn(Optional.of(order));
+
+        // Act
+        Order result = service.getOrderByIdAsync("ORD1").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertSame(order, result, "Async lookup should return the repository's order");
+    }
+
+    @Test
+    @DisplayName("Async lookup should fail with OrderNotFoundException when the ID is not found")
+    void shouldFailAsyncWhenOrderIdDoesNotExist() {
+
+        // Arrange
+        when(repository.findById("ORD404")).thenReturn(Optional.empty());
+
+        // Act
+        CompletableFuture<Order> future = service.getOrderByIdAsync("ORD404");
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof OrderNotFoundException,
+                "Async failure should carry OrderNotFoundException");
+    }
+
+    @Test
+    @DisplayName("Async customer lookup should complete with the customer's orders")
+    void shouldReturnOrdersForCustomerAsync() throws Exception {
+
+        // Arrange
+        when(repository.findByCustomerId("CUST1")).thenReturn(List.of(new Order(), new Order()));
+
+        // Act
+        List<Order> result = service.getOrdersByCustomerIdAsync("CUST1").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, result.size(), "Customer orders should be returned");
+    }
+
+    // -------------------- Bulk Retrieval --------------------
+
+    @Test
+    @DisplayName("Bulk lookup should return found orders and report missing IDs in one repository call")
+    void shouldReturnFoundAndMissingOrdersForBulkLookup() {
+
+        // Arrange
+        Order first = new Order("ORD1", "CUST1");
+        Order third = new Order("ORD3", "CUST1");
+        Map<String, Order> found = new LinkedHashMap<>();
+        found.put("ORD1", first);
+        found.put("ORD3", third);
+        when(repository.findByIds(anyCollection())).thenReturn(found);
+
+        // Act
+        OrderLookupResult result = service.getOrdersByIds(List.of("ORD1", "ORD2", "ORD3", "ORD1"));
+
+        // Assert
+        assertEquals(List.of("ORD1", "ORD3"), new ArrayList<>(result.getFound().keySet()));
+        assertEquals(List.of("ORD2"), result.getMissingIds(), "Unknown IDs should be reported as missing");
+        assertFalse(result.isComplete());
+        verify(repository, times(1)).findByIds(anyCollection());
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Bulk lookup should fail when the IDs are null or contain null")
+    void shouldFailBulkLookupForNullIds() {
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> service.getOrdersByIds(null));
+        assertThrows(InvalidOrderException.class, () -> service.getOrdersByIds(Arrays.asList("ORD1", null)));
+    }
+
+    // -------------------- Paged History --------------------
+
+    @Test
+    @DisplayName("Default paging should treat a null history from the repository as empty")
+    void shouldPageNullHistoryAsEmpty() {
+
+        // Arrange
+        OrderRepository legacy = mock(OrderRepository.class, CALLS_REAL_METHODS);
+        doReturn(null).when(legacy).findByCustomerId("CUST1");
+        OrderServiceImpl legacyService = new OrderServiceImpl(legacy);
+
+        // Act
+        OrderPage page = legacy.findByCustomerId("CUST1", null, 10);
+        List<Order> streamed = legacyService.streamOrdersByCustomerId("CUST1", 10).collect(Collectors.toList());
+
+        // Assert
+        assertTrue(page.getOrders().isEmpty(), "A null history should be an empty page");
+        assertNull(page.getNextToken(), "An empty page has no next token");
+        assertTrue(streamed.isEmpty(), "A null history should stream no orders");
+    }
+
+    @Test
+    @DisplayName("Streaming a customer's history should fetch it page by page as it is consumed")
+    void shouldStreamCustomerHistoryPageByPage() {
+
+        // Arrange
+        Order first = new Order("ORD1", "CUST1");
+        Order second = new Order("ORD2", "CUST1");
+        Order third = new Order("ORD3", "CUST1");
+        when(repository.findByCustomerId("CUST1", null, 2)).thenReturn(new OrderPage(List.of(first, second), "ORD2"));
+        when(repository.findByCustomerId("CUST1", "ORD2", 2)).thenReturn(new OrderPage(List.of(third), null));
+
+        // Act
+        Stream<Order> history = service.streamOrdersByCustomerId("CUST1", 2);
+
+        // Assert
+        verify(repository, never()).findByCustomerId("CUST1", "ORD2", 2);
+        assertEquals(List.of(first, second, third), history.collect(Collectors.toList()));
+        verify(repository, times(1)).findByCustomerId("CUST1", "ORD2", 2);
+        verify(repository, never()).findByCustomerId("CUST1");
+    }
+
+    @Test
+    @DisplayName("Paged history should reject page sizes outside the allowed range")
+    void shouldRejectInvalidPageSize() {
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> service.getOrdersByCustomerId("CUST1", null, 0));
+        assertThrows(InvalidOrderException.class,
+                () -> service.getOrdersByCustomerId("CUST1", null, OrderServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    // -------------------- Lookup Coalescing --------------------
+
+    @Test
+    @DisplayName("Concurrent lookups of the same ID should share one repository call and one not-found error")
+    void shouldCoalesceConcurrentLookupsOfSameId() throws Exception {
+
+        // Arrange
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        Order order = new Order("ORD1", "CUST1");
+        when(repository.findById("ORD1")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(order);
+        });
+        when(repository.findById("ORD404")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        // Act
+        List<CompletableFuture<Order>> found = new ArrayList<>();
+        List<CompletableFuture<Order>> missing = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            found.add(service.getOrderByIdAsync("ORD1"));
+            missing.add(service.getOrderByIdAsync("ORD404"));
+        }
+        while (service.lookupCoalescingStats().requestCount() < 2L * callers) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<Order> future : found) {
+            assertSame(order, future.get(5, TimeUnit.SECONDS));
+        }
+        Throwable firstFailure = null;
+        for (CompletableFuture<Order> future : missing) {
+            Throwable failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+            assertTrue(failure instanceof OrderNotFoundException);
+            if (firstFailure == null) {
+                firstFailure = failure;
+            }
+            assertSame(firstFailure, failure, "Waiting callers should share the leader's exception");
+        }
+        verify(repository, times(1)).findById("ORD1");
+        verify(repository, times(1)).findById("ORD404");
+        assertEquals(2, service.lookupCoalescingStats().executionCount());
+        assertEquals(2L * callers - 2, service.lookupCoalescingStats().sharedCount());
+    }
+
+    // -------------------- Metrics --------------------
+
+    @Test
+    @DisplayName("Service with metrics should time each public call once and count rejections once per order")
+    void shouldRecordLatenciesAndRejections() {
+
+        // Arrange
+        RecordingOrderMetrics metrics = new RecordingOrderMetrics(System::nanoTime);
+        OrderServiceImpl instrumented = new OrderServiceImpl(repository, metrics);
+        Order order = new Order();
+        order.addItem(new OrderItem(100, 1));
+        when(repository.findById("ORD1")).thenReturn(Optional.of(order));
+
+        // Act
+        instrumented.createOrder(order, new Customer(true));
+        assertThrows(InvalidOrderException.class, () -> instrumented.createOrder(order, new Customer(false)));
+        instrumented.getOrderById("ORD1");
+        instrumented.quoteOrder(order, new Customer(true), false, false);
+
+        // Assert
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.latency(Operation.CREATE_ORDER).getCount());
+        assertEquals(1, snapshot.latency(Operation.VALIDATE_ORDER).getCount(),
+                "Validation inside createOrder should not be timed a second time");
+        assertEquals(1, snapshot.latency(Operation.FIND_BY_ID).getCount());
+        assertEquals(1, snapshot.latency(Operation.CALCULATE_GST).getCount());
+        assertEquals(1, snapshot.rejections(RejectionReason.INACTIVE_CUSTOMER));
+    }
+}
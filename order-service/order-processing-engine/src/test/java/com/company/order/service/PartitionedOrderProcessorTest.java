@@ -0,0 +1,160 @@
+package com.company.order.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.exception.InvalidOrderException;
+import com.company.order.model.Customer;
+import com.company.order.model.Order;
+import com.company.order.model.OrderItem;
+import com.company.order.model.OrderStatus;
+import com.company.order.repository.OrderRepository;
+
+class PartitionedOrderProcessorTest {
+
+    @Test
+    @DisplayName("Should apply one customer's operations in submission order on a single lane")
+    void shouldKeepPerCustomerOrder() throws Exception {
+
+        // Arrange
+        OrderRepository repository = mock(OrderRepository.class);
+        Map<String, List<String>> savedByCustomer = new ConcurrentHashMap<>();
+        Map<String, String> threadByCustomer = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            savedByCustomer.computeIfAbsent(order.getCustomerId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(order.getOrderId());
+            String thread = Thread.currentThread().getName();
+            assertEquals(thread, threadByCustomer.computeIfAbsent(order.getCustomerId(), id -> thread),
+                    "A customer's operations should always run on the same lane");
+            return true;
+        }).when(repository).replace(any(Order.class));
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        try (PartitionedOrderProcessor processor = new PartitionedOrderProcessor(new OrderServiceImpl(repository), 4, 1_024)) {
+
+            // Act
+            for (int i = 0; i < 200; i++) {
+                futures.add(processor.cancelOrder(new Order(String.format("ORD%03d", i), "CUST" + (i % 5)), "Test"));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        for (int c = 0; c < 5; c++) {
+            List<String> saved = savedByCustomer.get("CUST" + c);
+            assertEquals(40, saved.size());
+            List<String> sorted = new ArrayList<>(saved);
+            Collections.sort(sorted);
+            assertEquals(sorted, saved, "Operations should be applied in submission order");
+        }
+        assertEquals(OrderStatus.CANCELLED, futures.get(0).get().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should run create and cancel of an order without a customer ID on the same lane")
+    void shouldRouteOrderWithoutCustomerIdConsistently() throws Exception {
+
+        // Arrange
+        Order order = new Order("ORD1", null);
+        order.addItem(new OrderItem(100, 1));
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        OrderServiceImpl service = new OrderServiceImpl(mock(OrderRepository.class)) {
+            @Override
+            public void createOrder(Order order, Customer customer) {
+                threads.add(Thread.currentThread().getName());
+                super.createOrder(order, customer);
+            }
+
+            @Override
+            public void cancelOrder(Order order, String reason) {
+                threads.add(Thread.currentThread().getName());
+                super.cancelOrder(order, reason);
+            }
+        };
+
+        try (PartitionedOrderProcessor processor = new PartitionedOrderProcessor(service, 4, 16)) {
+            Customer customer = new Customer("CUST1", true);
+            assertNotEquals(0, processor.laneOf(customer.getCustomerId()), "Customer should hash away from lane 0");
+
+            // Act
+            CompletableFuture<Order> created = processor.createOrder(order, customer);
+            CompletableFuture<Order> cancelled = processor.cancelOrder(order, "Test");
+            CompletableFuture.allOf(created, cancelled).get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(List.of("order-lane-0", "order-lane-0"), threads,
+                "Both operations should run on the lane of the order's own (null) customer ID");
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should fail the future with the service's exception when an order is rejected")
+    void shouldPropagateValidationFailure() throws Exception {
+
+        // Arrange
+        Order order = new Order("ORD1", "CUST1");
+        order.addItem(new OrderItem(100, 1));
+
+        try (PartitionedOrderProcessor processor =
+                new PartitionedOrderProcessor(new OrderServiceImpl(mock(OrderRepository.class)), 2, 16)) {
+
+            // Act
+            CompletableFuture<Order> accepted = processor.createOrder(order, new Customer("CUST1", true));
+            CompletableFuture<Order> rejected = processor.createOrder(order, new Customer("CUST1", false));
+
+            // Assert
+            assertSame(order, accepted.get(5, TimeUnit.SECONDS));
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof InvalidOrderException);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject work immediately when the customer's lane queue is full")
+    void shouldRejectWhenLaneIsFull() throws Exception {
+
+        // Arrange
+        OrderRepository repository = mock(OrderRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(repository).replace(any(Order.class));
+
+        try (PartitionedOrderProcessor processor = new PartitionedOrderProcessor(new OrderServiceImpl(repository), 1, 2)) {
+            List<CompletableFuture<Order>> queued = new ArrayList<>();
+            queued.add(processor.cancelOrder(new Order("ORD0", "CUST1"), "Test"));
+            while (processor.queuedCount(0) > 0) {
+                Thread.sleep(1);
+            }
+            queued.add(processor.cancelOrder(new Order("ORD1", "CUST1"), "Test"));
+            queued.add(processor.cancelOrder(new Order("ORD2", "CUST1"), "Test"));
+
+            // Act
+            CompletableFuture<Order> overflow = processor.cancelOrder(new Order("ORD3", "CUST1"), "Test");
+
+            // Assert
+            assertTrue(overflow.isCompletedExceptionally(), "Overflow should fail without waiting");
+            ExecutionException failure = assertThrows(ExecutionException.class, overflow::get);
+            assertTrue(failure.getCause() instanceof RejectedExecutionException);
+            release.countDown();
+            for (CompletableFuture<Order> future : queued) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
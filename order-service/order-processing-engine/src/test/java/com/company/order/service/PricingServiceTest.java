@@ -1,58 +1,130 @@
-package com.company.order.service;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
-import org.junit.jupiter.api.DisplayName;
-
-class PricingServiceTest {
-
-    @ParameterizedTest(name = "Total={0}, Premium={1}, Festival={2} => Discount={3}%")
-    @CsvFileSource(resources = "/discount-rules.csv", numLinesToSkip = 1)
-    @DisplayName("Discount percentage should be calculated based on pricing rules")
-    void shouldCalculateCorrectDiscountPercentage(
-            double totalAmount,
-            boolean isPremiumCustomer,
-            boolean isFestivalOfferEnabled,
-            int expectedDiscountPercent) {
-
-        // Arrange
-        PricingService pricingService = new PricingService();
-
-        // Act
-        int actualDiscountPercent =
-                pricingService.calculateDiscountPercentage(
-                        totalAmount,
-                        isPremiumCustomer,
-                        isFestivalOfferEnabled);
-
-        // Assert
-        assertEquals(
-                expectedDiscountPercent,
-                actualDiscountPercent,
-                "Discount percentage calculation is incorrect");
-    }
-    
-    
-    @ParameterizedTest(name = "Total={0}, Premium={1}, Festival={2} => GST={3}")
-    @CsvFileSource(resources = "/gst-rules.csv", numLinesToSkip = 1)
-    @DisplayName("GST should be calculated correctly after discount")
-    void shouldCalculateCorrectGST(
-            double totalAmount,
-            boolean isPremiumCustomer,
-            boolean isFestivalOfferEnabled,
-            double expectedGST) {
-
-        // Arrange
-        PricingService pricingService = new PricingService();
-
-        // Act
-        double actualGST = pricingService.calculateGST(totalAmount, isPremiumCustomer, isFestivalOfferEnabled);
-
-        // Assert
-        assertEquals(expectedGST, actualGST, 0.01, "GST calculation is incorrect after discount");
-    }
-
-
-}
+package com.company.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.company.order.pricing.PricingRules;
+
+class PricingServiceTest {
+
+    @ParameterizedTest(name = "Total={0}, Premium={1}, Festival={2} => Discount={3}%")
+    @CsvFileSource(resources = "/discount-rules.csv", numLinesToSkip = 1)
+    @DisplayName("Discount percentage should be calculated based on pricing rules")
+    void shouldCalculateCorrectDiscountPercentage(
+            double totalAmount,
+            boolean isPremiumCustomer,
+            boolean isFestivalOfferEnabled,
+            int expectedDiscountPercent) {
+
+        // Arrange
+        PricingService pricingService = new PricingService();
+
+        // Act
+        int actualDiscountPercent =
+                pricingService.calculateDiscountPercentage(
+                        totalAmount,
+                        isPremiumCustomer,
+                        isFestivalOfferEnabled);
+
+        // Assert
+        assertEquals(
+                expectedDiscountPercent,
+                actualDiscountPercent,
+                "Discount percentage calculation is incorrect");
+    }
+    
+    
+    @ParameterizedTest(name = "Total={0}, Premium={1}, Festival={2} => GST={3}")
+    @CsvFileSource(resources = "/gst-rules.csv", numLinesToSkip = 1)
+    @DisplayName("GST should be calculated correctly after discount")
+    void shouldCalculateCorrectGST(
+            double totalAmount,
+            boolean isPremiumCustomer,
+            boolean isFestivalOfferEnabled,
+            double expectedGST) {
+
+        // Arrange
+        PricingService pricingService = new PricingService();
+
+        // Act
+        double actualGST = pricingService.calculateGST(totalAmount, isPremiumCustomer, isFestivalOfferEnabled);
+
+        // Assert
+        assertEquals(expectedGST, actualGST, 0.01, "GST calculation is incorrect after discount");
+    }
+
+    @Test
+    @DisplayName("GST should round half up on the exact amount instead of drifting by a paisa")
+    void shouldRoundGSTExactlyInPaise() {
+
+        // Arrange
+        PricingService pricingService = new PricingService();
+
+        // Act
+        // 1003.25 * 18% = 180.585 exactly; binary doubles used to round this down.
+        long gstPaise = pricingService.calculateGSTPaise(1003_25, false, false);
+        double gst = pricingService.calculateGST(1003.25, false, false);
+
+        // Assert
+        assertEquals(180_59, gstPaise, "GST should be rounded half up in paise");
+        assertEquals(180.59, gst, "Rupee GST should match the paise calculation");
+    }
+
+    @Test
+    @DisplayName("Bulk GST should match per-order GST for every order")
+    void shouldCalculateBulkGSTMatchingSingleOrderGST() {
+
+        // Arrange
+        PricingService pricingService = new PricingService();
+        long[] totals = {9_000_00, 10_000_00, 1003_25, 25_000_00, 25_000_00, 50_000_00, 0};
+        boolean[] premium = {false, false, false, true, true, true, false};
+        boolean[] festival = {false, false, false, false, true, true, true};
+        long[] expected = new long[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            expected[i] = pricingService.calculateGSTPaise(totals[i], premium[i], festival[i]);
+        }
+
+        // Act
+        long[] actual = new long[totals.length];
+        pricingService.calculateGSTPaise(totals, premium, festival, actual);
+
+        // Assert
+        assertArrayEquals(expected, actual, "Bulk pricing should match per-order pricing");
+        assertEquals(3600_00, actual[4], "Premium festival order at 25,000 should get 20% off");
+    }
+
+    @Test
+    @DisplayName("Bulk GST should reject arrays of mismatched length")
+    void shouldRejectMismatchedBulkArrays() {
+        PricingService pricingService = new PricingService();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> pricingService.calculateGSTPaise(new long[2], new boolean[1], new boolean[2], new long[2]));
+    }
+
+    @Test
+    @DisplayName("Pricing should use a swapped-in rule table from the next call")
+    void shouldPriceWithSwappedRules() {
+
+        // Arrange
+        AtomicReference<PricingRules> rules = new AtomicReference<>(PricingRules.defaults());
+        PricingService pricingService = new PricingService(rules::get);
+        int before = pricingService.calculateDiscountPercentagePaise(10_000_00, false, false);
+
+        // Act
+        rules.set(new PricingRules(new long[] {5_000_00}, new int[] {7}, 0, 0, 25, 12));
+
+        // Assert
+        assertEquals(5, before);
+        assertEquals(7, pricingService.calculateDiscountPercentagePaise(10_000_00, false, false));
+        assertEquals(1116_00, pricingService.calculateGSTPaise(10_000_00, false, false), "12% GST on ₹9,300");
+    }
+}